@@ -3,9 +3,14 @@ package net.notejam.spring;
 import java.util.Locale;
 import java.util.concurrent.Executor;
 
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
+import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
 import org.springframework.boot.orm.jpa.EntityScan;
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
@@ -17,14 +22,19 @@ import org.springframework.context.annotation.aspectj.EnableSpringConfigured;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 
 import net.notejam.spring.error.UnsupportedLocaleException;
+import net.notejam.spring.helper.concurrent.VirtualThreads;
 import net.notejam.spring.helper.converter.StringToPeriodConverter;
 
 /**
@@ -57,21 +67,107 @@ public class Application {
         private int queueCapacity;
 
         /**
-         * The mail sending thread.
+         * The number of threads for asynchronous responses.
+         */
+        @Value("${async.mvcThreads}")
+        private int mvcThreads;
+
+        /**
+         * The number of SMTP connections of the mail transport.
+         */
+        @Value("${mail.transport.connections}")
+        private int mailConnections;
+
+        /**
+         * Whether requests and asynchronous tasks run on virtual threads.
+         */
+        @Value("${async.virtualThreads}")
+        private boolean virtualThreads;
+
+        /**
+         * The threads which dispatch the mail outbox.
+         *
+         * There is one thread per SMTP connection. With virtual threads each
+         * task runs on its own thread.
          *
          * @return The mail executor.
          */
         @Bean
         public Executor mailExecutor() {
+            if (virtualThreads) {
+                return VirtualThreads.newExecutor("mail-");
+            }
             ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-            executor.setCorePoolSize(1);
-            executor.setMaxPoolSize(1);
+            executor.setCorePoolSize(mailConnections);
+            executor.setMaxPoolSize(mailConnections);
             executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix("mail-");
             executor.setThreadPriority(Thread.MIN_PRIORITY);
             executor.initialize();
             return executor;
         }
 
+        /**
+         * The threads which write asynchronous responses, e.g. exports.
+         *
+         * @return The MVC executor.
+         */
+        @Bean
+        public AsyncTaskExecutor mvcExecutor() {
+            if (virtualThreads) {
+                return VirtualThreads.newExecutor("mvc-");
+            }
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(mvcThreads);
+            executor.setMaxPoolSize(mvcThreads);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix("mvc-");
+            executor.initialize();
+            return executor;
+        }
+
+        /**
+         * Lets Tomcat handle each request on a new virtual thread.
+         *
+         * Without virtual threads the requests are handled by Tomcat's worker
+         * pool.
+         *
+         * @return The customizer of the servlet container.
+         */
+        @Bean
+        public EmbeddedServletContainerCustomizer requestExecutorCustomizer() {
+            return container -> {
+                if (virtualThreads && container instanceof TomcatEmbeddedServletContainerFactory) {
+                    ((TomcatEmbeddedServletContainerFactory) container).addConnectorCustomizers(
+                            connector -> ((AbstractProtocol<?>) connector.getProtocolHandler()).setExecutor(
+                                    new SimpleAsyncTaskExecutor(VirtualThreads.newThreadFactory("http-"))));
+                }
+            };
+        }
+
+    }
+
+    /**
+     * Configures Spring MVC.
+     *
+     * @author markus@malkusch.de
+     * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+     */
+    @Configuration
+    public static class MvcConfiguration extends WebMvcConfigurerAdapter {
+
+        /**
+         * The MVC executor.
+         */
+        @Autowired
+        @Qualifier("mvcExecutor")
+        private AsyncTaskExecutor mvcExecutor;
+
+        @Override
+        public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+            configurer.setTaskExecutor(mvcExecutor);
+        }
+
     }
 
     /**
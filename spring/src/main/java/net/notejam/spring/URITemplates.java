@@ -92,4 +92,69 @@ public interface URITemplates {
      */
     String VIEW_ALL_NOTES = "/";
 
+    /**
+     * The import path.
+     */
+    String IMPORT = "/import";
+
+    /**
+     * The path of the progress of the running import.
+     */
+    String IMPORT_PROGRESS = IMPORT + "/progress";
+
+    /**
+     * The export path.
+     */
+    String EXPORT = "/export";
+
+    /**
+     * The search path.
+     */
+    String SEARCH = "/search";
+
+    /**
+     * The autocompletion path.
+     */
+    String AUTOCOMPLETE = "/autocomplete";
+
+    /**
+     * The path of the JSON API.
+     */
+    String API = "/api/v1";
+
+    /**
+     * The API path of the pads.
+     */
+    String API_PADS = API + "/pads";
+
+    /**
+     * The API path of a pad.
+     */
+    String API_PAD = API_PADS + "/{id}";
+
+    /**
+     * The API path of the notes of a pad.
+     */
+    String API_PAD_NOTES = API_PAD + "/notes";
+
+    /**
+     * The API path of the notes.
+     */
+    String API_NOTES = API + "/notes";
+
+    /**
+     * The API path of a note.
+     */
+    String API_NOTE = API_NOTES + "/{id}";
+
+    /**
+     * The path pattern of the stylesheets.
+     */
+    String CSS = "/css/**";
+
+    /**
+     * The path pattern of the scripts.
+     */
+    String JS = "/js/**";
+
 }
@@ -0,0 +1,35 @@
+package net.notejam.spring.api;
+
+import java.time.Instant;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+/**
+ * Configures the JSON API.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Configuration
+public class ApiConfiguration {
+
+    /**
+     * Provides the JSON module for times.
+     *
+     * Instants are written in ISO 8601, like in the export.
+     *
+     * @return The JSON module
+     */
+    @Bean
+    public Module timeModule() {
+        SimpleModule module = new SimpleModule("notejam-time");
+        module.addSerializer(Instant.class, ToStringSerializer.instance);
+        return module;
+    }
+
+}
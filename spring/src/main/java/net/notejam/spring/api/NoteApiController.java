@@ -0,0 +1,185 @@
+package net.notejam.spring.api;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.error.ResourceNotFoundException;
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteKeyset;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.note.NoteSummary;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.pad.PadService;
+import net.notejam.spring.view.PageValidator;
+
+/**
+ * The JSON API of the notes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@RestController
+@PreAuthorize("isAuthenticated()")
+public class NoteApiController {
+
+    /**
+     * The note service.
+     */
+    private final NoteService noteService;
+
+    /**
+     * The pad service.
+     */
+    private final PadService padService;
+
+    /**
+     * The validator of conditional requests.
+     */
+    private final PageValidator pageValidator;
+
+    /**
+     * Builds the controller with its dependencies.
+     *
+     * @param noteService
+     *            note service
+     * @param padService
+     *            pad service
+     * @param pageValidator
+     *            validator of conditional requests
+     */
+    @Autowired
+    NoteApiController(final NoteService noteService, final PadService padService,
+	    final PageValidator pageValidator) {
+	this.noteService = noteService;
+	this.padService = padService;
+	this.pageValidator = pageValidator;
+    }
+
+    /**
+     * Lists the summaries of all notes.
+     *
+     * The texts of the notes are not included.
+     *
+     * @param pageable
+     *            The page size and sort order
+     * @param after
+     *            The cursor after which the notes start
+     * @param before
+     *            The cursor before which the notes end
+     * @param request
+     *            The request
+     * @return The note summaries with links to the previous and next slices,
+     *         or null if they were not modified
+     */
+    @RequestMapping(value = URITemplates.API_NOTES, method = RequestMethod.GET)
+    public ResponseEntity<List<NoteSummary>> getNotes(@PageableDefault(10) final Pageable pageable,
+	    @RequestParam(value = "after", required = false) final String after,
+	    @RequestParam(value = "before", required = false) final String before,
+	    final ServletWebRequest request) {
+	NoteKeyset keyset = NoteKeyset.of(pageable, after, before);
+	if (pageValidator.isNotModified(request)) {
+	    return null;
+	}
+	return SliceResponses.of(noteService.getNoteSummaries(keyset), noteService.countNotes());
+    }
+
+    /**
+     * Shows a note.
+     *
+     * A conditional request is answered from the update time, before the
+     * note is loaded.
+     *
+     * @param id
+     *            The note id
+     * @param request
+     *            The request
+     * @return The note, or null if it was not modified
+     */
+    @RequestMapping(value = URITemplates.API_NOTE, method = RequestMethod.GET)
+    public NoteResource getNote(@PathVariable("id") final int id, final ServletWebRequest request) {
+	Instant updated = noteService.getNoteUpdated(id).orElseThrow(() -> new ResourceNotFoundException());
+	if (pageValidator.isNotModified(request, updated)) {
+	    return null;
+	}
+	return new NoteResource(noteService.getNote(id).orElseThrow(() -> new ResourceNotFoundException()));
+    }
+
+    /**
+     * Creates a note.
+     *
+     * @param input
+     *            The note
+     * @return The created note with its location
+     */
+    @RequestMapping(value = URITemplates.API_NOTES, method = RequestMethod.POST,
+	    consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<NoteResource> createNote(@Valid @RequestBody final NoteInput input) {
+	Note note = noteService.buildNote(input.getPadId());
+	note.setName(new Name(input.getName()));
+	note.setText(input.getText());
+	noteService.saveNote(note, note.getPad());
+	URI location = ServletUriComponentsBuilder.fromCurrentContextPath().path(URITemplates.API_NOTE)
+		.buildAndExpand(note.getId()).toUri();
+	return ResponseEntity.created(location).body(new NoteResource(note));
+    }
+
+    /**
+     * Edits a note.
+     *
+     * @param id
+     *            The note id
+     * @param input
+     *            The note
+     * @return The edited note
+     */
+    @RequestMapping(value = URITemplates.API_NOTE, method = RequestMethod.PUT,
+	    consumes = MediaType.APPLICATION_JSON_VALUE)
+    public NoteResource editNote(@PathVariable("id") final int id, @Valid @RequestBody final NoteInput input) {
+	Note note = noteService.getNote(id).orElseThrow(() -> new ResourceNotFoundException());
+	note.setName(new Name(input.getName()));
+	note.setText(input.getText());
+
+	Pad pad = null;
+	if (input.getPadId() != null) {
+	    pad = padService.getPad(input.getPadId());
+	}
+
+	noteService.saveNote(note, pad);
+	return new NoteResource(note);
+    }
+
+    /**
+     * Deletes a note.
+     *
+     * @param id
+     *            The note id
+     */
+    @RequestMapping(value = URITemplates.API_NOTE, method = RequestMethod.DELETE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteNote(@PathVariable("id") final int id) {
+	noteService.deleteNote(noteService.getNote(id).orElseThrow(() -> new ResourceNotFoundException()));
+    }
+
+}
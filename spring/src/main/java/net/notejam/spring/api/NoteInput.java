@@ -0,0 +1,91 @@
+package net.notejam.spring.api;
+
+import javax.validation.constraints.Size;
+
+import org.hibernate.validator.constraints.NotEmpty;
+
+/**
+ * A created or edited note in the JSON API.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class NoteInput {
+
+    /**
+     * The name.
+     */
+    private String name;
+
+    /**
+     * The text.
+     */
+    private String text;
+
+    /**
+     * The pad id, or null.
+     */
+    private Integer padId;
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    @Size(max = 100)
+    @NotEmpty
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name.
+     *
+     * @param name
+     *            The name
+     */
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the text.
+     *
+     * @return The text
+     */
+    @Size(max = 10000)
+    @NotEmpty
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Sets the text.
+     *
+     * @param text
+     *            The text
+     */
+    public void setText(final String text) {
+        this.text = text;
+    }
+
+    /**
+     * Returns the pad id.
+     *
+     * @return The pad id, or null
+     */
+    public Integer getPadId() {
+        return padId;
+    }
+
+    /**
+     * Sets the pad id.
+     *
+     * @param padId
+     *            The pad id, or null
+     */
+    public void setPadId(final Integer padId) {
+        this.padId = padId;
+    }
+
+}
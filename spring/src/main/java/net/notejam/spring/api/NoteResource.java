@@ -0,0 +1,99 @@
+package net.notejam.spring.api;
+
+import java.time.Instant;
+
+import net.notejam.spring.note.Note;
+
+/**
+ * A note in the JSON API.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NoteResource {
+
+    /**
+     * The note id.
+     */
+    private final int id;
+
+    /**
+     * The pad id, or null.
+     */
+    private final Integer padId;
+
+    /**
+     * The name.
+     */
+    private final String name;
+
+    /**
+     * The text.
+     */
+    private final String text;
+
+    /**
+     * The last update time.
+     */
+    private final Instant updated;
+
+    /**
+     * Builds the resource of a note.
+     *
+     * @param note
+     *            The note
+     */
+    NoteResource(final Note note) {
+        this.id = note.getId();
+        this.padId = note.getPad() != null ? note.getPad().getId() : null;
+        this.name = note.getName().toString();
+        this.text = note.getText();
+        this.updated = note.getUpdated();
+    }
+
+    /**
+     * Returns the note id.
+     *
+     * @return The note id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the pad id.
+     *
+     * @return The pad id, or null
+     */
+    public Integer getPadId() {
+        return padId;
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the text.
+     *
+     * @return The text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the last update time.
+     *
+     * @return The last update time
+     */
+    public Instant getUpdated() {
+        return updated;
+    }
+
+}
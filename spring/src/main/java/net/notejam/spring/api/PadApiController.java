@@ -0,0 +1,183 @@
+package net.notejam.spring.api;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.note.NoteKeyset;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.note.NoteSummary;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.pad.PadService;
+import net.notejam.spring.view.PageValidator;
+
+/**
+ * The JSON API of the pads.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@RestController
+@PreAuthorize("isAuthenticated()")
+public class PadApiController {
+
+    /**
+     * The pad service.
+     */
+    private final PadService padService;
+
+    /**
+     * The note service.
+     */
+    private final NoteService noteService;
+
+    /**
+     * The validator of conditional requests.
+     */
+    private final PageValidator pageValidator;
+
+    /**
+     * Builds the controller with its dependencies.
+     *
+     * @param padService
+     *            pad service
+     * @param noteService
+     *            note service
+     * @param pageValidator
+     *            validator of conditional requests
+     */
+    @Autowired
+    PadApiController(final PadService padService, final NoteService noteService,
+	    final PageValidator pageValidator) {
+	this.padService = padService;
+	this.noteService = noteService;
+	this.pageValidator = pageValidator;
+    }
+
+    /**
+     * Lists all pads.
+     *
+     * @param request
+     *            The request
+     * @return The pads, or null if they were not modified
+     */
+    @RequestMapping(value = URITemplates.API_PADS, method = RequestMethod.GET)
+    public List<PadResource> getPads(final ServletWebRequest request) {
+	if (pageValidator.isNotModified(request)) {
+	    return null;
+	}
+	return padService.getAllPads().stream().map(PadResource::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Shows a pad.
+     *
+     * @param id
+     *            The pad id
+     * @return The pad
+     */
+    @RequestMapping(value = URITemplates.API_PAD, method = RequestMethod.GET)
+    public PadResource getPad(@PathVariable("id") final int id) {
+	return new PadResource(padService.getPad(id));
+    }
+
+    /**
+     * Lists the summaries of the notes of a pad.
+     *
+     * The texts of the notes are not included. The pad is authorized before
+     * a conditional request is answered.
+     *
+     * @param id
+     *            The pad id
+     * @param pageable
+     *            The page size and sort order
+     * @param after
+     *            The cursor after which the notes start
+     * @param before
+     *            The cursor before which the notes end
+     * @param request
+     *            The request
+     * @return The note summaries with links to the previous and next slices,
+     *         or null if they were not modified
+     */
+    @RequestMapping(value = URITemplates.API_PAD_NOTES, method = RequestMethod.GET)
+    public ResponseEntity<List<NoteSummary>> getPadNotes(@PathVariable("id") final int id,
+	    @PageableDefault(10) final Pageable pageable,
+	    @RequestParam(value = "after", required = false) final String after,
+	    @RequestParam(value = "before", required = false) final String before,
+	    final ServletWebRequest request) {
+	NoteKeyset keyset = NoteKeyset.of(pageable, after, before);
+	Pad pad = padService.getPad(id);
+	if (pageValidator.isNotModified(request)) {
+	    return null;
+	}
+	return SliceResponses.of(noteService.getPadNoteSummaries(pad, keyset), noteService.countPadNotes(pad));
+    }
+
+    /**
+     * Creates a pad.
+     *
+     * @param input
+     *            The pad
+     * @return The created pad with its location
+     */
+    @RequestMapping(value = URITemplates.API_PADS, method = RequestMethod.POST,
+	    consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PadResource> createPad(@Valid @RequestBody final PadInput input) {
+	Pad pad = padService.createPad(new Name(input.getName()));
+	URI location = ServletUriComponentsBuilder.fromCurrentContextPath().path(URITemplates.API_PAD)
+		.buildAndExpand(pad.getId()).toUri();
+	return ResponseEntity.created(location).body(new PadResource(pad));
+    }
+
+    /**
+     * Edits a pad.
+     *
+     * @param id
+     *            The pad id
+     * @param input
+     *            The pad
+     * @return The edited pad
+     */
+    @RequestMapping(value = URITemplates.API_PAD, method = RequestMethod.PUT,
+	    consumes = MediaType.APPLICATION_JSON_VALUE)
+    public PadResource editPad(@PathVariable("id") final int id, @Valid @RequestBody final PadInput input) {
+	Pad pad = padService.getPad(id);
+	padService.editPad(pad, new Name(input.getName()));
+	return new PadResource(pad);
+    }
+
+    /**
+     * Deletes a pad and its notes.
+     *
+     * @param id
+     *            The pad id
+     */
+    @RequestMapping(value = URITemplates.API_PAD, method = RequestMethod.DELETE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deletePad(@PathVariable("id") final int id) {
+	padService.deletePad(id);
+    }
+
+}
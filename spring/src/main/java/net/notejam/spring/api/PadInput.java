@@ -0,0 +1,41 @@
+package net.notejam.spring.api;
+
+import javax.validation.constraints.Size;
+
+import org.hibernate.validator.constraints.NotEmpty;
+
+/**
+ * A created or edited pad in the JSON API.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class PadInput {
+
+    /**
+     * The name.
+     */
+    private String name;
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    @Size(max = 100)
+    @NotEmpty
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name.
+     *
+     * @param name
+     *            The name
+     */
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+}
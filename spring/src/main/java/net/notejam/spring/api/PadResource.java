@@ -0,0 +1,84 @@
+package net.notejam.spring.api;
+
+import java.time.Instant;
+
+import net.notejam.spring.pad.Pad;
+
+/**
+ * A pad in the JSON API.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class PadResource {
+
+    /**
+     * The pad id.
+     */
+    private final int id;
+
+    /**
+     * The name.
+     */
+    private final String name;
+
+    /**
+     * The number of notes.
+     */
+    private final int notes;
+
+    /**
+     * The time of the last activity.
+     */
+    private final Instant lastActivity;
+
+    /**
+     * Builds the resource of a pad.
+     *
+     * @param pad
+     *            The pad
+     */
+    PadResource(final Pad pad) {
+        this.id = pad.getId();
+        this.name = pad.getName().toString();
+        this.notes = pad.getNoteCount();
+        this.lastActivity = pad.getLastActivity();
+    }
+
+    /**
+     * Returns the pad id.
+     *
+     * @return The pad id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of notes.
+     *
+     * @return The number of notes
+     */
+    public int getNotes() {
+        return notes;
+    }
+
+    /**
+     * Returns the time of the last activity.
+     *
+     * @return The time of the last activity
+     */
+    public Instant getLastActivity() {
+        return lastActivity;
+    }
+
+}
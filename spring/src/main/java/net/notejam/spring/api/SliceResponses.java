@@ -0,0 +1,87 @@
+package net.notejam.spring.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import net.notejam.spring.note.KeysetSlice;
+
+/**
+ * Builds the responses of slices.
+ *
+ * The body is the content of the slice. The links to the first, previous and
+ * next slices are in the Link header (RFC 5988). They are the current request
+ * URI with the cursor parameters after or before.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+final class SliceResponses {
+
+    /**
+     * The header of the total number of elements.
+     */
+    static final String TOTAL_COUNT = "X-Total-Count";
+
+    /**
+     * No public constructor for this utility class.
+     */
+    private SliceResponses() {
+    }
+
+    /**
+     * Builds the response of a slice.
+     *
+     * @param <T>
+     *            The type of the content
+     * @param slice
+     *            The slice
+     * @param total
+     *            The total number of elements of all slices
+     * @return The response
+     */
+    static <T> ResponseEntity<List<T>> of(final KeysetSlice<T> slice, final long total) {
+        List<String> links = new ArrayList<>();
+        if (slice.hasPrevious()) {
+            links.add(buildLink("first", null, null));
+        }
+        if (slice.getPreviousCursor() != null) {
+            links.add(buildLink("prev", "before", slice.getPreviousCursor()));
+        }
+        if (slice.getNextCursor() != null) {
+            links.add(buildLink("next", "after", slice.getNextCursor()));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (!links.isEmpty()) {
+            headers.set("Link", String.join(", ", links));
+        }
+        headers.set(TOTAL_COUNT, Long.toString(total));
+        return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Builds a link to a slice.
+     *
+     * @param relation
+     *            The relation
+     * @param parameter
+     *            The cursor parameter, or null for the first slice
+     * @param cursor
+     *            The cursor, or null for the first slice
+     * @return The link
+     */
+    private static String buildLink(final String relation, final String parameter, final String cursor) {
+        ServletUriComponentsBuilder uri = ServletUriComponentsBuilder.fromCurrentRequest();
+        uri.replaceQueryParam("after").replaceQueryParam("before");
+        if (parameter != null) {
+            uri.queryParam(parameter, cursor);
+        }
+        return String.format("<%s>; rel=\"%s\"", uri.build().toUriString(), relation);
+    }
+
+}
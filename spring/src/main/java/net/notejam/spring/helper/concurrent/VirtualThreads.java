@@ -0,0 +1,86 @@
+package net.notejam.spring.helper.concurrent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+
+/**
+ * Creates virtual threads.
+ *
+ * Virtual threads are available since Java 21. As the application is
+ * compiled for Java 8, they are created by reflection and only if the JVM
+ * supports them. A blocked virtual thread releases its carrier thread, so
+ * that blocking on JDBC, BCrypt or SMTP doesn't limit the concurrency.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class VirtualThreads {
+
+    /**
+     * No public constructor for this utility class.
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether the JVM supports virtual threads.
+     *
+     * @return True if virtual threads are supported
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Builds a factory of virtual threads.
+     *
+     * @param prefix
+     *            The prefix of the thread names, which are numbered
+     * @return The thread factory
+     * @throws IllegalStateException
+     *             If the JVM doesn't support virtual threads
+     */
+    public static ThreadFactory newThreadFactory(final String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            Method factory = builderClass.getMethod("factory");
+            return (ThreadFactory) factory.invoke(name.invoke(builder, prefix, 0L));
+
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later.", e);
+
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Virtual threads can't be created.", e);
+        }
+    }
+
+    /**
+     * Builds an executor which runs each task on a new virtual thread.
+     *
+     * The tasks run with the security context of the thread which submitted
+     * them.
+     *
+     * @param prefix
+     *            The prefix of the thread names
+     * @return The executor
+     * @throws IllegalStateException
+     *             If the JVM doesn't support virtual threads
+     */
+    public static AsyncTaskExecutor newExecutor(final String prefix) {
+        return new DelegatingSecurityContextAsyncTaskExecutor(new SimpleAsyncTaskExecutor(newThreadFactory(prefix)));
+    }
+
+}
@@ -0,0 +1,110 @@
+package net.notejam.spring.helper.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of latencies.
+ *
+ * The latencies are counted in buckets of powers of two microseconds. Bucket
+ * n counts the latencies below 2^n microseconds which didn't fit into bucket
+ * n - 1. A percentile is reported as the upper bound of its bucket, i.e. it
+ * is at most twice the exact value.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The number of buckets. The last bucket also counts all larger
+     * latencies.
+     */
+    private static final int BUCKETS = 31;
+
+    /**
+     * The counts of the buckets.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos
+     *            The latency in nanoseconds
+     */
+    public void record(final long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0));
+        int bucket = Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+        buckets.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the upper bound of a percentile.
+     *
+     * @param percentile
+     *            The percentile, e.g. 0.99
+     * @return The upper bound in microseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(final double percentile) {
+        long[] counts = snapshot();
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the non empty buckets.
+     *
+     * @return The counts by the upper bound in microseconds, e.g. "< 1024"
+     */
+    public Map<String, Long> getBuckets() {
+        long[] counts = snapshot();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                histogram.put("< " + (1L << i), counts[i]);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Copies the counts of the buckets.
+     *
+     * @return The counts
+     */
+    private long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+}
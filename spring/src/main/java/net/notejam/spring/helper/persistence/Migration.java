@@ -0,0 +1,66 @@
+package net.notejam.spring.helper.persistence;
+
+import java.time.Instant;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A data migration which was executed.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Entity
+public final class Migration {
+
+    /**
+     * The unique name.
+     */
+    @Id
+    private String name;
+
+    /**
+     * The execution time.
+     */
+    @NotNull
+    private Instant executed;
+
+    /**
+     * Builds an executed migration.
+     *
+     * @param name
+     *            The unique name
+     * @param executed
+     *            The execution time
+     */
+    Migration(final String name, final Instant executed) {
+        this.name = name;
+        this.executed = executed;
+    }
+
+    /**
+     * Returns the unique name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the execution time.
+     *
+     * @return The execution time
+     */
+    public Instant getExecuted() {
+        return executed;
+    }
+
+    @SuppressWarnings("unused")
+    private Migration() {
+        // Needed by JPA.
+    }
+
+}
@@ -0,0 +1,13 @@
+package net.notejam.spring.helper.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * The repository of executed migrations.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+interface MigrationRepository extends JpaRepository<Migration, String> {
+
+}
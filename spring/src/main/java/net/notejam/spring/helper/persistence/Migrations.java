@@ -0,0 +1,65 @@
+package net.notejam.spring.helper.persistence;
+
+import java.time.Instant;
+
+import javax.transaction.Transactional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs data migrations once.
+ *
+ * An executed migration is recorded by its name in the same transaction, so
+ * that later starts skip it.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class Migrations {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(Migrations.class);
+
+    /**
+     * The repository of executed migrations.
+     */
+    private final MigrationRepository repository;
+
+    /**
+     * Builds the migrations with its dependencies.
+     *
+     * @param repository
+     *            The repository of executed migrations
+     */
+    @Autowired
+    Migrations(final MigrationRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Runs a migration unless it was already executed.
+     *
+     * @param name
+     *            The unique name of the migration
+     * @param migration
+     *            The migration
+     * @return true if the migration was executed
+     */
+    @Transactional
+    public boolean runOnce(final String name, final Runnable migration) {
+        if (repository.exists(name)) {
+            return false;
+        }
+        migration.run();
+        repository.save(new Migration(name, Instant.now()));
+        LOGGER.info("Executed the migration {}", name);
+        return true;
+    }
+
+}
@@ -0,0 +1,99 @@
+package net.notejam.spring.helper.persistence;
+
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.Transient;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.springframework.data.domain.Persistable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * An entity with an integer id from a pooled sequence.
+ *
+ * Unlike identity columns a sequence allows Hibernate to batch inserts. The
+ * pooled optimizer reserves {@value #INCREMENT_SIZE} ids per sequence call.
+ * All entities share the sequence {@value #SEQUENCE}.
+ *
+ * Apart from the id generation this class behaves like
+ * {@link org.springframework.data.jpa.domain.AbstractPersistable}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@MappedSuperclass
+public abstract class PooledPersistable implements Persistable<Integer> {
+
+    private static final long serialVersionUID = 6309913432474632424L;
+
+    /**
+     * The name of the sequence.
+     */
+    public static final String SEQUENCE = "notejam_sequence";
+
+    /**
+     * The number of ids which are reserved per sequence call.
+     */
+    public static final int INCREMENT_SIZE = 50;
+
+    /**
+     * The id.
+     */
+    @Id
+    @GeneratedValue(generator = SEQUENCE)
+    @GenericGenerator(name = SEQUENCE, strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = SEQUENCE),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + INCREMENT_SIZE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled") })
+    private Integer id;
+
+    @Override
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id.
+     *
+     * @param id
+     *            The id
+     */
+    protected void setId(final Integer id) {
+        this.id = id;
+    }
+
+    @Override
+    @Transient
+    public boolean isNew() {
+        return id == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Entity of type %s with id: %s", getClass().getName(), id);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == null) {
+            return false;
+        }
+        if (this == other) {
+            return true;
+        }
+        if (!getClass().equals(ClassUtils.getUserClass(other))) {
+            return false;
+        }
+        PooledPersistable that = (PooledPersistable) other;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return 17 + (id == null ? 0 : id.hashCode() * 31);
+    }
+
+}
@@ -0,0 +1,97 @@
+package net.notejam.spring.helper.persistence;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.EntityType;
+import javax.transaction.Transactional;
+
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts the id sequence above the existing ids.
+ *
+ * Databases which were created with identity columns already contain ids when
+ * Hibernate creates the sequence {@value PooledPersistable#SEQUENCE}. At
+ * startup the sequence is restarted above the highest id of all
+ * {@link PooledPersistable} entities, if it would hand out an existing id.
+ * Otherwise the sequence is left untouched.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class SequenceInitializer {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Restarts the sequence if it is below the highest id.
+     *
+     * The pooled optimizer uses the ids above the sequence value it fetches.
+     * As this call consumes the current value, the next ids start above it.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional
+    public void initialize() {
+        long highestId = getHighestId();
+        long value = nextValue();
+        if (value >= highestId) {
+            return;
+        }
+
+        long start = highestId + PooledPersistable.INCREMENT_SIZE + 1;
+        entityManager.createNativeQuery(
+                String.format("ALTER SEQUENCE %s RESTART WITH %d", PooledPersistable.SEQUENCE, start))
+                .executeUpdate();
+        LOGGER.info("Restarted sequence {} with {} above the highest id {}", PooledPersistable.SEQUENCE, start,
+                highestId);
+    }
+
+    /**
+     * Returns the next value of the sequence.
+     *
+     * @return The next value
+     */
+    long nextValue() {
+        Dialect dialect = ((SessionFactoryImplementor) entityManager.unwrap(Session.class).getSessionFactory())
+                .getDialect();
+        Number value = (Number) entityManager
+                .createNativeQuery(dialect.getSequenceNextValString(PooledPersistable.SEQUENCE)).getSingleResult();
+        return value.longValue();
+    }
+
+    /**
+     * Returns the highest id of all entities which use the sequence.
+     *
+     * @return The highest id, or 0 if there are no entities
+     */
+    private long getHighestId() {
+        long highestId = 0;
+        for (EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            if (!PooledPersistable.class.isAssignableFrom(entity.getJavaType())) {
+                continue;
+            }
+            Number id = entityManager
+                    .createQuery(String.format("select max(e.id) from %s e", entity.getName()), Number.class)
+                    .getSingleResult();
+            if (id != null) {
+                highestId = Math.max(highestId, id.longValue());
+            }
+        }
+        return highestId;
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Provides persistence helpers.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+package net.notejam.spring.helper.persistence;
@@ -0,0 +1,82 @@
+package net.notejam.spring.helper.reflection;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the parameter positions which have a given annotation.
+ *
+ * The positions are computed once per method and cached. Looking them up
+ * later neither clones the parameter annotations nor allocates.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ *
+ * @param <T> The annotation.
+ */
+public final class ParameterIndex<T extends Annotation> {
+
+    /**
+     * The annotation.
+     */
+    private final Class<T> annotation;
+
+    /**
+     * The cached positions by method.
+     */
+    private final Map<Method, int[]> positions = new ConcurrentHashMap<>();
+
+    /**
+     * Builds an index for an annotation.
+     *
+     * @param annotation
+     *            The annotation
+     */
+    public ParameterIndex(final Class<T> annotation) {
+        this.annotation = annotation;
+    }
+
+    /**
+     * Returns the positions of the annotated parameters.
+     *
+     * The returned array is shared and must not be modified.
+     *
+     * @param method
+     *            The method
+     * @return The positions of the annotated parameters
+     */
+    public int[] getPositions(final Method method) {
+        int[] cached = positions.get(method);
+        if (cached != null) {
+            return cached;
+        }
+        return positions.computeIfAbsent(method, this::findPositions);
+    }
+
+    /**
+     * Finds the positions of the annotated parameters.
+     *
+     * @param method
+     *            The method
+     * @return The positions of the annotated parameters
+     */
+    private int[] findPositions(final Method method) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        int[] found = new int[parameterAnnotations.length];
+        int count = 0;
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation parameterAnnotation : parameterAnnotations[i]) {
+                if (annotation.isAssignableFrom(parameterAnnotation.annotationType())) {
+                    found[count++] = i;
+                    break;
+
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+}
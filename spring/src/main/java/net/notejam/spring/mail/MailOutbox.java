@@ -0,0 +1,361 @@
+package net.notejam.spring.mail;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The persistent outbox of the mails.
+ *
+ * Appending a mail only inserts a row in the caller's transaction. The mails
+ * are sent in batches over the {@link MailTransport} by the mail executor,
+ * which is woken up after the commit and every
+ * {@code mail.outbox.pollDelay} milliseconds. If the executor rejects the
+ * dispatcher, the next poll tries again. A failed mail is retried with
+ * an exponential backoff until it failed {@code mail.outbox.maxAttempts}
+ * times. Mails which are still in the outbox survive a restart.
+ *
+ * The queue depth, the age of the oldest mail and the numbers of sent,
+ * retried and failed mails are exported as JMX attributes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+@ManagedResource
+public class MailOutbox {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailOutbox.class);
+
+    /**
+     * The repository.
+     */
+    private final OutboxMailRepository repository;
+
+    /**
+     * The transaction template for dispatching.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The mail transport.
+     */
+    private final MailTransport transport;
+
+    /**
+     * The executor of the dispatcher.
+     */
+    private final Executor executor;
+
+    /**
+     * The sender's email address.
+     */
+    private final String sender;
+
+    /**
+     * The number of mails which are loaded at once.
+     */
+    private final int batchSize;
+
+    /**
+     * The number of attempts after which a mail is dropped.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The delay in milliseconds after the first failed attempt.
+     */
+    private final long backoff;
+
+    /**
+     * The maximum delay in milliseconds between two attempts.
+     */
+    private final long maxBackoff;
+
+    /**
+     * Whether a dispatcher is running or scheduled.
+     */
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    /**
+     * The number of sent mails.
+     */
+    private final AtomicLong sent = new AtomicLong();
+
+    /**
+     * The number of failed attempts which are retried.
+     */
+    private final AtomicLong retried = new AtomicLong();
+
+    /**
+     * The number of dropped mails.
+     */
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Builds the outbox with its dependencies.
+     *
+     * @param repository
+     *            repository
+     * @param transactionManager
+     *            transaction manager
+     * @param transport
+     *            mail transport
+     * @param executor
+     *            executor of the dispatcher
+     * @param sender
+     *            sender's email address
+     * @param batchSize
+     *            number of mails which are loaded at once
+     * @param maxAttempts
+     *            number of attempts after which a mail is dropped
+     * @param backoffSeconds
+     *            delay after the first failed attempt
+     * @param maxBackoffSeconds
+     *            maximum delay between two attempts
+     */
+    @Autowired
+    MailOutbox(final OutboxMailRepository repository, final PlatformTransactionManager transactionManager,
+            final MailTransport transport, @Qualifier("mailExecutor") final Executor executor,
+            @Value("${email.sender}") final String sender,
+            @Value("${mail.outbox.batchSize}") final int batchSize,
+            @Value("${mail.outbox.maxAttempts}") final int maxAttempts,
+            @Value("${mail.outbox.backoffSeconds}") final int backoffSeconds,
+            @Value("${mail.outbox.maxBackoffSeconds}") final int maxBackoffSeconds) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transport = transport;
+        this.executor = executor;
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = TimeUnit.SECONDS.toMillis(backoffSeconds);
+        this.maxBackoff = TimeUnit.SECONDS.toMillis(maxBackoffSeconds);
+    }
+
+    /**
+     * Appends a mail to the outbox.
+     *
+     * The mail is dispatched after the transaction committed. Without mail
+     * transport the mail is dropped.
+     *
+     * @param recipient
+     *            The recipient's email address
+     * @param subject
+     *            The subject
+     * @param text
+     *            The text
+     */
+    @Transactional
+    public void append(final String recipient, final String subject, final String text) {
+        if (!transport.isAvailable()) {
+            LOGGER.warn("Mail transport is not available. Consider setting spring.mail.host in application.properties");
+            return;
+        }
+
+        repository.save(new OutboxMail(recipient, subject, text, Instant.now()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+
+            });
+        }
+    }
+
+    /**
+     * Wakes up the dispatcher periodically for retries and for mails which
+     * were appended before a restart.
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.pollDelay}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * Schedules the dispatcher unless it is already running or scheduled.
+     *
+     * If the executor rejects the dispatcher, it is left to the next poll.
+     */
+    private void wakeUp() {
+        if (!transport.isAvailable() || !dispatching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::dispatchInBackground);
+
+        } catch (RejectedExecutionException e) {
+            dispatching.set(false);
+            LOGGER.warn("The mail executor rejected the dispatcher, the next poll retries", e);
+        }
+    }
+
+    /**
+     * Dispatches the due mails with the mail executor.
+     */
+    private void dispatchInBackground() {
+        try {
+            dispatch();
+
+        } catch (RuntimeException e) {
+            LOGGER.error("Dispatching the mail outbox failed", e);
+
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    /**
+     * Sends all due mails.
+     *
+     * @return The number of sent mails
+     */
+    int dispatch() {
+        int count = 0;
+        int loaded;
+        do {
+            List<OutboxMail> mails = transactionTemplate.execute(
+                    status -> repository.findByDueLessThanEqualOrderByDue(Instant.now(), new PageRequest(0, batchSize)));
+            List<SimpleMailMessage> messages = mails.stream().map(mail -> mail.toMessage(sender))
+                    .collect(Collectors.toList());
+            MailException[] errors = transport.send(messages);
+            count += transactionTemplate.execute(status -> record(mails, errors));
+            loaded = mails.size();
+        } while (loaded == batchSize);
+        return count;
+    }
+
+    /**
+     * Records the results of a batch.
+     *
+     * A sent mail is removed from the outbox. The next attempt of a failed
+     * mail is delayed or the mail is dropped.
+     *
+     * @param mails
+     *            The mails
+     * @param errors
+     *            The errors by the index of the mail, null for sent mails
+     * @return The number of sent mails
+     */
+    private int record(final List<OutboxMail> mails, final MailException[] errors) {
+        int count = 0;
+        for (int i = 0; i < mails.size(); i++) {
+            OutboxMail mail = mails.get(i);
+            MailException error = errors[i];
+            if (error == null) {
+                repository.delete(mail);
+                sent.incrementAndGet();
+                count++;
+
+            } else if (mail.getAttempts() + 1 >= maxAttempts) {
+                LOGGER.error("Drop mail {} to {} after {} attempts", mail.getId(), mail.getRecipient(), maxAttempts,
+                        error);
+                repository.delete(mail);
+                failed.incrementAndGet();
+
+            } else {
+                LOGGER.warn("Sending mail {} to {} failed: {}", mail.getId(), mail.getRecipient(), error.getMessage());
+                mail.failed(Instant.now().plusMillis(determineBackoff(mail.getAttempts() + 1)), error.getMessage());
+                repository.save(mail);
+                retried.incrementAndGet();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Determines the delay before the next attempt.
+     *
+     * The delay doubles with each failed attempt up to the maximum delay.
+     *
+     * @param attempts
+     *            The number of failed attempts
+     * @return The delay in milliseconds
+     */
+    private long determineBackoff(final int attempts) {
+        return Math.min(backoff << Math.min(attempts - 1, 30), maxBackoff);
+    }
+
+    /**
+     * Returns the number of mails in the outbox.
+     *
+     * @return The queue depth
+     */
+    @ManagedAttribute
+    public long getQueueDepth() {
+        return transactionTemplate.execute(status -> repository.count());
+    }
+
+    /**
+     * Returns the age of the oldest mail in the outbox.
+     *
+     * @return The age in seconds, or 0 if the outbox is empty
+     */
+    @ManagedAttribute
+    public long getOldestAge() {
+        return transactionTemplate.execute(status -> repository.findOldestCreated())
+                .map(created -> Duration.between(created, Instant.now()).getSeconds()).orElse(0L);
+    }
+
+    /**
+     * Returns the number of sent mails.
+     *
+     * @return The sent mails
+     */
+    @ManagedAttribute
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * Returns the number of failed attempts which are retried.
+     *
+     * @return The retried attempts
+     */
+    @ManagedAttribute
+    public long getRetried() {
+        return retried.get();
+    }
+
+    /**
+     * Returns the number of mails which were dropped after the last attempt.
+     *
+     * @return The dropped mails
+     */
+    @ManagedAttribute
+    public long getFailed() {
+        return failed.get();
+    }
+
+}
@@ -0,0 +1,270 @@
+package net.notejam.spring.mail;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends batches of mails over a pool of persistent SMTP connections.
+ *
+ * A batch is split into one chunk per connection. The chunks are sent in
+ * parallel by the calling thread and the mail executor. A connection stays
+ * open after its chunk and is reused by the next batch, so that the handshake
+ * and authentication happen once per connection instead of once per mail.
+ * An idle connection is checked before it is reused, and a connection which
+ * broke while sending is replaced. If no connection can be opened, the
+ * remaining mails of the chunk fail.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class MailTransport {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailTransport.class);
+
+    /**
+     * The mail sender which provides the session and server configuration.
+     */
+    private final Optional<JavaMailSenderImpl> mailSender;
+
+    /**
+     * The executor for the parallel chunks.
+     */
+    private final Executor executor;
+
+    /**
+     * The maximum number of connections.
+     */
+    private final int connections;
+
+    /**
+     * The idle connections.
+     */
+    private final BlockingQueue<Transport> idle;
+
+    /**
+     * Builds the transport with its dependencies.
+     *
+     * @param mailSender
+     *            mail sender, or empty if mail transport is not configured
+     * @param executor
+     *            executor for the parallel chunks
+     * @param connections
+     *            maximum number of connections
+     */
+    @Autowired
+    MailTransport(final Optional<JavaMailSenderImpl> mailSender, @Qualifier("mailExecutor") final Executor executor,
+            @Value("${mail.transport.connections}") final int connections) {
+        this.mailSender = mailSender;
+        this.executor = executor;
+        this.connections = connections;
+        this.idle = new LinkedBlockingQueue<>(connections);
+    }
+
+    /**
+     * Returns whether mail transport is configured.
+     *
+     * @return Whether mails can be sent
+     */
+    public boolean isAvailable() {
+        return mailSender.isPresent();
+    }
+
+    /**
+     * Sends a batch of mails.
+     *
+     * A failed mail doesn't stop the other mails.
+     *
+     * @param messages
+     *            The mails
+     * @return The errors by the index of the mail, null for sent mails
+     */
+    public MailException[] send(final List<SimpleMailMessage> messages) {
+        MailException[] errors = new MailException[messages.size()];
+        int chunks = Math.min(connections, messages.size());
+        List<CompletableFuture<Void>> parallel = new ArrayList<>(chunks);
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            final int first = chunk;
+            parallel.add(CompletableFuture.runAsync(() -> sendChunk(messages, errors, first, chunks), executor));
+        }
+        if (chunks > 0) {
+            sendChunk(messages, errors, 0, chunks);
+        }
+        parallel.forEach(CompletableFuture::join);
+        return errors;
+    }
+
+    /**
+     * Sends every n-th mail of a batch over one connection.
+     *
+     * @param messages
+     *            The batch
+     * @param errors
+     *            The errors of the batch
+     * @param first
+     *            The index of the first mail
+     * @param step
+     *            The number of chunks
+     */
+    private void sendChunk(final List<SimpleMailMessage> messages, final MailException[] errors, final int first,
+            final int step) {
+        Transport transport = null;
+        try {
+            for (int i = first; i < messages.size(); i += step) {
+                if (transport == null) {
+                    try {
+                        transport = borrow();
+
+                    } catch (MessagingException e) {
+                        for (int failed = i; failed < messages.size(); failed += step) {
+                            errors[failed] = new MailSendException("Connecting to the mail server failed", e);
+                        }
+                        return;
+                    }
+                }
+                try {
+                    MimeMessage message = toMimeMessage(messages.get(i));
+                    transport.sendMessage(message, message.getAllRecipients());
+
+                } catch (MessagingException e) {
+                    errors[i] = new MailSendException("Sending mail failed: " + e.getMessage(), e);
+                    if (!transport.isConnected()) {
+                        close(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            release(transport);
+        }
+    }
+
+    /**
+     * Converts a mail into a MIME message like {@link JavaMailSenderImpl}
+     * does.
+     *
+     * @param simpleMessage
+     *            The mail
+     * @return The MIME message
+     * @throws MessagingException
+     *             If the message can't be built
+     */
+    private MimeMessage toMimeMessage(final SimpleMailMessage simpleMessage) throws MessagingException {
+        MimeMailMessage mimeMailMessage = new MimeMailMessage(mailSender.get().createMimeMessage());
+        simpleMessage.copyTo(mimeMailMessage);
+        MimeMessage message = mimeMailMessage.getMimeMessage();
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        return message;
+    }
+
+    /**
+     * Takes an idle connection or opens a new one.
+     *
+     * @return The connection
+     * @throws MessagingException
+     *             If connecting failed
+     */
+    private Transport borrow() throws MessagingException {
+        for (Transport transport = idle.poll(); transport != null; transport = idle.poll()) {
+            if (transport.isConnected()) {
+                return transport;
+            }
+            close(transport);
+        }
+        return connect();
+    }
+
+    /**
+     * Opens a connection with the configuration of the mail sender.
+     *
+     * @return The connection
+     * @throws MessagingException
+     *             If connecting failed
+     */
+    private Transport connect() throws MessagingException {
+        JavaMailSenderImpl sender = mailSender.get();
+        Transport transport = sender.getSession().getTransport(
+                sender.getProtocol() != null ? sender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+
+        String username = sender.getUsername();
+        String password = sender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+        transport.connect(sender.getHost(), sender.getPort(), username, password);
+        return transport;
+    }
+
+    /**
+     * Returns a connection to the pool.
+     *
+     * @param transport
+     *            The connection, or null
+     */
+    private void release(final Transport transport) {
+        if (transport != null && !idle.offer(transport)) {
+            close(transport);
+        }
+    }
+
+    /**
+     * Closes a connection quietly.
+     *
+     * @param transport
+     *            The connection, or null
+     */
+    private static void close(final Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+
+        } catch (MessagingException e) {
+            LOGGER.debug("Closing SMTP connection failed", e);
+        }
+    }
+
+    /**
+     * Closes the idle connections.
+     */
+    @PreDestroy
+    public void closeIdle() {
+        for (Transport transport = idle.poll(); transport != null; transport = idle.poll()) {
+            close(transport);
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package net.notejam.spring.mail;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.mail.SimpleMailMessage;
+
+import net.notejam.spring.helper.persistence.PooledPersistable;
+
+/**
+ * A mail which waits in the outbox.
+ *
+ * The mail stays in the outbox until it was sent or it failed too often. After
+ * a failed attempt it is not due before its next attempt.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Entity
+@Table(indexes = @Index(columnList = "due"))
+public class OutboxMail extends PooledPersistable {
+
+    private static final long serialVersionUID = -2446410384311937263L;
+
+    /**
+     * The maximum length of the last error.
+     */
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    /**
+     * The recipient's email address.
+     */
+    @NotNull
+    private String recipient;
+
+    /**
+     * The subject.
+     */
+    @NotNull
+    private String subject;
+
+    /**
+     * The text.
+     */
+    @NotNull
+    @Column(length = 10000)
+    private String text;
+
+    /**
+     * The time when the mail was appended.
+     */
+    @NotNull
+    private Instant created;
+
+    /**
+     * The time of the next attempt.
+     */
+    @NotNull
+    private Instant due;
+
+    /**
+     * The number of failed attempts.
+     */
+    private int attempts;
+
+    /**
+     * The error of the last failed attempt.
+     */
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    /**
+     * Builds an empty mail for JPA.
+     */
+    protected OutboxMail() {
+    }
+
+    /**
+     * Builds a mail which is due immediately.
+     *
+     * @param recipient
+     *            The recipient's email address
+     * @param subject
+     *            The subject
+     * @param text
+     *            The text
+     * @param created
+     *            The time when the mail was appended
+     */
+    public OutboxMail(final String recipient, final String subject, final String text, final Instant created) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.text = text;
+        this.created = created;
+        this.due = created;
+    }
+
+    /**
+     * Builds the message of this mail.
+     *
+     * @param sender
+     *            The sender's email address
+     * @return The message
+     */
+    SimpleMailMessage toMessage(final String sender) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(sender);
+        message.setTo(recipient);
+        message.setSubject(subject);
+        message.setText(text);
+        return message;
+    }
+
+    /**
+     * Records a failed attempt.
+     *
+     * @param next
+     *            The time of the next attempt
+     * @param error
+     *            The error
+     */
+    void failed(final Instant next, final String error) {
+        attempts++;
+        due = next;
+        if (error != null && error.length() > MAX_ERROR_LENGTH) {
+            lastError = error.substring(0, MAX_ERROR_LENGTH);
+        } else {
+            lastError = error;
+        }
+    }
+
+    /**
+     * Returns the recipient's email address.
+     *
+     * @return The recipient
+     */
+    public String getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * Returns the subject.
+     *
+     * @return The subject
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Returns the text.
+     *
+     * @return The text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the time when the mail was appended.
+     *
+     * @return The creation time
+     */
+    public Instant getCreated() {
+        return created;
+    }
+
+    /**
+     * Returns the time of the next attempt.
+     *
+     * @return The due time
+     */
+    public Instant getDue() {
+        return due;
+    }
+
+    /**
+     * Returns the number of failed attempts.
+     *
+     * @return The failed attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Returns the error of the last failed attempt.
+     *
+     * @return The last error, or null
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+}
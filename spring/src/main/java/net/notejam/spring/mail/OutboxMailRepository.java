@@ -0,0 +1,38 @@
+package net.notejam.spring.mail;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * The repository of the outbox.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Integer> {
+
+    /**
+     * Finds the mails which are due, the longest overdue first.
+     *
+     * @param time
+     *            The current time
+     * @param pageable
+     *            The batch size
+     * @return The due mails
+     */
+    List<OutboxMail> findByDueLessThanEqualOrderByDue(Instant time, Pageable pageable);
+
+    /**
+     * Finds the creation time of the oldest mail.
+     *
+     * @return The creation time, or empty if the outbox is empty
+     */
+    @Query("select min(m.created) from OutboxMail m")
+    Optional<Instant> findOldestCreated();
+
+}
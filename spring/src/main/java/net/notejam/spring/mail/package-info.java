@@ -0,0 +1,7 @@
+/**
+ * Provides the persistent outbox of the sent mails.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+package net.notejam.spring.mail;
@@ -0,0 +1,95 @@
+package net.notejam.spring.note;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * A slice which was fetched by a {@link NoteKeyset}.
+ *
+ * The slice provides the cursors for seeking the previous and the next slice.
+ *
+ * @param <T>
+ *            The type of the notes
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public abstract class KeysetSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = -2153968417733165416L;
+
+    /**
+     * The keyset which fetched this slice.
+     */
+    private final NoteKeyset keyset;
+
+    /**
+     * Whether there are notes before this slice.
+     */
+    private final boolean previous;
+
+    /**
+     * Builds a slice.
+     *
+     * @param content
+     *            the notes in sort order
+     * @param keyset
+     *            the keyset which fetched the notes
+     * @param previous
+     *            whether there are notes before this slice
+     * @param next
+     *            whether there are notes after this slice
+     */
+    KeysetSlice(final List<T> content, final NoteKeyset keyset, final boolean previous, final boolean next) {
+        super(content, new PageRequest(0, keyset.getSize(), keyset.getSort()), next);
+        this.keyset = keyset;
+        this.previous = previous;
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return previous;
+    }
+
+    @Override
+    public boolean isFirst() {
+        return !previous;
+    }
+
+    /**
+     * Returns the cursor for seeking the previous slice.
+     *
+     * @return The encoded cursor, or null if there is no previous slice
+     */
+    public String getPreviousCursor() {
+        if (!previous || !hasContent()) {
+            return null;
+        }
+        return encodeCursor(keyset, getContent().get(0));
+    }
+
+    /**
+     * Returns the cursor for seeking the next slice.
+     *
+     * @return The encoded cursor, or null if there is no next slice
+     */
+    public String getNextCursor() {
+        if (!hasNext() || !hasContent()) {
+            return null;
+        }
+        return encodeCursor(keyset, getContent().get(getNumberOfElements() - 1));
+    }
+
+    /**
+     * Encodes the cursor for a note.
+     *
+     * @param keyset
+     *            The keyset which fetched this slice
+     * @param note
+     *            The note
+     * @return The encoded cursor
+     */
+    abstract String encodeCursor(NoteKeyset keyset, T note);
+
+}
@@ -7,12 +7,14 @@ import javax.persistence.Entity;
 import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
 
 import org.hibernate.validator.constraints.NotEmpty;
-import org.springframework.data.jpa.domain.AbstractPersistable;
 
+import net.notejam.spring.helper.persistence.PooledPersistable;
 import net.notejam.spring.pad.Name;
 import net.notejam.spring.pad.Pad;
 import net.notejam.spring.security.owner.Owned;
@@ -25,8 +27,10 @@ import net.notejam.spring.user.User;
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
  */
 @Entity
-@Table(indexes = { @Index(columnList = "updated"), @Index(columnList = "name") })
-public final class Note extends AbstractPersistable<Integer>implements Owned {
+@Table(indexes = { @Index(columnList = "updated"), @Index(columnList = "name"),
+        @Index(columnList = "user_id, updated, id"), @Index(columnList = "user_id, name, id"),
+        @Index(columnList = "pad_id, updated, id"), @Index(columnList = "pad_id, name, id") })
+public final class Note extends PooledPersistable implements Owned {
 
     private static final long serialVersionUID = -1445367127777923455L;
 
@@ -63,6 +67,12 @@ public final class Note extends AbstractPersistable<Integer>implements Owned {
     @Column(length = 10000)
     private String text;
 
+    /**
+     * The text from which the {@link NoteHtml} was rendered, or null.
+     */
+    @Transient
+    private String renderedText;
+
     /**
      * Returns the name.
      *
@@ -99,6 +109,39 @@ public final class Note extends AbstractPersistable<Integer>implements Owned {
         this.text = text;
     }
 
+    /**
+     * Returns the text from which the {@link NoteHtml} was rendered.
+     *
+     * @return The rendered text, or null if the note is new
+     */
+    String getRenderedText() {
+        return renderedText;
+    }
+
+    /**
+     * Returns whether the text changed since it was rendered.
+     *
+     * @return true if the text has to be rendered
+     */
+    boolean isTextChanged() {
+        return text != null && !text.equals(renderedText);
+    }
+
+    /**
+     * Records that the text was rendered.
+     */
+    void rendered() {
+        renderedText = text;
+    }
+
+    /**
+     * Records the text of the stored HTML.
+     */
+    @PostLoad
+    void loaded() {
+        renderedText = text;
+    }
+
     /**
      * Returns the pad.
      *
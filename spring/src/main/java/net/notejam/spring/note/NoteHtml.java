@@ -0,0 +1,91 @@
+package net.notejam.spring.note;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.MapsId;
+import javax.persistence.OneToOne;
+
+/**
+ * The text of a note rendered as HTML.
+ *
+ * The HTML is stored apart from the {@link Note}, so that lists, searches and
+ * exports don't load it. Only the note page loads it by the note id.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Entity
+public final class NoteHtml {
+
+    /**
+     * The id of the note.
+     */
+    @Id
+    private Integer id;
+
+    /**
+     * The note.
+     */
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    private Note note;
+
+    /**
+     * The HTML.
+     */
+    @Lob
+    @Column(length = 100000)
+    private String html;
+
+    /**
+     * Builds the HTML of a note.
+     *
+     * @param note
+     *            The note
+     */
+    NoteHtml(final Note note) {
+        this.note = note;
+    }
+
+    /**
+     * Returns the id of the note.
+     *
+     * @return The note id
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Returns the HTML.
+     *
+     * @return The HTML
+     */
+    public String getHtml() {
+        return html;
+    }
+
+    /**
+     * Renders a text.
+     *
+     * Only the paragraphs which changed since the previous text are rendered
+     * again.
+     *
+     * @param text
+     *            The text
+     * @param previousText
+     *            The text of the current HTML, or null
+     */
+    void render(final String text, final String previousText) {
+        html = NoteRenderer.render(text, previousText, html);
+    }
+
+    @SuppressWarnings("unused")
+    private NoteHtml() {
+        // Needed by JPA.
+    }
+
+}
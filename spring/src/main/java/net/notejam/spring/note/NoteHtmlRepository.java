@@ -0,0 +1,29 @@
+package net.notejam.spring.note;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * The repository of the rendered notes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+interface NoteHtmlRepository extends JpaRepository<NoteHtml, Integer> {
+
+    /**
+     * Deletes the HTML of notes.
+     *
+     * @param ids
+     *            The note ids
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query("delete from NoteHtml h where h.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+}
@@ -0,0 +1,247 @@
+package net.notejam.spring.note;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+
+import net.notejam.spring.error.ResourceNotFoundException;
+
+/**
+ * A keyset page request for notes.
+ *
+ * Instead of skipping an offset of rows, a keyset seeks from a cursor. The
+ * cursor is the sort value and the id of the last (or first) note of the
+ * previously shown page. The id breaks ties between notes with equal sort
+ * values. Notes can be sorted by their name or by their last update time.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NoteKeyset {
+
+    /**
+     * The sort property for the name.
+     */
+    private static final String NAME = "name";
+
+    /**
+     * The sort property for the last update time.
+     */
+    private static final String UPDATED = "updated";
+
+    /**
+     * The delimiter between the id and the value of an encoded cursor.
+     */
+    private static final char DELIMITER = ':';
+
+    /**
+     * Whether the notes are sorted by name or by update time.
+     */
+    private final boolean byName;
+
+    /**
+     * The sort direction.
+     */
+    private final Direction direction;
+
+    /**
+     * The page size.
+     */
+    private final int size;
+
+    /**
+     * Whether this keyset seeks backwards from the cursor.
+     */
+    private final boolean backward;
+
+    /**
+     * The sort value of the cursor, or null for the first page.
+     */
+    private final Object value;
+
+    /**
+     * The id of the cursor, or null for the first page.
+     */
+    private final Integer id;
+
+    /**
+     * Builds a keyset.
+     *
+     * @param byName
+     *            sort by name, otherwise by update time
+     * @param direction
+     *            sort direction
+     * @param size
+     *            page size
+     * @param backward
+     *            seek backwards from the cursor
+     * @param value
+     *            sort value of the cursor or null
+     * @param id
+     *            id of the cursor or null
+     */
+    private NoteKeyset(final boolean byName, final Direction direction, final int size, final boolean backward,
+            final Object value, final Integer id) {
+        this.byName = byName;
+        this.direction = direction;
+        this.size = size;
+        this.backward = backward;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Builds a keyset from the request parameters.
+     *
+     * Only the first sort order of the pageable is considered. Notes which are
+     * not sorted by name are sorted by their update time, the most recent
+     * first. The page number of the pageable is ignored.
+     *
+     * @param pageable
+     *            page size and sort order
+     * @param after
+     *            encoded cursor of the note after which the page starts, or
+     *            null
+     * @param before
+     *            encoded cursor of the note before which the page ends, or
+     *            null
+     * @return The keyset
+     * @throws ResourceNotFoundException
+     *             If a cursor is malformed.
+     */
+    public static NoteKeyset of(final Pageable pageable, final String after, final String before) {
+        boolean byName = false;
+        Direction direction = Direction.DESC;
+        Sort sort = pageable.getSort();
+        if (sort != null && sort.iterator().hasNext()) {
+            Order order = sort.iterator().next();
+            if (NAME.equals(order.getProperty())) {
+                byName = true;
+                direction = order.getDirection();
+
+            } else if (UPDATED.equals(order.getProperty())) {
+                direction = order.getDirection();
+            }
+        }
+
+        String cursor = after;
+        boolean backward = false;
+        if (after == null && before != null) {
+            cursor = before;
+            backward = true;
+        }
+        if (cursor == null) {
+            return new NoteKeyset(byName, direction, pageable.getPageSize(), false, null, null);
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int delimiter = decoded.indexOf(DELIMITER);
+            Integer id = Integer.valueOf(decoded.substring(0, delimiter));
+            String encodedValue = decoded.substring(delimiter + 1);
+            Object value = byName ? encodedValue : Instant.ofEpochMilli(Long.parseLong(encodedValue));
+            return new NoteKeyset(byName, direction, pageable.getPageSize(), backward, value, id);
+
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new ResourceNotFoundException();
+        }
+    }
+
+    /**
+     * Encodes the cursor for a note.
+     *
+     * @param id
+     *            The note id
+     * @param name
+     *            The note name
+     * @param updated
+     *            The last update time of the note
+     * @return The encoded cursor
+     */
+    String encodeCursor(final int id, final String name, final Instant updated) {
+        String encodedValue = byName ? name : Long.toString(updated.toEpochMilli());
+        String cursor = id + String.valueOf(DELIMITER) + encodedValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the JPQL path of the sort property for the alias "n".
+     *
+     * @return The JPQL path
+     */
+    String getPath() {
+        return byName ? "n.name.name" : "n.updated";
+    }
+
+    /**
+     * Returns the sort order of this keyset.
+     *
+     * @return The sort order
+     */
+    Sort getSort() {
+        return new Sort(direction, byName ? NAME : UPDATED);
+    }
+
+    /**
+     * Returns whether the query scans in ascending order.
+     *
+     * A backward seek scans in the reverse sort order.
+     *
+     * @return True for an ascending scan
+     */
+    boolean isAscendingScan() {
+        return (direction == Direction.ASC) != backward;
+    }
+
+    /**
+     * Returns whether the keyset starts from a cursor.
+     *
+     * @return False for the first page
+     */
+    boolean hasCursor() {
+        return id != null;
+    }
+
+    /**
+     * Returns whether the keyset seeks backwards from its cursor.
+     *
+     * @return True for a backward seek
+     */
+    boolean isBackward() {
+        return backward;
+    }
+
+    /**
+     * Returns the sort value of the cursor.
+     *
+     * @return The sort value or null
+     */
+    Object getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the id of the cursor.
+     *
+     * @return The id or null
+     */
+    Integer getId() {
+        return id;
+    }
+
+    /**
+     * Returns the page size.
+     *
+     * @return The page size
+     */
+    int getSize() {
+        return size;
+    }
+
+}
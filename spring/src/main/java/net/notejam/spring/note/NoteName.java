@@ -0,0 +1,69 @@
+package net.notejam.spring.note;
+
+/**
+ * The name of a note without the note.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NoteName {
+
+    /**
+     * The note id.
+     */
+    private final int noteId;
+
+    /**
+     * The pad id, or null.
+     */
+    private final Integer padId;
+
+    /**
+     * The name.
+     */
+    private final String name;
+
+    /**
+     * Builds the name of a note.
+     *
+     * @param noteId
+     *            The note id
+     * @param padId
+     *            The pad id, or null
+     * @param name
+     *            The name
+     */
+    public NoteName(final int noteId, final Integer padId, final String name) {
+        this.noteId = noteId;
+        this.padId = padId;
+        this.name = name;
+    }
+
+    /**
+     * Returns the note id.
+     *
+     * @return The note id
+     */
+    public int getNoteId() {
+        return noteId;
+    }
+
+    /**
+     * Returns the pad id.
+     *
+     * @return The pad id, or null
+     */
+    public Integer getPadId() {
+        return padId;
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+}
@@ -0,0 +1,103 @@
+package net.notejam.spring.note;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Renders a note's text as HTML.
+ *
+ * Each empty line in a note's text delimits a paragraph. Paragraphs are
+ * escaped and wrapped in &lt;p> elements. When a text is rendered again, the
+ * HTML of the unchanged paragraphs is reused from the previous rendering.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NoteRenderer {
+
+    /**
+     * The delimiter of paragraphs.
+     */
+    private static final Pattern PARAGRAPH_DELIMITER = Pattern.compile("\\R{2,}");
+
+    /**
+     * The end tag of a paragraph.
+     */
+    private static final String END_TAG = "</p>";
+
+    /**
+     * No public constructor for this utility class.
+     */
+    private NoteRenderer() {
+    }
+
+    /**
+     * Renders a text.
+     *
+     * @param text
+     *            The text
+     * @return The HTML
+     */
+    public static String render(final String text) {
+        return render(text, null, null);
+    }
+
+    /**
+     * Renders a text and reuses a previous rendering.
+     *
+     * @param text
+     *            The text
+     * @param previousText
+     *            The previously rendered text, or null
+     * @param previousHtml
+     *            The HTML of the previous text, or null
+     * @return The HTML
+     */
+    static String render(final String text, final String previousText, final String previousHtml) {
+        Map<String, String> previousParagraphs = split(previousText, previousHtml);
+        StringBuilder html = new StringBuilder(text.length() + 16);
+        for (String paragraph : PARAGRAPH_DELIMITER.split(text.trim())) {
+            String paragraphHtml = previousParagraphs.get(paragraph);
+            if (paragraphHtml != null) {
+                html.append(paragraphHtml);
+
+            } else {
+                html.append("<p>").append(HtmlUtils.htmlEscape(paragraph, "UTF-8")).append(END_TAG);
+            }
+        }
+        return html.toString();
+    }
+
+    /**
+     * Maps the paragraphs of a previous rendering to their HTML.
+     *
+     * @param text
+     *            The previously rendered text, or null
+     * @param html
+     *            The HTML of the previous text, or null
+     * @return The HTML by paragraph, empty if there is no previous rendering
+     */
+    private static Map<String, String> split(final String text, final String html) {
+        Map<String, String> paragraphs = new HashMap<>();
+        if (text == null || html == null) {
+            return paragraphs;
+        }
+        String[] paragraphTexts = PARAGRAPH_DELIMITER.split(text.trim());
+        int start = 0;
+        for (String paragraphText : paragraphTexts) {
+            int end = html.indexOf(END_TAG, start);
+            if (end < 0) {
+                paragraphs.clear();
+                return paragraphs;
+            }
+            end += END_TAG.length();
+            paragraphs.put(paragraphText, html.substring(start, end));
+            start = end;
+        }
+        return paragraphs;
+    }
+
+}
@@ -1,11 +1,20 @@
 package net.notejam.spring.note;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-import net.notejam.spring.pad.Pad;
-import net.notejam.spring.user.User;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * The note repository.
@@ -13,36 +22,66 @@ import net.notejam.spring.user.User;
  * @author markus@malkusch.de
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
  */
-interface NoteRepository extends JpaRepository<Note, Integer> {
+interface NoteRepository extends JpaRepository<Note, Integer>, NoteRepositoryCustom {
 
     /**
-     * Pages through all notes of a pad.
+     * Returns a note of a user.
      *
-     * @param pad
-     *            The pad
-     * @param pageable
-     *            The paging parameters
-     * @return The notes
+     * @param id
+     *            The note id
+     * @param userId
+     *            The user id
+     * @return The note, or empty if it doesn't exist or belongs to another user
      */
-    Page<Note> findByPad(Pad pad, Pageable pageable);
+    Optional<Note> findOneByIdAndUserId(int id, int userId);
 
     /**
-     * Pages through all notes of a user.
+     * Returns notes of a user.
      *
-     * @param user
-     *            The user
-     * @param pageable
-     *            The paging parameters
-     * @return The notes
+     * @param ids
+     *            The note ids
+     * @param userId
+     *            The user id
+     * @return The notes which exist and belong to the user
      */
-    Page<Note> findByUser(User user, Pageable pageable);
+    List<Note> findByIdInAndUserId(Collection<Integer> ids, int userId);
 
     /**
-     * Deletes all notes of a pad.
+     * Returns the modification time of a note without loading the note.
+     *
+     * @param id
+     *            The note id
+     * @param userId
+     *            The user id
+     * @return The modification time, or empty if the user has no such note
+     */
+    @Query("select n.updated from Note n where n.id = :id and n.user.id = :userId")
+    Optional<Instant> findUpdatedByIdAndUserId(@Param("id") int id, @Param("userId") int userId);
+
+    /**
+     * Returns the names of all notes of a user.
+     *
+     * @param userId
+     *            The user id
+     * @return The names
+     */
+    @Query("select new net.notejam.spring.note.NoteName(n.id, p.id, n.name.name)"
+            + " from Note n left join n.pad p where n.user.id = :userId")
+    List<NoteName> findNamesByUserId(@Param("userId") int userId);
+
+    /**
+     * Streams all notes of a user ordered by their id.
+     *
+     * The notes are scrolled with a JDBC fetch size and loaded read-only, so
+     * that Hibernate doesn't keep snapshots for dirty checking.
      *
-     * @param pad
-     *            The pad
+     * @param userId
+     *            The user id
+     * @return The notes, to be consumed and closed within a transaction
      */
-    void deleteByPad(Pad pad);
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true") })
+    @Query("select n from Note n where n.user.id = :userId order by n.id")
+    Stream<Note> streamByUserId(@Param("userId") int userId);
 
 }
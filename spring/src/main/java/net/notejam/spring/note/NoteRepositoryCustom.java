@@ -0,0 +1,78 @@
+package net.notejam.spring.note;
+
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.user.User;
+
+/**
+ * Custom queries of the note repository.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ * @see NoteRepository
+ */
+interface NoteRepositoryCustom {
+
+    /**
+     * Seeks a slice of notes of a user.
+     *
+     * @param user
+     *            The user
+     * @param keyset
+     *            The keyset
+     * @return The notes
+     */
+    NoteSlice seekByUser(User user, NoteKeyset keyset);
+
+    /**
+     * Seeks a slice of notes of a pad.
+     *
+     * @param pad
+     *            The pad
+     * @param keyset
+     *            The keyset
+     * @return The notes
+     */
+    NoteSlice seekByPad(Pad pad, NoteKeyset keyset);
+
+    /**
+     * Seeks a slice of note summaries of a user.
+     *
+     * The texts of the notes are not loaded.
+     *
+     * @param user
+     *            The user
+     * @param keyset
+     *            The keyset
+     * @return The note summaries
+     */
+    NoteSummarySlice seekSummariesByUser(User user, NoteKeyset keyset);
+
+    /**
+     * Seeks a slice of note summaries of a pad.
+     *
+     * The texts of the notes are not loaded.
+     *
+     * @param pad
+     *            The pad
+     * @param keyset
+     *            The keyset
+     * @return The note summaries
+     */
+    NoteSummarySlice seekSummariesByPad(Pad pad, NoteKeyset keyset);
+
+    /**
+     * Deletes all notes of a pad in chunks.
+     *
+     * Each chunk selects the ids of a number of notes and deletes them and
+     * their HTML with one statement each. No note is loaded into the
+     * persistence context.
+     *
+     * @param pad
+     *            The pad
+     * @param chunkSize
+     *            The number of notes deleted per statement
+     * @return The number of deleted notes
+     */
+    long deleteByPadInChunks(Pad pad, int chunkSize);
+
+}
@@ -0,0 +1,166 @@
+package net.notejam.spring.note;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.user.User;
+
+/**
+ * Implements the custom queries of the note repository.
+ *
+ * The keyset queries fetch one note more than the page size to find out if
+ * there is a further slice. They neither skip rows nor count them.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+class NoteRepositoryImpl implements NoteRepositoryCustom {
+
+    /**
+     * The JPQL query of the notes without conditions.
+     */
+    private static final String SELECT_NOTES = "select n from Note n";
+
+    /**
+     * The JPQL query of the note summaries without conditions.
+     */
+    private static final String SELECT_SUMMARIES = "select new net.notejam.spring.note.NoteSummary("
+            + "n.id, p.id, n.name.name, n.updated) from Note n left join n.pad p";
+
+    /**
+     * Builds a slice from the seeked content.
+     *
+     * @param <T>
+     *            The type of the content
+     * @param <S>
+     *            The type of the slice
+     */
+    @FunctionalInterface
+    private interface SliceFactory<T, S> {
+
+        /**
+         * Builds a slice.
+         *
+         * @param content
+         *            the content in sort order
+         * @param keyset
+         *            the keyset which fetched the content
+         * @param previous
+         *            whether there is content before this slice
+         * @param next
+         *            whether there is content after this slice
+         * @return The slice
+         */
+        S build(List<T> content, NoteKeyset keyset, boolean previous, boolean next);
+
+    }
+
+    /**
+     * The entity manager.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public NoteSlice seekByUser(final User user, final NoteKeyset keyset) {
+        return seek(SELECT_NOTES, Note.class, "n.user", user, keyset, NoteSlice::new);
+    }
+
+    @Override
+    public NoteSlice seekByPad(final Pad pad, final NoteKeyset keyset) {
+        return seek(SELECT_NOTES, Note.class, "n.pad", pad, keyset, NoteSlice::new);
+    }
+
+    @Override
+    public NoteSummarySlice seekSummariesByUser(final User user, final NoteKeyset keyset) {
+        return seek(SELECT_SUMMARIES, NoteSummary.class, "n.user", user, keyset, NoteSummarySlice::new);
+    }
+
+    @Override
+    public NoteSummarySlice seekSummariesByPad(final Pad pad, final NoteKeyset keyset) {
+        return seek(SELECT_SUMMARIES, NoteSummary.class, "n.pad", pad, keyset, NoteSummarySlice::new);
+    }
+
+    @Override
+    public long deleteByPadInChunks(final Pad pad, final int chunkSize) {
+        TypedQuery<Integer> select = entityManager.createQuery("select n.id from Note n where n.pad = :pad",
+                Integer.class);
+        select.setParameter("pad", pad);
+        select.setMaxResults(chunkSize);
+        Query deleteHtml = entityManager.createQuery("delete from NoteHtml h where h.id in :ids");
+        Query delete = entityManager.createQuery("delete from Note n where n.id in :ids");
+
+        long deleted = 0;
+        for (List<Integer> ids = select.getResultList(); !ids.isEmpty(); ids = select.getResultList()) {
+            deleteHtml.setParameter("ids", ids);
+            deleteHtml.executeUpdate();
+            delete.setParameter("ids", ids);
+            deleted += delete.executeUpdate();
+        }
+        return deleted;
+    }
+
+    /**
+     * Seeks a slice of notes.
+     *
+     * @param <T>
+     *            The type of the content
+     * @param <S>
+     *            The type of the slice
+     * @param select
+     *            The JPQL query without conditions, selecting from Note n
+     * @param type
+     *            The type of the content
+     * @param ownerPath
+     *            The JPQL path of the owning association
+     * @param owner
+     *            The owning entity
+     * @param keyset
+     *            The keyset
+     * @param factory
+     *            The factory of the slice
+     * @return The slice
+     */
+    private <T, S> S seek(final String select, final Class<T> type, final String ownerPath, final Object owner,
+            final NoteKeyset keyset, final SliceFactory<T, S> factory) {
+        String path = keyset.getPath();
+        String operator = keyset.isAscendingScan() ? ">" : "<";
+        String order = keyset.isAscendingScan() ? "asc" : "desc";
+
+        StringBuilder jpql = new StringBuilder(select).append(" where ").append(ownerPath).append(" = :owner");
+        if (keyset.hasCursor()) {
+            jpql.append(String.format(" and (%1$s %2$s :value or (%1$s = :value and n.id %2$s :id))", path, operator));
+        }
+        jpql.append(String.format(" order by %1$s %2$s, n.id %2$s", path, order));
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), type);
+        query.setParameter("owner", owner);
+        if (keyset.hasCursor()) {
+            query.setParameter("value", keyset.getValue());
+            query.setParameter("id", keyset.getId());
+        }
+        query.setMaxResults(keyset.getSize() + 1);
+
+        List<T> notes = query.getResultList();
+        boolean more = notes.size() > keyset.getSize();
+        if (more) {
+            notes = new ArrayList<>(notes.subList(0, keyset.getSize()));
+        }
+
+        if (keyset.isBackward()) {
+            Collections.reverse(notes);
+            return factory.build(notes, keyset, more, true);
+
+        } else {
+            return factory.build(notes, keyset, keyset.hasCursor(), more);
+        }
+    }
+
+}
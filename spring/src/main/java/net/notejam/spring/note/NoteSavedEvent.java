@@ -0,0 +1,99 @@
+package net.notejam.spring.note;
+
+/**
+ * A note was created or changed.
+ *
+ * The event is published by the {@link NoteService} within the saving
+ * transaction. It carries a copy of the indexable properties, so that
+ * listeners after the commit don't depend on the persistence context.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NoteSavedEvent {
+
+    /**
+     * The id of the owner.
+     */
+    private final int userId;
+
+    /**
+     * The note id.
+     */
+    private final int noteId;
+
+    /**
+     * The pad id, or null.
+     */
+    private final Integer padId;
+
+    /**
+     * The name.
+     */
+    private final String name;
+
+    /**
+     * The text.
+     */
+    private final String text;
+
+    /**
+     * Builds the event for a saved note.
+     *
+     * @param note
+     *            The saved note
+     */
+    NoteSavedEvent(final Note note) {
+        this.userId = note.getUser().getId();
+        this.noteId = note.getId();
+        this.padId = note.getPad() == null ? null : note.getPad().getId();
+        this.name = note.getName().toString();
+        this.text = note.getText();
+    }
+
+    /**
+     * Returns the id of the owner.
+     *
+     * @return The user id
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the note id.
+     *
+     * @return The note id
+     */
+    public int getNoteId() {
+        return noteId;
+    }
+
+    /**
+     * Returns the pad id.
+     *
+     * @return The pad id, or null
+     */
+    public Integer getPadId() {
+        return padId;
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the text.
+     *
+     * @return The text
+     */
+    public String getText() {
+        return text;
+    }
+
+}
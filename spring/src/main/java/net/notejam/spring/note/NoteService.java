@@ -1,15 +1,30 @@
 package net.notejam.spring.note;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
+import net.notejam.spring.helper.persistence.Migrations;
 import net.notejam.spring.pad.Pad;
 import net.notejam.spring.pad.PadService;
 import net.notejam.spring.security.owner.PermitOwner;
@@ -24,11 +39,21 @@ import net.notejam.spring.user.UserService;
 @Service
 public class NoteService {
 
+    /**
+     * The name of the migration which initializes the note counters.
+     */
+    static final String COUNTER_MIGRATION = "note-counters";
+
     /**
      * The note repository.
      */
     private final NoteRepository repository;
 
+    /**
+     * The repository of the rendered notes.
+     */
+    private final NoteHtmlRepository htmlRepository;
+
     /**
      * The pad service.
      */
@@ -39,59 +64,204 @@ public class NoteService {
      */
     private final UserService userService;
 
+    /**
+     * The number of notes deleted per statement.
+     */
+    private final int deleteChunkSize;
+
+    /**
+     * The publisher of the note events.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * The data migrations.
+     */
+    private final Migrations migrations;
+
     /**
      * Builds the service with its dependencies.
      * 
      * @param repository
      *            note repository
+     * @param htmlRepository
+     *            repository of the rendered notes
      * @param padService
      *            pad service
      * @param userService
      *            user service
+     * @param deleteChunkSize
+     *            number of notes deleted per statement
+     * @param eventPublisher
+     *            publisher of the note events
+     * @param migrations
+     *            data migrations
      */
     @Autowired
-    NoteService(final NoteRepository repository, final PadService padService, final UserService userService) {
+    NoteService(final NoteRepository repository, final NoteHtmlRepository htmlRepository,
+	    final PadService padService, final UserService userService,
+	    @Value("${notes.deleteChunkSize}") final int deleteChunkSize,
+	    final ApplicationEventPublisher eventPublisher, final Migrations migrations) {
 	this.repository = repository;
+	this.htmlRepository = htmlRepository;
 	this.padService = padService;
 	this.userService = userService;
+	this.deleteChunkSize = deleteChunkSize;
+	this.eventPublisher = eventPublisher;
+	this.migrations = migrations;
     }
 
     /**
-     * Loads a note from the storage.
+     * Loads a note of the authenticated user from the storage.
      *
      * @param id
      *            The note id
-     * @return The note
+     * @return The note, or empty if it doesn't exist or belongs to another
+     *         user
      */
-    @PermitOwner
+    @PermitOwner(PermitOwner.Mode.QUERY)
     public Optional<Note> getNote(final int id) {
-	return Optional.ofNullable(repository.findOne(id));
+	return repository.findOneByIdAndUserId(id, userService.getAuthenticatedUserId());
+    }
+
+    /**
+     * Returns the modification time of a note of the authenticated user.
+     *
+     * Unlike {@link #getNote(int)} the note isn't loaded.
+     *
+     * @param id
+     *            The note id
+     * @return The modification time, or empty if the note doesn't exist
+     */
+    @Transactional
+    public Optional<Instant> getNoteUpdated(final int id) {
+	return repository.findUpdatedByIdAndUserId(id, userService.getAuthenticatedUserId());
     }
 
     /**
-     * Pages through all notes.
+     * Loads notes of the authenticated user from the storage.
      *
-     * @param pageable
-     *            The paging parameters
+     * @param ids
+     *            The note ids
+     * @return The notes in no particular order. Notes which don't exist or
+     *         belong to another user are missing.
+     */
+    @PermitOwner(PermitOwner.Mode.QUERY)
+    public List<Note> getNotes(final Collection<Integer> ids) {
+	if (ids.isEmpty()) {
+	    return Collections.emptyList();
+	}
+	return repository.findByIdInAndUserId(ids, userService.getAuthenticatedUserId());
+    }
+
+    /**
+     * Seeks a slice of all notes.
+     *
+     * @param keyset
+     *            The keyset
      * @return The notes
      */
     @Transactional
-    public Page<Note> getNotes(final Pageable pageable) {
-	return repository.findByUser(userService.getAuthenticatedUser(), pageable);
+    public NoteSlice getNotes(final NoteKeyset keyset) {
+	return repository.seekByUser(userService.getAuthenticatedUser(), keyset);
+    }
+
+    /**
+     * Seeks a slice of the summaries of all notes.
+     *
+     * Unlike {@link #getNotes(NoteKeyset)} the texts are not loaded.
+     *
+     * @param keyset
+     *            The keyset
+     * @return The note summaries
+     */
+    @Transactional
+    public NoteSummarySlice getNoteSummaries(final NoteKeyset keyset) {
+	return repository.seekSummariesByUser(userService.getAuthenticatedUser(), keyset);
+    }
+
+    /**
+     * Counts all notes.
+     *
+     * The number is read from the user's note counter.
+     *
+     * @return The number of notes
+     */
+    public long countNotes() {
+	return userService.getAuthenticatedUser().getNoteCount();
+    }
+
+    /**
+     * Returns the names of all notes of a user.
+     *
+     * Only the names are loaded, not the notes.
+     *
+     * @param userId
+     *            The user id
+     * @return The names
+     */
+    @Transactional
+    public List<NoteName> getNoteNames(final int userId) {
+	return repository.findNamesByUserId(userId);
+    }
+
+    /**
+     * Streams all notes of a user ordered by their id.
+     *
+     * The notes are read-only and fetched in chunks while the stream is
+     * consumed. The caller has to run in a transaction, close the stream and
+     * detach the consumed notes to keep the persistence context small.
+     *
+     * @param userId
+     *            The user id
+     * @return The notes
+     */
+    @Transactional(TxType.MANDATORY)
+    public Stream<Note> streamNotes(final int userId) {
+	return repository.streamByUserId(userId);
     }
 
     /**
-     * Pages through all notes of a pad.
+     * Seeks a slice of all notes of a pad.
      *
      * @param pad
      *            The pad
-     * @param pageable
-     *            The paging parameters
+     * @param keyset
+     *            The keyset
      * @return The notes
      */
     @Transactional
-    public Page<Note> getPadNotes(@PermitOwner final Pad pad, final Pageable pageable) {
-	return repository.findByPad(pad, pageable);
+    public NoteSlice getPadNotes(@PermitOwner final Pad pad, final NoteKeyset keyset) {
+	return repository.seekByPad(pad, keyset);
+    }
+
+    /**
+     * Seeks a slice of the summaries of all notes of a pad.
+     *
+     * Unlike {@link #getPadNotes(Pad, NoteKeyset)} the texts are not loaded.
+     *
+     * @param pad
+     *            The pad
+     * @param keyset
+     *            The keyset
+     * @return The note summaries
+     */
+    @Transactional
+    public NoteSummarySlice getPadNoteSummaries(@PermitOwner final Pad pad, final NoteKeyset keyset) {
+	return repository.seekSummariesByPad(pad, keyset);
+    }
+
+    /**
+     * Counts all notes of a pad.
+     *
+     * The number is read from the pad's note counter.
+     *
+     * @param pad
+     *            The pad
+     * @return The number of notes
+     */
+    public long countPadNotes(@PermitOwner final Pad pad) {
+	return pad.getNoteCount();
     }
 
     /**
@@ -126,9 +296,138 @@ public class NoteService {
      */
     @Transactional
     public void saveNote(@PermitOwner final Note note, @PermitOwner final Pad pad) {
-	note.setPad(pad);
-	note.setUpdated(Instant.now());
-	repository.save(note);
+	saveNotes(Collections.singletonList(note), pad);
+    }
+
+    /**
+     * Saves many notes of the authenticated user in one batch.
+     *
+     * The notes are inserted or updated with batched statements. The note
+     * counters are updated once for the whole batch. The texts are rendered
+     * as HTML for the view.
+     *
+     * @param notes
+     *            The new or existing notes
+     * @param pad
+     *            The optional pad to which the notes will belong, or null
+     * @throws AccessDeniedException
+     *             If a note belongs to another user
+     */
+    @Transactional
+    public void saveNotes(final Collection<Note> notes, @PermitOwner final Pad pad) {
+	int userId = userService.getAuthenticatedUserId();
+	Instant now = Instant.now();
+	int createdNotes = 0;
+	int padNotes = 0;
+	Map<Pad, Integer> previousPadNotes = new HashMap<>();
+	for (Note note : notes) {
+	    if (note.getUser() == null || note.getUser().getId() != userId) {
+		throw new AccessDeniedException(String.format("User %s is not allowed to save %s.", userId, note));
+	    }
+
+	    boolean created = note.isNew();
+	    Pad previousPad = note.getPad();
+	    boolean moved = !Objects.equals(previousPad, pad);
+	    if (created) {
+		createdNotes++;
+	    }
+	    if (!created && moved && previousPad != null) {
+		previousPadNotes.merge(previousPad, -1, Integer::sum);
+	    }
+	    if (created || moved) {
+		padNotes++;
+	    }
+
+	    note.setPad(pad);
+	    note.setUpdated(now);
+	}
+	saveHtml(notes, repository.save(notes));
+	notes.forEach(note -> eventPublisher.publishEvent(new NoteSavedEvent(note)));
+
+	userService.addNotes(userService.getAuthenticatedUser(), createdNotes, now);
+	previousPadNotes.forEach((previousPad, delta) -> padService.addNotes(previousPad, delta, now));
+	if (pad != null) {
+	    padService.addNotes(pad, padNotes, now);
+	}
+    }
+
+    /**
+     * Imports notes of any users.
+     *
+     * The notes are inserted with batched statements and keep their update
+     * time. The note counters are updated once per user and pad.
+     *
+     * @param notes
+     *            The new notes
+     */
+    @Transactional
+    public void importNotes(final Collection<Note> notes) {
+	saveHtml(notes, repository.save(notes));
+	notes.forEach(note -> eventPublisher.publishEvent(new NoteSavedEvent(note)));
+
+	Instant now = Instant.now();
+	notes.stream().collect(Collectors.groupingBy(Note::getUser, Collectors.counting()))
+		.forEach((user, count) -> userService.addNotes(user, count.intValue(), now));
+	notes.stream().filter(note -> note.getPad() != null)
+		.collect(Collectors.groupingBy(Note::getPad, Collectors.counting()))
+		.forEach((pad, count) -> padService.addNotes(pad, count.intValue(), now));
+    }
+
+    /**
+     * Renders the changed texts of saved notes.
+     *
+     * Only the paragraphs which changed since the last rendering are rendered
+     * again.
+     *
+     * @param notes
+     *            The notes
+     * @param saved
+     *            The saved notes in the same order
+     */
+    private void saveHtml(final Collection<Note> notes, final List<Note> saved) {
+	List<Note> changed = new ArrayList<>();
+	List<Note> changedSaved = new ArrayList<>();
+	List<Integer> renderedIds = new ArrayList<>();
+	int i = 0;
+	for (Note note : notes) {
+	    Note savedNote = saved.get(i++);
+	    if (!note.isTextChanged()) {
+		continue;
+	    }
+	    changed.add(note);
+	    changedSaved.add(savedNote);
+	    if (note.getRenderedText() != null) {
+		renderedIds.add(savedNote.getId());
+	    }
+	}
+
+	Map<Integer, NoteHtml> htmls = renderedIds.isEmpty() ? Collections.emptyMap()
+		: htmlRepository.findAll(renderedIds).stream()
+			.collect(Collectors.toMap(NoteHtml::getId, Function.identity()));
+	List<NoteHtml> created = new ArrayList<>();
+	for (i = 0; i < changed.size(); i++) {
+	    Note note = changed.get(i);
+	    NoteHtml html = htmls.get(changedSaved.get(i).getId());
+	    if (html == null) {
+		html = new NoteHtml(changedSaved.get(i));
+		created.add(html);
+	    }
+	    html.render(note.getText(), note.getRenderedText());
+	    note.rendered();
+	}
+	htmlRepository.save(created);
+    }
+
+    /**
+     * Returns the HTML of a note.
+     *
+     * @param note
+     *            The note
+     * @return The HTML, or empty if the note was not rendered yet
+     */
+    @Transactional
+    public Optional<NoteHtml> getHtml(@PermitOwner final Note note) {
+	return Optional.ofNullable(htmlRepository.findOne(note.getId()));
     }
 
     /**
@@ -139,18 +438,54 @@ public class NoteService {
      */
     @Transactional
     public void deleteNote(@PermitOwner final Note note) {
+	Instant now = Instant.now();
+	htmlRepository.deleteByIds(Collections.singletonList(note.getId()));
 	repository.delete(note);
+	eventPublisher.publishEvent(NotesDeletedEvent.ofNote(note));
+
+	userService.addNotes(note.getUser(), -1, now);
+	if (note.getPad() != null) {
+	    padService.addNotes(note.getPad(), -1, now);
+	}
     }
 
     /**
      * Deletes all notes of a pad.
      *
+     * The notes are deleted in chunks by bulk statements. Notes of the pad
+     * which are already loaded into the persistence context are not removed
+     * from it.
+     *
      * @param pad
      *            The pad
      */
     @Transactional
     public void deleteNotes(@PermitOwner final Pad pad) {
-	repository.deleteByPad(pad);
+	long deleted = repository.deleteByPadInChunks(pad, deleteChunkSize);
+	eventPublisher.publishEvent(NotesDeletedEvent.ofPad(pad.getUser().getId(), pad.getId()));
+	userService.addNotes(pad.getUser(), (int) -deleted, Instant.now());
+    }
+
+    /**
+     * Initializes the note counters once.
+     *
+     * The counters are maintained incrementally. Recounting at the first
+     * startup initializes them for notes which were stored before the counters
+     * existed. Later starts skip the recount.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional
+    public void initializeCounters() {
+	migrations.runOnce(COUNTER_MIGRATION, this::recountNotes);
+    }
+
+    /**
+     * Recounts the note counters of all users and pads.
+     */
+    @Transactional
+    public void recountNotes() {
+	userService.recountNotes();
+	padService.recountNotes();
     }
 
 }
@@ -0,0 +1,36 @@
+package net.notejam.spring.note;
+
+import java.util.List;
+
+/**
+ * A slice of notes which was fetched by a {@link NoteKeyset}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NoteSlice extends KeysetSlice<Note> {
+
+    private static final long serialVersionUID = 3620470216542860839L;
+
+    /**
+     * Builds a slice.
+     *
+     * @param content
+     *            the notes in sort order
+     * @param keyset
+     *            the keyset which fetched the notes
+     * @param previous
+     *            whether there are notes before this slice
+     * @param next
+     *            whether there are notes after this slice
+     */
+    NoteSlice(final List<Note> content, final NoteKeyset keyset, final boolean previous, final boolean next) {
+        super(content, keyset, previous, next);
+    }
+
+    @Override
+    String encodeCursor(final NoteKeyset keyset, final Note note) {
+        return keyset.encodeCursor(note.getId(), note.getName().toString(), note.getUpdated());
+    }
+
+}
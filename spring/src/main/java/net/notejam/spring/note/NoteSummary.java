@@ -0,0 +1,88 @@
+package net.notejam.spring.note;
+
+import java.time.Instant;
+
+/**
+ * The summary of a note without its text.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NoteSummary {
+
+    /**
+     * The note id.
+     */
+    private final int id;
+
+    /**
+     * The pad id, or null.
+     */
+    private final Integer padId;
+
+    /**
+     * The name.
+     */
+    private final String name;
+
+    /**
+     * The last update time.
+     */
+    private final Instant updated;
+
+    /**
+     * Builds the summary of a note.
+     *
+     * @param id
+     *            The note id
+     * @param padId
+     *            The pad id, or null
+     * @param name
+     *            The name
+     * @param updated
+     *            The last update time
+     */
+    public NoteSummary(final int id, final Integer padId, final String name, final Instant updated) {
+        this.id = id;
+        this.padId = padId;
+        this.name = name;
+        this.updated = updated;
+    }
+
+    /**
+     * Returns the note id.
+     *
+     * @return The note id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the pad id.
+     *
+     * @return The pad id, or null
+     */
+    public Integer getPadId() {
+        return padId;
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the last update time.
+     *
+     * @return The last update time
+     */
+    public Instant getUpdated() {
+        return updated;
+    }
+
+}
@@ -0,0 +1,37 @@
+package net.notejam.spring.note;
+
+import java.util.List;
+
+/**
+ * A slice of note summaries which was fetched by a {@link NoteKeyset}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NoteSummarySlice extends KeysetSlice<NoteSummary> {
+
+    private static final long serialVersionUID = 7915503446321418032L;
+
+    /**
+     * Builds a slice.
+     *
+     * @param content
+     *            the note summaries in sort order
+     * @param keyset
+     *            the keyset which fetched the summaries
+     * @param previous
+     *            whether there are notes before this slice
+     * @param next
+     *            whether there are notes after this slice
+     */
+    NoteSummarySlice(final List<NoteSummary> content, final NoteKeyset keyset, final boolean previous,
+            final boolean next) {
+        super(content, keyset, previous, next);
+    }
+
+    @Override
+    String encodeCursor(final NoteKeyset keyset, final NoteSummary note) {
+        return keyset.encodeCursor(note.getId(), note.getName(), note.getUpdated());
+    }
+
+}
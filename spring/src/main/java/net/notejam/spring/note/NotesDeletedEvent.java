@@ -0,0 +1,96 @@
+package net.notejam.spring.note;
+
+/**
+ * A note or all notes of a pad were deleted.
+ *
+ * The event is published by the {@link NoteService} within the deleting
+ * transaction.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NotesDeletedEvent {
+
+    /**
+     * The id of the owner.
+     */
+    private final int userId;
+
+    /**
+     * The id of the deleted note, or null.
+     */
+    private final Integer noteId;
+
+    /**
+     * The id of the pad whose notes were deleted, or null.
+     */
+    private final Integer padId;
+
+    /**
+     * Builds the event.
+     *
+     * @param userId
+     *            The id of the owner
+     * @param noteId
+     *            The id of the deleted note, or null
+     * @param padId
+     *            The id of the pad whose notes were deleted, or null
+     */
+    private NotesDeletedEvent(final int userId, final Integer noteId, final Integer padId) {
+        this.userId = userId;
+        this.noteId = noteId;
+        this.padId = padId;
+    }
+
+    /**
+     * Builds the event for a deleted note.
+     *
+     * @param note
+     *            The deleted note
+     * @return The event
+     */
+    static NotesDeletedEvent ofNote(final Note note) {
+        return new NotesDeletedEvent(note.getUser().getId(), note.getId(), null);
+    }
+
+    /**
+     * Builds the event for the deleted notes of a pad.
+     *
+     * @param userId
+     *            The id of the owner
+     * @param padId
+     *            The pad id
+     * @return The event
+     */
+    static NotesDeletedEvent ofPad(final int userId, final int padId) {
+        return new NotesDeletedEvent(userId, null, padId);
+    }
+
+    /**
+     * Returns the id of the owner.
+     *
+     * @return The user id
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the id of the deleted note.
+     *
+     * @return The note id, or null if all notes of a pad were deleted
+     */
+    public Integer getNoteId() {
+        return noteId;
+    }
+
+    /**
+     * Returns the id of the pad whose notes were deleted.
+     *
+     * @return The pad id, or null if a single note was deleted
+     */
+    public Integer getPadId() {
+        return padId;
+    }
+
+}
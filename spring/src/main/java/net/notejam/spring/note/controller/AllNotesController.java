@@ -1,18 +1,22 @@
 package net.notejam.spring.note.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import net.notejam.spring.URITemplates;
-import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteKeyset;
 import net.notejam.spring.note.NoteService;
+import net.notejam.spring.note.NoteSlice;
 import net.notejam.spring.pad.controller.PadsAdvice.Pads;
+import net.notejam.spring.view.Lazy;
+import net.notejam.spring.view.PageValidator;
 
 /**
  * A controller to show all notes.
@@ -30,36 +34,69 @@ public class AllNotesController {
      */
     private final NoteService noteService;
 
+    /**
+     * The validator of conditional requests.
+     */
+    private final PageValidator pageValidator;
+
     /**
      * Builds the controller with its dependencies.
      *
      * @param noteService
      *            note service
+     * @param pageValidator
+     *            validator of conditional requests
      */
     @Autowired
-    AllNotesController(final NoteService noteService) {
+    AllNotesController(final NoteService noteService, final PageValidator pageValidator) {
 	this.noteService = noteService;
+	this.pageValidator = pageValidator;
     }
 
     /**
      * Provide the model attribute "notes".
      *
      * @param pageable
-     *            The paging.
-     * @return The model attribute "notes".
+     *            The page size and sort order.
+     * @param after
+     *            The cursor after which the notes start.
+     * @param before
+     *            The cursor before which the notes end.
+     * @return The lazy model attribute "notes".
      */
     @ModelAttribute("notes")
-    public Page<Note> notes(@PageableDefault(10) final Pageable pageable) {
-	return noteService.getNotes(pageable);
+    public Lazy<NoteSlice> notes(@PageableDefault(10) final Pageable pageable,
+	    @RequestParam(value = "after", required = false) final String after,
+	    @RequestParam(value = "before", required = false) final String before) {
+	NoteKeyset keyset = NoteKeyset.of(pageable, after, before);
+	return Lazy.of(() -> noteService.getNotes(keyset));
+    }
+
+    /**
+     * Provide the model attribute "total".
+     *
+     * @return The model attribute "total", i.e. the number of all notes.
+     */
+    @ModelAttribute("total")
+    public long total() {
+	return noteService.countNotes();
     }
 
     /**
      * Shows all notes.
      *
-     * @return The view.
+     * A conditional request is answered from the user's data version, before
+     * the notes are loaded.
+     *
+     * @param request
+     *            The request.
+     * @return The view, or null if the notes were not modified.
      */
     @RequestMapping(URITemplates.VIEW_ALL_NOTES)
-    public String showAllNotes() {
+    public String showAllNotes(final ServletWebRequest request) {
+	if (pageValidator.isNotModified(request)) {
+	    return null;
+	}
 	return "notes";
     }
 
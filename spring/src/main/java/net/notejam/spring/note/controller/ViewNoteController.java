@@ -1,17 +1,21 @@
 package net.notejam.spring.note.controller;
 
+import java.time.Instant;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
-import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import net.notejam.spring.URITemplates;
 import net.notejam.spring.error.ResourceNotFoundException;
 import net.notejam.spring.note.Note;
 import net.notejam.spring.note.NoteService;
 import net.notejam.spring.pad.controller.PadsAdvice.Pads;
+import net.notejam.spring.view.PageValidator;
 
 /**
  * The view note controller.
@@ -29,36 +33,49 @@ public class ViewNoteController {
      */
     private final NoteService service;
 
+    /**
+     * The validator of conditional requests.
+     */
+    private final PageValidator pageValidator;
+
     /**
      * Builds the controller with its dependencies.
      *
      * @param service
      *            note service
+     * @param pageValidator
+     *            validator of conditional requests
      */
     @Autowired
-    ViewNoteController(final NoteService service) {
+    ViewNoteController(final NoteService service, final PageValidator pageValidator) {
 	this.service = service;
+	this.pageValidator = pageValidator;
     }
 
     /**
-     * Provides the model attribute "note".
+     * Shows the note.
+     *
+     * A conditional request is answered from the note's modification time,
+     * before the note is loaded.
      *
      * @param id
      *            The note id.
-     * @return The model attribute "note".
-     */
-    @ModelAttribute
-    public Note note(@PathVariable("id") final int id) {
-	return service.getNote(id).orElseThrow(() -> new ResourceNotFoundException());
-    }
-
-    /**
-     * Shows the note
-     *
-     * @return The note view
+     * @param request
+     *            The request.
+     * @param model
+     *            The view model.
+     * @return The note view, or null if the note was not modified
      */
     @RequestMapping(URITemplates.VIEW_NOTE)
-    public String viewNote() {
+    public String viewNote(@PathVariable("id") final int id, final ServletWebRequest request, final Model model) {
+	Instant updated = service.getNoteUpdated(id).orElseThrow(() -> new ResourceNotFoundException());
+	if (pageValidator.isNotModified(request, updated)) {
+	    return null;
+	}
+
+	Note note = service.getNote(id).orElseThrow(() -> new ResourceNotFoundException());
+	model.addAttribute(note);
+	service.getHtml(note).ifPresent(model::addAttribute);
 	return "note/view";
     }
 
@@ -2,14 +2,14 @@ package net.notejam.spring.pad;
 
 import java.time.Instant;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Index;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 
-import org.springframework.data.jpa.domain.AbstractPersistable;
-
+import net.notejam.spring.helper.persistence.PooledPersistable;
 import net.notejam.spring.security.owner.Owned;
 import net.notejam.spring.user.User;
 
@@ -20,8 +20,8 @@ import net.notejam.spring.user.User;
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
  */
 @Entity
-@Table(indexes = @Index(columnList = "created") )
-public final class Pad extends AbstractPersistable<Integer>implements Owned {
+@Table(indexes = { @Index(columnList = "created"), @Index(columnList = "user_id, last_activity") })
+public final class Pad extends PooledPersistable implements Owned {
 
     private static final long serialVersionUID = -1186217744141902841L;
 
@@ -44,6 +44,22 @@ public final class Pad extends AbstractPersistable<Integer>implements Owned {
     @NotNull
     private User user;
 
+    /**
+     * The number of notes.
+     *
+     * The counter is maintained by atomic updates in the storage only.
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int noteCount;
+
+    /**
+     * The time of the last note activity.
+     *
+     * Like the note counter this time is maintained in the storage only.
+     */
+    @Column(updatable = false)
+    private Instant lastActivity;
+
     /**
      * Builds a new pad.
      *
@@ -61,6 +77,7 @@ public final class Pad extends AbstractPersistable<Integer>implements Owned {
         }
         
         this.created = Instant.now();
+        this.lastActivity = created;
         this.user = user;
         this.name = name;
     }
@@ -74,6 +91,24 @@ public final class Pad extends AbstractPersistable<Integer>implements Owned {
         return created;
     }
 
+    /**
+     * Returns the number of notes.
+     *
+     * @return number of notes
+     */
+    public int getNoteCount() {
+        return noteCount;
+    }
+
+    /**
+     * Returns the time of the last note activity.
+     *
+     * @return time of the last activity
+     */
+    public Instant getLastActivity() {
+        return lastActivity;
+    }
+
     /**
      * Returns the name.
      *
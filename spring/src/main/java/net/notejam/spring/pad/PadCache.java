@@ -0,0 +1,211 @@
+package net.notejam.spring.pad;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A bounded cache of the pad lists of users.
+ *
+ * The cache holds the pad lists of the most recently active users. If it
+ * exceeds its size, the least recently used list is evicted. A list is evicted
+ * whenever one of its pads changes. The eviction is repeated after the commit,
+ * so that a concurrent request can't cache the uncommitted state.
+ *
+ * Every eviction increments the generation of the user. A loaded list is only
+ * put into the cache if the generation didn't change while loading. This
+ * rejects lists which were read before a concurrent writer committed. The
+ * generations are striped by the user id, so that they don't grow with the
+ * number of users. Users sharing a stripe merely cause a spurious miss.
+ *
+ * The cached pads are detached and shared between requests. They must be
+ * treated as read only.
+ *
+ * The hits and misses are exported as JMX attributes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+@ManagedResource
+public class PadCache {
+
+    /**
+     * The number of generation stripes, a power of two.
+     */
+    private static final int GENERATION_STRIPES = 1024;
+
+    /**
+     * The cached pad lists by user id.
+     */
+    private final Map<Integer, List<Pad>> pads;
+
+    /**
+     * The eviction generations by user id stripe.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * The number of hits.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The number of misses.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Builds the cache.
+     *
+     * @param size
+     *            The maximum number of cached users
+     */
+    @Autowired
+    PadCache(@Value("${pads.cache.size}") final int size) {
+        pads = Collections.synchronizedMap(new LinkedHashMap<Integer, List<Pad>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = -3403616296391102557L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, List<Pad>> eldest) {
+                return size() > size;
+            }
+
+        });
+    }
+
+    /**
+     * Returns the pads of a user, loading them on a miss.
+     *
+     * A loaded list is not cached if the user's pads were evicted while
+     * loading.
+     *
+     * @param userId
+     *            The user id
+     * @param loader
+     *            Loads the pads of the user
+     * @return The user's pads
+     */
+    List<Pad> get(final int userId, final Supplier<List<Pad>> loader) {
+        List<Pad> cached = pads.get(userId);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        List<Pad> loaded = Collections.unmodifiableList(loader.get());
+        synchronized (pads) {
+            if (generations.get(stripe) == generation) {
+                pads.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the pads of a user.
+     *
+     * Within a transaction the pads are evicted again after the commit.
+     *
+     * @param userId
+     *            The user id
+     */
+    void evict(final int userId) {
+        remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    remove(userId);
+                }
+
+            });
+        }
+    }
+
+    /**
+     * Removes the pads of a user and starts a new generation.
+     *
+     * @param userId
+     *            The user id
+     */
+    private void remove(final int userId) {
+        synchronized (pads) {
+            generations.incrementAndGet(stripe(userId));
+            pads.remove(userId);
+        }
+    }
+
+    /**
+     * Returns the generation stripe of a user.
+     *
+     * @param userId
+     *            The user id
+     * @return The stripe
+     */
+    private static int stripe(final int userId) {
+        return userId & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Evicts all pads.
+     */
+    @ManagedOperation
+    public void clear() {
+        synchronized (pads) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            pads.clear();
+        }
+    }
+
+    /**
+     * Returns the number of cache hits.
+     *
+     * @return The number of hits
+     */
+    @ManagedAttribute
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of cache misses.
+     *
+     * @return The number of misses
+     */
+    @ManagedAttribute
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of cached users.
+     *
+     * @return The number of cached users
+     */
+    @ManagedAttribute
+    public int getSize() {
+        return pads.size();
+    }
+
+}
@@ -0,0 +1,53 @@
+package net.notejam.spring.pad;
+
+/**
+ * A pad was deleted.
+ *
+ * The event is published by the {@link PadService} within the deleting
+ * transaction.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class PadDeletedEvent {
+
+    /**
+     * The id of the owner.
+     */
+    private final int userId;
+
+    /**
+     * The pad id.
+     */
+    private final int padId;
+
+    /**
+     * Builds the event for a deleted pad.
+     *
+     * @param pad
+     *            The deleted pad
+     */
+    PadDeletedEvent(final Pad pad) {
+        this.userId = pad.getUser().getId();
+        this.padId = pad.getId();
+    }
+
+    /**
+     * Returns the id of the owner.
+     *
+     * @return The user id
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the pad id.
+     *
+     * @return The pad id
+     */
+    public int getPadId() {
+        return padId;
+    }
+
+}
@@ -1,10 +1,13 @@
 package net.notejam.spring.pad;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-
-import net.notejam.spring.user.User;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * The pad repository.
@@ -15,12 +18,47 @@ import net.notejam.spring.user.User;
 interface PadRepository extends JpaRepository<Pad, Integer> {
 
     /**
-     * Returns all pads for a user.
+     * Returns a pad of a user.
      *
-     * @param user
-     *            The user
+     * @param id
+     *            The pad id
+     * @param userId
+     *            The user id
+     * @return The pad, or empty if it doesn't exist or belongs to another user
+     */
+    Optional<Pad> findOneByIdAndUserId(int id, int userId);
+
+    /**
+     * Returns all pads for a user, the most recently active pad first.
+     *
+     * @param userId
+     *            The user id
      * @return The user's pads
      */
-    List<Pad> findByUser(User user);
+    List<Pad> findByUserIdOrderByLastActivityDesc(int userId);
+
+    /**
+     * Adds to the note counter of a pad and records the note activity.
+     *
+     * The counter is incremented atomically in the storage.
+     *
+     * @param pad
+     *            The pad
+     * @param delta
+     *            The number of added notes, negative for deleted notes
+     * @param time
+     *            The time of the activity
+     */
+    @Modifying
+    @Query("update Pad p set p.noteCount = p.noteCount + :delta, p.lastActivity = :time where p = :pad")
+    void addNotes(@Param("pad") Pad pad, @Param("delta") int delta, @Param("time") Instant time);
+
+    /**
+     * Recounts the notes and the last note activity of all pads.
+     */
+    @Modifying
+    @Query("update Pad p set p.noteCount = (select count(n) from Note n where n.pad = p),"
+            + " p.lastActivity = coalesce((select max(n.updated) from Note n where n.pad = p), p.created)")
+    void recountNotes();
 
 }
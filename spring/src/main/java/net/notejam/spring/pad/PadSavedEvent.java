@@ -0,0 +1,68 @@
+package net.notejam.spring.pad;
+
+/**
+ * A pad was created or renamed.
+ *
+ * The event is published by the {@link PadService} within the saving
+ * transaction.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class PadSavedEvent {
+
+    /**
+     * The id of the owner.
+     */
+    private final int userId;
+
+    /**
+     * The pad id.
+     */
+    private final int padId;
+
+    /**
+     * The name.
+     */
+    private final String name;
+
+    /**
+     * Builds the event for a saved pad.
+     *
+     * @param pad
+     *            The saved pad
+     */
+    PadSavedEvent(final Pad pad) {
+        this.userId = pad.getUser().getId();
+        this.padId = pad.getId();
+        this.name = pad.getName().toString();
+    }
+
+    /**
+     * Returns the id of the owner.
+     *
+     * @return The user id
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the pad id.
+     *
+     * @return The pad id
+     */
+    public int getPadId() {
+        return padId;
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+}
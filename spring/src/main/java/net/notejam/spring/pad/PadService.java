@@ -1,11 +1,12 @@
 package net.notejam.spring.pad;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
 
 import javax.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import net.notejam.spring.error.ResourceNotFoundException;
@@ -41,6 +42,18 @@ public class PadService {
     @Autowired
     private NoteService noteService;
 
+    /**
+     * The cache of the users' pads.
+     */
+    @Autowired
+    private PadCache padCache;
+
+    /**
+     * The publisher of the pad events.
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Builds the service with its dependencies.
      * 
@@ -50,36 +63,61 @@ public class PadService {
      *            user service
      * @param noteService
      *            note service
+     * @param padCache
+     *            cache of the users' pads
+     * @param eventPublisher
+     *            publisher of the pad events
      */
-    PadService(final PadRepository padRepository, final UserService userService, final NoteService noteService) {
+    PadService(final PadRepository padRepository, final UserService userService, final NoteService noteService,
+	    final PadCache padCache, final ApplicationEventPublisher eventPublisher) {
 	this.padRepository = padRepository;
 	this.userService = userService;
 	this.noteService = noteService;
+	this.padCache = padCache;
+	this.eventPublisher = eventPublisher;
     }
 
     /**
      * Returns all pads for the currently authenticated user.
      *
+     * The pads are served from the {@link PadCache}.
+     *
      * @return The user's pads
      */
     @Transactional
     public List<Pad> getAllPads() {
-	User user = userService.getAuthenticatedUser();
-	return padRepository.findByUser(user);
+	int userId = userService.getAuthenticatedUserId();
+	return padCache.get(userId, () -> padRepository.findByUserIdOrderByLastActivityDesc(userId));
     }
 
     /**
-     * Loads a pad from the storage.
+     * Returns all pads of a user.
+     *
+     * Unlike {@link #getAllPads()} the pads are loaded from the storage into
+     * the current persistence context.
+     *
+     * @param userId
+     *            The user id
+     * @return The user's pads
+     */
+    @Transactional
+    public List<Pad> getPads(final int userId) {
+	return padRepository.findByUserIdOrderByLastActivityDesc(userId);
+    }
+
+    /**
+     * Loads a pad of the authenticated user from the storage.
      *
      * @param id
      *            The pad id
      * @return The pad, not null
      * @throws ResourceNotFoundException
-     *             If the the pad was not found.
+     *             If the the pad was not found or belongs to another user.
      */
-    @PermitOwner
+    @PermitOwner(PermitOwner.Mode.QUERY)
     public Pad getPad(final int id) {
-	return Optional.ofNullable(padRepository.findOne(id)).orElseThrow(() -> new ResourceNotFoundException());
+	return padRepository.findOneByIdAndUserId(id, userService.getAuthenticatedUserId())
+		.orElseThrow(() -> new ResourceNotFoundException());
     }
 
     /**
@@ -93,6 +131,8 @@ public class PadService {
 	Pad pad = getPad(id);
 	noteService.deleteNotes(pad);
 	padRepository.delete(pad);
+	padCache.evict(pad.getUser().getId());
+	eventPublisher.publishEvent(new PadDeletedEvent(pad));
     }
 
     /**
@@ -106,6 +146,8 @@ public class PadService {
     @Transactional
     public void editPad(final Pad pad, final Name name) {
 	pad.edit(name);
+	padCache.evict(pad.getUser().getId());
+	eventPublisher.publishEvent(new PadSavedEvent(pad));
     }
 
     /**
@@ -118,9 +160,59 @@ public class PadService {
     public Pad createPad(final Name name) {
 	Pad pad = new Pad(name, userService.getAuthenticatedUser());
 	padRepository.save(pad);
+	padCache.evict(pad.getUser().getId());
+	eventPublisher.publishEvent(new PadSavedEvent(pad));
 	return pad;
     }
     
+    /**
+     * Imports a pad of a user.
+     *
+     * Unlike {@link #createPad(Name)} the pad is created for any user.
+     *
+     * @param name
+     *            pad name
+     * @param user
+     *            owner of the pad
+     * @return created pad
+     */
+    @Transactional
+    public Pad importPad(final Name name, final User user) {
+	Pad pad = new Pad(name, user);
+	padRepository.save(pad);
+	padCache.evict(user.getId());
+	eventPublisher.publishEvent(new PadSavedEvent(pad));
+	return pad;
+    }
+
+    /**
+     * Adds to the note counter of a pad and records the note activity.
+     *
+     * As the counter and the order of the pads change, the cached pads of the
+     * user are evicted.
+     *
+     * @param pad
+     *            pad
+     * @param delta
+     *            number of added notes, negative for deleted notes
+     * @param time
+     *            time of the activity
+     */
+    @Transactional
+    public void addNotes(final Pad pad, final int delta, final Instant time) {
+	padRepository.addNotes(pad, delta, time);
+	padCache.evict(pad.getUser().getId());
+    }
+
+    /**
+     * Recounts the notes of all pads.
+     */
+    @Transactional
+    public void recountNotes() {
+	padRepository.recountNotes();
+	padCache.clear();
+    }
+
     @SuppressWarnings("unused")
     private PadService() {
 	// Needed for by the DI framework for circular references.
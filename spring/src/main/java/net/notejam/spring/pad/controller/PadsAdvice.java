@@ -13,13 +13,14 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 
 import net.notejam.spring.pad.Pad;
 import net.notejam.spring.pad.PadService;
+import net.notejam.spring.view.Lazy;
 import net.notejam.spring.pad.controller.PadsAdvice.Pads;
 
 /**
  * Pads controller advice.
  *
  * This controller advice provides all pads of the authenticated user for the
- * view as the model attribute pads.
+ * view as the lazy model attribute pads.
  *
  * @author markus@malkusch.de
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
@@ -58,13 +59,13 @@ public class PadsAdvice {
 
     /**
      * Provides the model attribute "pads". I.e. all pads of the currently
-     * authenticated user.
+     * authenticated user, which are loaded when the view uses them.
      *
      * @return The model attribute "pads".
      */
     @ModelAttribute("pads")
-    public List<Pad> pads() {
-        return service.getAllPads();
+    public Lazy<List<Pad>> pads() {
+	return Lazy.of(service::getAllPads);
     }
 
 }
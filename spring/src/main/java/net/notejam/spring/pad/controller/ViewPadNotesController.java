@@ -1,7 +1,6 @@
 package net.notejam.spring.pad.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -9,13 +8,18 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import net.notejam.spring.URITemplates;
-import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteKeyset;
 import net.notejam.spring.note.NoteService;
+import net.notejam.spring.note.NoteSlice;
 import net.notejam.spring.pad.Pad;
 import net.notejam.spring.pad.PadService;
 import net.notejam.spring.pad.controller.PadsAdvice.Pads;
+import net.notejam.spring.view.Lazy;
+import net.notejam.spring.view.PageValidator;
 
 /**
  * The view pad notes controller.
@@ -38,6 +42,11 @@ public class ViewPadNotesController {
      */
     private final NoteService noteService;
 
+    /**
+     * The validator of conditional requests.
+     */
+    private final PageValidator pageValidator;
+
     /**
      * Builds the controller with its dependencies.
      * 
@@ -45,11 +54,15 @@ public class ViewPadNotesController {
      *            pad service
      * @param noteService
      *            note service
+     * @param pageValidator
+     *            validator of conditional requests
      */
     @Autowired
-    ViewPadNotesController(final PadService padService, final NoteService noteService) {
+    ViewPadNotesController(final PadService padService, final NoteService noteService,
+	    final PageValidator pageValidator) {
 	this.padService = padService;
 	this.noteService = noteService;
+	this.pageValidator = pageValidator;
     }
 
     /**
@@ -71,23 +84,51 @@ public class ViewPadNotesController {
      * @param pad
      *            The pad.
      * @param pageable
-     *            The paging.
-     * @return The model attribute "notes".
+     *            The page size and sort order.
+     * @param after
+     *            The cursor after which the notes start.
+     * @param before
+     *            The cursor before which the notes end.
+     * @return The lazy model attribute "notes".
      */
     @ModelAttribute("notes")
-    public Page<Note> notes(@ModelAttribute final Pad pad, @PageableDefault(10) final Pageable pageable) {
-	return noteService.getPadNotes(pad, pageable);
+    public Lazy<NoteSlice> notes(@ModelAttribute final Pad pad, @PageableDefault(10) final Pageable pageable,
+	    @RequestParam(value = "after", required = false) final String after,
+	    @RequestParam(value = "before", required = false) final String before) {
+	NoteKeyset keyset = NoteKeyset.of(pageable, after, before);
+	return Lazy.of(() -> noteService.getPadNotes(pad, keyset));
+    }
+
+    /**
+     * Provides the model attribute "total". That's the number of notes of the
+     * model attribute "pad".
+     *
+     * @param pad
+     *            The pad.
+     * @return The model attribute "total".
+     */
+    @ModelAttribute("total")
+    public long total(@ModelAttribute final Pad pad) {
+	return noteService.countPadNotes(pad);
     }
 
     /**
      * Shows the pad notes
      *
+     * A conditional request is answered from the user's data version, before
+     * the notes are loaded.
+     *
      * @param pad
      *            The pad.
-     * @return The pad notes view
+     * @param request
+     *            The request.
+     * @return The pad notes view, or null if the notes were not modified.
      */
     @RequestMapping(URITemplates.VIEW_PAD)
-    public String viewPadNotes(final Pad pad) {
+    public String viewPadNotes(final Pad pad, final ServletWebRequest request) {
+	if (pageValidator.isNotModified(request)) {
+	    return null;
+	}
 	return "notes";
     }
 
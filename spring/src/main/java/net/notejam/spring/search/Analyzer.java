@@ -0,0 +1,248 @@
+package net.notejam.spring.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits texts into words and words into index terms.
+ *
+ * A word is a sequence of letters and digits. It is folded to lower case
+ * without diacritics, so that e.g. "&Uuml;ber" and "uber" match. The folded word
+ * becomes one term per {@link Language}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+final class Analyzer {
+
+    /**
+     * The maximum length of a word. Longer words are truncated.
+     */
+    private static final int MAX_WORD_LENGTH = 64;
+
+    /**
+     * The combining marks which are removed after the decomposition.
+     */
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * A word of a text.
+     */
+    static final class Word {
+
+        /**
+         * The folded word.
+         */
+        private final String folded;
+
+        /**
+         * The offset of the first character in the text.
+         */
+        private final int start;
+
+        /**
+         * The offset after the last character in the text.
+         */
+        private final int end;
+
+        /**
+         * Builds a word.
+         *
+         * @param folded
+         *            The folded word
+         * @param start
+         *            The offset of the first character
+         * @param end
+         *            The offset after the last character
+         */
+        private Word(final String folded, final int start, final int end) {
+            this.folded = folded;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Returns the folded word.
+         *
+         * @return The folded word
+         */
+        String getFolded() {
+            return folded;
+        }
+
+        /**
+         * Returns the offset of the first character in the text.
+         *
+         * @return The start offset
+         */
+        int getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the offset after the last character in the text.
+         *
+         * @return The end offset
+         */
+        int getEnd() {
+            return end;
+        }
+
+    }
+
+    private Analyzer() {
+    }
+
+    /**
+     * Splits a text into words.
+     *
+     * @param text
+     *            The text, or null
+     * @return The words
+     */
+    static List<Word> words(final String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<Word> words = new ArrayList<>();
+        int start = -1;
+        int i = 0;
+        while (i < text.length()) {
+            int c = text.codePointAt(i);
+            if (isWordPart(c, start >= 0)) {
+                if (start < 0) {
+                    start = i;
+                }
+
+            } else if (start >= 0) {
+                words.add(new Word(foldWord(text.substring(start, i)), start, i));
+                start = -1;
+            }
+            i += Character.charCount(c);
+        }
+        if (start >= 0) {
+            words.add(new Word(foldWord(text.substring(start)), start, text.length()));
+        }
+        return words;
+    }
+
+    /**
+     * Returns the terms of the words in all languages.
+     *
+     * @param words
+     *            The words
+     * @return The distinct terms
+     */
+    static Set<String> terms(final List<Word> words) {
+        Set<String> terms = new HashSet<>();
+        for (Language language : Language.values()) {
+            terms.addAll(terms(words, language));
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the terms of the words in a language.
+     *
+     * @param words
+     *            The words
+     * @param language
+     *            The language
+     * @return The distinct terms
+     */
+    static Set<String> terms(final List<Word> words, final Language language) {
+        Set<String> terms = new HashSet<>();
+        for (Word word : words) {
+            String term = language.term(word.getFolded());
+            if (term != null) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Counts the terms of the words in all languages.
+     *
+     * @param words
+     *            The words
+     * @param weight
+     *            The weight of a word
+     * @param frequencies
+     *            The term frequencies to which the words are added
+     */
+    static void count(final List<Word> words, final int weight, final Map<String, Integer> frequencies) {
+        for (Word word : words) {
+            for (Language language : Language.values()) {
+                String term = language.term(word.getFolded());
+                if (term != null) {
+                    frequencies.merge(term, weight, Integer::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether a word matches any of the terms.
+     *
+     * @param word
+     *            The word
+     * @param terms
+     *            The terms in all languages
+     * @return True if a term of the word is among the terms
+     */
+    static boolean matches(final Word word, final Set<String> terms) {
+        for (Language language : Language.values()) {
+            String term = language.term(word.getFolded());
+            if (term != null && terms.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a character is part of a word.
+     *
+     * @param c
+     *            The character
+     * @param inWord
+     *            Whether the character follows a word part
+     * @return True for letters, digits and marks within a word
+     */
+    private static boolean isWordPart(final int c, final boolean inWord) {
+        return Character.isLetterOrDigit(c) || (inWord && Character.getType(c) == Character.NON_SPACING_MARK);
+    }
+
+    /**
+     * Folds a text to lower case without diacritics.
+     *
+     * @param text
+     *            The text
+     * @return The folded text
+     */
+    static String fold(final String text) {
+        String lowerCase = text.toLowerCase(Locale.ROOT).replace("\u00df", "ss");
+        return MARKS.matcher(Normalizer.normalize(lowerCase, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * Folds a word and truncates it to {@link #MAX_WORD_LENGTH}.
+     *
+     * @param word
+     *            The word
+     * @return The folded word
+     */
+    private static String foldWord(final String word) {
+        String folded = fold(word);
+        return folded.length() > MAX_WORD_LENGTH ? folded.substring(0, MAX_WORD_LENGTH) : folded;
+    }
+
+}
@@ -0,0 +1,225 @@
+package net.notejam.spring.search;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import net.notejam.spring.note.NoteName;
+import net.notejam.spring.note.NoteSavedEvent;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.note.NotesDeletedEvent;
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.pad.PadDeletedEvent;
+import net.notejam.spring.pad.PadSavedEvent;
+import net.notejam.spring.pad.PadService;
+
+/**
+ * The note and pad names of the active users.
+ *
+ * A user's names are loaded from the storage on the first autocompletion. The
+ * note and pad events update loaded names after their transaction committed.
+ * Names which were not used for {@code autocomplete.idleMinutes} are evicted
+ * every minute.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class AutocompleteIndex {
+
+    /**
+     * The loaded names by user id.
+     */
+    private final ConcurrentMap<Integer, UserNames> users = new ConcurrentHashMap<>();
+
+    /**
+     * The note service.
+     */
+    private final NoteService noteService;
+
+    /**
+     * The pad service.
+     */
+    private final PadService padService;
+
+    /**
+     * The read-only transaction template for loading names.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The idle time in milliseconds after which names are evicted.
+     */
+    private final long idleTime;
+
+    /**
+     * Builds the index with its dependencies.
+     *
+     * @param noteService
+     *            note service
+     * @param padService
+     *            pad service
+     * @param transactionManager
+     *            transaction manager
+     * @param idleMinutes
+     *            minutes after which unused names are evicted
+     */
+    @Autowired
+    AutocompleteIndex(final NoteService noteService, final PadService padService,
+            final PlatformTransactionManager transactionManager,
+            @Value("${autocomplete.idleMinutes}") final int idleMinutes) {
+        this.noteService = noteService;
+        this.padService = padService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.idleTime = TimeUnit.MINUTES.toMillis(idleMinutes);
+    }
+
+    /**
+     * Returns the loaded names of a user.
+     *
+     * The returned names can be queried without synchronization.
+     *
+     * @param userId
+     *            The user id
+     * @return The names
+     */
+    UserNames get(final int userId) {
+        while (true) {
+            UserNames names = users.computeIfAbsent(userId, id -> new UserNames());
+            synchronized (names) {
+                if (names.isClosed()) {
+                    continue;
+                }
+                if (!names.isLoaded()) {
+                    load(userId, names);
+                }
+                names.touch();
+                return names;
+            }
+        }
+    }
+
+    /**
+     * Adds or renames a saved note.
+     *
+     * @param event
+     *            The event
+     */
+    @TransactionalEventListener
+    public void onNoteSaved(final NoteSavedEvent event) {
+        update(event.getUserId(), names -> names.putNote(event.getNoteId(), event.getPadId(), event.getName()));
+    }
+
+    /**
+     * Removes deleted notes.
+     *
+     * @param event
+     *            The event
+     */
+    @TransactionalEventListener
+    public void onNotesDeleted(final NotesDeletedEvent event) {
+        if (event.getNoteId() != null) {
+            update(event.getUserId(), names -> names.removeNote(event.getNoteId()));
+
+        } else {
+            update(event.getUserId(), names -> names.removeNotesOfPad(event.getPadId()));
+        }
+    }
+
+    /**
+     * Adds or renames a saved pad.
+     *
+     * @param event
+     *            The event
+     */
+    @TransactionalEventListener
+    public void onPadSaved(final PadSavedEvent event) {
+        update(event.getUserId(), names -> names.putPad(event.getPadId(), event.getName()));
+    }
+
+    /**
+     * Removes a deleted pad.
+     *
+     * @param event
+     *            The event
+     */
+    @TransactionalEventListener
+    public void onPadDeleted(final PadDeletedEvent event) {
+        update(event.getUserId(), names -> names.removePad(event.getPadId()));
+    }
+
+    /**
+     * Evicts the names which were not used recently.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evict() {
+        long idleSince = System.currentTimeMillis() - idleTime;
+        for (Iterator<UserNames> iterator = users.values().iterator(); iterator.hasNext();) {
+            UserNames names = iterator.next();
+            synchronized (names) {
+                if (names.getLastAccess() < idleSince) {
+                    names.close();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the names of a user if they are loaded.
+     *
+     * Names which are not loaded yet will see the committed change when they
+     * are loaded.
+     *
+     * @param userId
+     *            The user id
+     * @param update
+     *            The update
+     */
+    private void update(final int userId, final Consumer<UserNames> update) {
+        UserNames names = users.get(userId);
+        if (names == null) {
+            return;
+        }
+        synchronized (names) {
+            if (names.isLoaded() && !names.isClosed()) {
+                update.accept(names);
+            }
+        }
+    }
+
+    /**
+     * Loads the note and pad names of a user from the storage.
+     *
+     * @param userId
+     *            The user id
+     * @param names
+     *            The empty names
+     */
+    private void load(final int userId, final UserNames names) {
+        transactionTemplate.execute(status -> {
+            names.batch(() -> {
+                for (Pad pad : padService.getPads(userId)) {
+                    names.putPad(pad.getId(), pad.getName().toString());
+                }
+                for (NoteName name : noteService.getNoteNames(userId)) {
+                    names.putNote(name.getNoteId(), name.getPadId(), name.getName());
+                }
+            });
+            return null;
+        });
+        names.setLoaded();
+    }
+
+}
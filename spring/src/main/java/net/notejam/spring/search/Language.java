@@ -0,0 +1,185 @@
+package net.notejam.spring.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The languages of the indexed notes.
+ *
+ * The languages are the locales of the messages_*.properties. As the language
+ * of a note is unknown, each word is indexed once per language with the
+ * language's stop words and a light stemmer. A query is scored per language,
+ * and the best language wins.
+ *
+ * A stop word of any language is not indexed in any language, as e.g. the
+ * English "and" would otherwise become a frequent German term.
+ *
+ * The stemmers expect folded words, i.e. lower case without diacritics.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+enum Language {
+
+    /**
+     * English with the S-stemmer of Harman.
+     */
+    ENGLISH('e', "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it", "no",
+            "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these", "they", "this", "to",
+            "was", "will", "with") {
+
+        @Override
+        String stem(final String word) {
+            int length = word.length();
+            if (length > 4 && word.endsWith("ies") && !word.endsWith("eies") && !word.endsWith("aies")) {
+                return word.substring(0, length - 3) + "y";
+
+            } else if (length > 3 && word.endsWith("es") && !word.endsWith("aes") && !word.endsWith("ees")
+                    && !word.endsWith("oes")) {
+                return word.substring(0, length - 1);
+
+            } else if (length > 3 && word.endsWith("s") && !word.endsWith("us") && !word.endsWith("ss")) {
+                return word.substring(0, length - 1);
+
+            } else {
+                return word;
+            }
+        }
+
+    },
+
+    /**
+     * German with the light stemmer of Savoy.
+     */
+    GERMAN('d', "aber", "als", "am", "an", "auch", "auf", "aus", "bei", "bin", "bis", "das", "dass", "dem", "den",
+            "der", "des", "die", "doch", "du", "ein", "eine", "einem", "einen", "einer", "eines", "er", "es", "fur",
+            "hat", "ich", "im", "in", "ist", "ja", "mit", "nach", "nicht", "noch", "oder", "sie", "sind", "so", "um",
+            "und", "uns", "von", "vor", "war", "was", "wie", "wir", "zu", "zum", "zur") {
+
+        @Override
+        String stem(final String word) {
+            return removeSuffix2(removeSuffix1(word));
+        }
+
+        /**
+         * Removes an inflectional suffix.
+         *
+         * @param word
+         *            The word
+         * @return The word without suffix
+         */
+        private String removeSuffix1(final String word) {
+            int length = word.length();
+            if (length > 5 && word.endsWith("ern")) {
+                return word.substring(0, length - 3);
+
+            } else if (length > 4 && (word.endsWith("em") || word.endsWith("en") || word.endsWith("er")
+                    || word.endsWith("es"))) {
+                return word.substring(0, length - 2);
+
+            } else if (length > 3 && word.endsWith("e")) {
+                return word.substring(0, length - 1);
+
+            } else if (length > 3 && word.endsWith("s") && "bdfghklmnrt".indexOf(word.charAt(length - 2)) >= 0) {
+                return word.substring(0, length - 1);
+
+            } else {
+                return word;
+            }
+        }
+
+        /**
+         * Removes a comparative or superlative suffix.
+         *
+         * @param word
+         *            The word
+         * @return The word without suffix
+         */
+        private String removeSuffix2(final String word) {
+            int length = word.length();
+            if (length > 5 && word.endsWith("est")) {
+                return word.substring(0, length - 3);
+
+            } else if (length > 4 && (word.endsWith("er") || word.endsWith("en"))) {
+                return word.substring(0, length - 2);
+
+            } else if (length > 5 && word.endsWith("st") && "bdfghklmnt".indexOf(word.charAt(length - 3)) >= 0) {
+                return word.substring(0, length - 2);
+
+            } else {
+                return word;
+            }
+        }
+
+    };
+
+    /**
+     * The stop words of all languages.
+     */
+    private static final Set<String> STOP_WORDS = new HashSet<>();
+
+    static {
+        for (Language language : values()) {
+            STOP_WORDS.addAll(language.stopWords);
+        }
+    }
+
+    /**
+     * The prefix which separates the terms of the languages.
+     */
+    private final String prefix;
+
+    /**
+     * The stop words.
+     */
+    private final Set<String> stopWords;
+
+    /**
+     * Builds a language.
+     *
+     * @param prefix
+     *            The term prefix
+     * @param stopWords
+     *            The folded stop words
+     */
+    Language(final char prefix, final String... stopWords) {
+        this.prefix = prefix + ":";
+        this.stopWords = new HashSet<>(Arrays.asList(stopWords));
+    }
+
+    /**
+     * Returns the index term of a folded word.
+     *
+     * @param word
+     *            The folded word
+     * @return The term, or null for a stop word of any language
+     */
+    String term(final String word) {
+        if (STOP_WORDS.contains(word)) {
+            return null;
+        }
+        return prefix + (isAlphabetic(word) ? stem(word) : word);
+    }
+
+    /**
+     * Stems a folded word.
+     *
+     * @param word
+     *            The folded word
+     * @return The stem
+     */
+    abstract String stem(String word);
+
+    /**
+     * Returns whether a word consists only of letters.
+     *
+     * @param word
+     *            The word
+     * @return True if the word has only letters
+     */
+    private static boolean isAlphabetic(final String word) {
+        return word.codePoints().allMatch(Character::isLetter);
+    }
+
+}
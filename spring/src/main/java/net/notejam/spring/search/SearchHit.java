@@ -0,0 +1,71 @@
+package net.notejam.spring.search;
+
+import net.notejam.spring.note.Note;
+
+/**
+ * A note which matches a query.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class SearchHit {
+
+    /**
+     * The note.
+     */
+    private final Note note;
+
+    /**
+     * The score.
+     */
+    private final double score;
+
+    /**
+     * The snippet of the text.
+     */
+    private final Snippet snippet;
+
+    /**
+     * Builds a hit.
+     *
+     * @param note
+     *            The note
+     * @param score
+     *            The score
+     * @param snippet
+     *            The snippet of the text
+     */
+    SearchHit(final Note note, final double score, final Snippet snippet) {
+        this.note = note;
+        this.score = score;
+        this.snippet = snippet;
+    }
+
+    /**
+     * Returns the note.
+     *
+     * @return The note
+     */
+    public Note getNote() {
+        return note;
+    }
+
+    /**
+     * Returns the score.
+     *
+     * @return The score, higher is better
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the snippet of the text.
+     *
+     * @return The snippet
+     */
+    public Snippet getSnippet() {
+        return snippet;
+    }
+
+}
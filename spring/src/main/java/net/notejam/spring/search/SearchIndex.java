@@ -0,0 +1,360 @@
+package net.notejam.spring.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteSavedEvent;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.note.NotesDeletedEvent;
+
+/**
+ * The search indexes of all users.
+ *
+ * A user's index is loaded on first use from the directory
+ * {@code search.directory}. If there is no index file, a query builds the
+ * index from the stored notes. The note events update loaded indexes after
+ * their transaction committed.
+ *
+ * Changed indexes are written every {@code search.flushDelay} milliseconds.
+ * Indexes which were not used for {@code search.idleMinutes} are evicted from
+ * the memory. A marker file records a clean shutdown. Without it, the index
+ * files may have missed changes and are discarded at startup. An empty
+ * {@code search.directory} keeps the indexes only in memory.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndex.class);
+
+    /**
+     * The file name extension of an index file.
+     */
+    private static final String EXTENSION = ".idx";
+
+    /**
+     * The marker file of a clean shutdown.
+     */
+    private static final String CLEAN_MARKER = "clean";
+
+    /**
+     * The loaded indexes by user id.
+     */
+    private final ConcurrentMap<Integer, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * The note service.
+     */
+    private final NoteService noteService;
+
+    /**
+     * The read-only transaction template for building indexes.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The directory of the index files, or null.
+     */
+    private final Path directory;
+
+    /**
+     * The idle time in milliseconds after which an index is evicted.
+     */
+    private final long idleTime;
+
+    /**
+     * The entity manager.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Builds the index with its dependencies.
+     *
+     * @param noteService
+     *            note service
+     * @param transactionManager
+     *            transaction manager
+     * @param directory
+     *            directory of the index files, or empty
+     * @param idleMinutes
+     *            minutes after which an unused index is evicted
+     * @throws IOException
+     *             If the directory can't be prepared
+     */
+    @Autowired
+    SearchIndex(final NoteService noteService, final PlatformTransactionManager transactionManager,
+            @Value("${search.directory}") final String directory, @Value("${search.idleMinutes}") final int idleMinutes)
+            throws IOException {
+        this.noteService = noteService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.directory = directory.isEmpty() ? null : Paths.get(directory);
+        this.idleTime = TimeUnit.MINUTES.toMillis(idleMinutes);
+        prepareDirectory();
+    }
+
+    /**
+     * Returns the loaded index of a user.
+     *
+     * If the user has no index file, the index is built from the stored
+     * notes.
+     *
+     * @param userId
+     *            The user id
+     * @return The index, on which the caller has to synchronize
+     */
+    UserIndex get(final int userId) {
+        while (true) {
+            UserIndex index = indexes.computeIfAbsent(userId, id -> new UserIndex());
+            synchronized (index) {
+                if (index.isClosed()) {
+                    continue;
+                }
+                if (!index.isLoaded() && !load(userId, index)) {
+                    build(userId, index);
+                }
+                index.touch();
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Indexes a saved note.
+     *
+     * @param event
+     *            The event
+     */
+    @TransactionalEventListener
+    public void onNoteSaved(final NoteSavedEvent event) {
+        update(event.getUserId(),
+                index -> index.put(event.getNoteId(), event.getPadId(), event.getName(), event.getText()));
+    }
+
+    /**
+     * Removes deleted notes from the index.
+     *
+     * @param event
+     *            The event
+     */
+    @TransactionalEventListener
+    public void onNotesDeleted(final NotesDeletedEvent event) {
+        if (event.getNoteId() != null) {
+            update(event.getUserId(), index -> index.remove(event.getNoteId()));
+
+        } else {
+            update(event.getUserId(), index -> index.removePad(event.getPadId()));
+        }
+    }
+
+    /**
+     * Writes the changed indexes and evicts the unused indexes.
+     */
+    @Scheduled(fixedDelayString = "${search.flushDelay}")
+    public void flush() {
+        long idleSince = System.currentTimeMillis() - idleTime;
+        for (Iterator<Entry<Integer, UserIndex>> entries = indexes.entrySet().iterator(); entries.hasNext();) {
+            Entry<Integer, UserIndex> entry = entries.next();
+            UserIndex index = entry.getValue();
+            synchronized (index) {
+                write(entry.getKey(), index);
+                if (index.getLastAccess() < idleSince) {
+                    index.close();
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all indexes and marks the shutdown as clean.
+     *
+     * @throws IOException
+     *             If the marker can't be written
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        for (Entry<Integer, UserIndex> entry : indexes.entrySet()) {
+            UserIndex index = entry.getValue();
+            synchronized (index) {
+                write(entry.getKey(), index);
+            }
+        }
+        if (directory != null) {
+            Files.write(directory.resolve(CLEAN_MARKER), new byte[0]);
+        }
+    }
+
+    /**
+     * Updates the index of a user.
+     *
+     * An index which is neither loaded nor stored is not updated, as it will
+     * be built from the stored notes.
+     *
+     * @param userId
+     *            The user id
+     * @param update
+     *            The update
+     */
+    private void update(final int userId, final Consumer<UserIndex> update) {
+        while (true) {
+            UserIndex index = indexes.computeIfAbsent(userId, id -> new UserIndex());
+            synchronized (index) {
+                if (index.isClosed()) {
+                    continue;
+                }
+                if (index.isLoaded() || load(userId, index)) {
+                    update.accept(index);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Loads the index file of a user.
+     *
+     * @param userId
+     *            The user id
+     * @param index
+     *            The empty index
+     * @return True if the index was loaded
+     */
+    private boolean load(final int userId, final UserIndex index) {
+        if (directory == null) {
+            return false;
+        }
+        Path file = getFile(userId);
+        if (!Files.exists(file)) {
+            return false;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            index.read(input);
+            index.setLoaded();
+            return true;
+
+        } catch (IOException e) {
+            LOGGER.warn("Discarding the search index of user {}", userId, e);
+            index.clear();
+            return false;
+        }
+    }
+
+    /**
+     * Builds the index of a user from the stored notes.
+     *
+     * @param userId
+     *            The user id
+     * @param index
+     *            The empty index
+     */
+    private void build(final int userId, final UserIndex index) {
+        transactionTemplate.execute(status -> {
+            try (Stream<Note> notes = noteService.streamNotes(userId)) {
+                notes.forEach(note -> {
+                    index.put(note.getId(), note.getPad() == null ? null : note.getPad().getId(),
+                            note.getName().toString(), note.getText());
+                    entityManager.detach(note);
+                });
+            }
+            return null;
+        });
+        index.setLoaded();
+        LOGGER.info("Built the search index of user {} with {} notes", userId, index.size());
+    }
+
+    /**
+     * Writes the index of a user if it changed.
+     *
+     * @param userId
+     *            The user id
+     * @param index
+     *            The index
+     */
+    private void write(final int userId, final UserIndex index) {
+        if (directory == null || !index.isLoaded() || !index.isDirty()) {
+            return;
+        }
+        Path file = getFile(userId);
+        Path temporary = directory.resolve(userId + EXTENSION + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                index.write(output);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write the search index of user {}", userId, e);
+        }
+    }
+
+    /**
+     * Creates the directory and discards the index files after an unclean
+     * shutdown.
+     *
+     * @throws IOException
+     *             If the directory can't be prepared
+     */
+    private void prepareDirectory() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        Path marker = directory.resolve(CLEAN_MARKER);
+        if (Files.deleteIfExists(marker)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION + "*")) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Returns the index file of a user.
+     *
+     * @param userId
+     *            The user id
+     * @return The index file
+     */
+    private Path getFile(final int userId) {
+        return directory.resolve(userId + EXTENSION);
+    }
+
+}
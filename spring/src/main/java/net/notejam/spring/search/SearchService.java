@@ -0,0 +1,139 @@
+package net.notejam.spring.search;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.user.UserService;
+
+/**
+ * The search service.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Service
+public class SearchService {
+
+    /**
+     * The search indexes.
+     */
+    private final SearchIndex searchIndex;
+
+    /**
+     * The note service.
+     */
+    private final NoteService noteService;
+
+    /**
+     * The user service.
+     */
+    private final UserService userService;
+
+    /**
+     * The autocompletion names.
+     */
+    private final AutocompleteIndex autocompleteIndex;
+
+    /**
+     * The maximum number of hits.
+     */
+    private final int maxResults;
+
+    /**
+     * The maximum number of suggestions.
+     */
+    private final int maxSuggestions;
+
+    /**
+     * Builds the service with its dependencies.
+     *
+     * @param searchIndex
+     *            search indexes
+     * @param noteService
+     *            note service
+     * @param userService
+     *            user service
+     * @param autocompleteIndex
+     *            autocompletion names
+     * @param maxResults
+     *            maximum number of hits
+     * @param maxSuggestions
+     *            maximum number of suggestions
+     */
+    @Autowired
+    SearchService(final SearchIndex searchIndex, final NoteService noteService, final UserService userService,
+	    final AutocompleteIndex autocompleteIndex, @Value("${search.maxResults}") final int maxResults,
+	    @Value("${autocomplete.maxResults}") final int maxSuggestions) {
+	this.searchIndex = searchIndex;
+	this.noteService = noteService;
+	this.userService = userService;
+	this.autocompleteIndex = autocompleteIndex;
+	this.maxResults = maxResults;
+	this.maxSuggestions = maxSuggestions;
+    }
+
+    /**
+     * Searches the notes of the authenticated user.
+     *
+     * The words of the query are searched in the note names and texts. The
+     * hits are ranked by their relevance.
+     *
+     * @param query
+     *            The query
+     * @return The best hits, the most relevant first
+     */
+    @Transactional
+    public List<SearchHit> search(final String query) {
+	List<Analyzer.Word> words = Analyzer.words(query);
+	if (words.isEmpty()) {
+	    return Collections.emptyList();
+	}
+
+	UserIndex index = searchIndex.get(userService.getAuthenticatedUserId());
+	Map<Integer, Double> scores;
+	synchronized (index) {
+	    scores = index.search(words);
+	}
+	List<Integer> ids = scores.entrySet().stream()
+		.sorted(Entry.<Integer, Double> comparingByValue().reversed()
+			.thenComparing(Entry.comparingByKey(Comparator.reverseOrder())))
+		.limit(maxResults).map(Entry::getKey).collect(Collectors.toList());
+
+	Map<Integer, Note> notes = noteService.getNotes(ids).stream()
+		.collect(Collectors.toMap(Note::getId, Function.identity()));
+	Set<String> terms = Analyzer.terms(words);
+	return ids.stream().filter(notes::containsKey).map(notes::get)
+		.map(note -> new SearchHit(note, scores.get(note.getId()), Snippet.of(note.getText(), terms)))
+		.collect(Collectors.toList());
+    }
+
+    /**
+     * Suggests notes and pads of the authenticated user by a prefix.
+     *
+     * @param prefix
+     *            The prefix of the name or of one of its words
+     * @return The suggestions, whole name matches first
+     */
+    @Transactional
+    public List<Suggestion> autocomplete(final String prefix) {
+	if (prefix.trim().isEmpty()) {
+	    return Collections.emptyList();
+	}
+	return autocompleteIndex.get(userService.getAuthenticatedUserId()).complete(prefix, maxSuggestions);
+    }
+
+}
@@ -0,0 +1,200 @@
+package net.notejam.spring.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An excerpt of a note text with the matching words highlighted.
+ *
+ * The excerpt is the window of {@link #WINDOW} words with the most matching
+ * words, centered around its matches. It is split into fragments, so that a view can highlight the
+ * matching fragments without trusting the text as markup.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class Snippet {
+
+    /**
+     * The number of words of a snippet.
+     */
+    static final int WINDOW = 30;
+
+    /**
+     * The marker of omitted text.
+     */
+    private static final String ELLIPSIS = "\u2026";
+
+    /**
+     * A fragment of a snippet.
+     */
+    public static final class Fragment {
+
+        /**
+         * The text.
+         */
+        private final String text;
+
+        /**
+         * Whether the fragment matches the query.
+         */
+        private final boolean match;
+
+        /**
+         * Builds a fragment.
+         *
+         * @param text
+         *            The text
+         * @param match
+         *            Whether the fragment matches the query
+         */
+        private Fragment(final String text, final boolean match) {
+            this.text = text;
+            this.match = match;
+        }
+
+        /**
+         * Returns the text.
+         *
+         * @return The text
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Returns whether the fragment matches the query.
+         *
+         * @return True for a highlighted fragment
+         */
+        public boolean isMatch() {
+            return match;
+        }
+
+    }
+
+    /**
+     * The fragments.
+     */
+    private final List<Fragment> fragments;
+
+    /**
+     * Builds a snippet.
+     *
+     * @param fragments
+     *            The fragments
+     */
+    private Snippet(final List<Fragment> fragments) {
+        this.fragments = Collections.unmodifiableList(fragments);
+    }
+
+    /**
+     * Builds the snippet of a text.
+     *
+     * @param text
+     *            The text
+     * @param terms
+     *            The query terms in all languages
+     * @return The snippet
+     */
+    static Snippet of(final String text, final Set<String> terms) {
+        List<Analyzer.Word> words = Analyzer.words(text);
+        List<Fragment> fragments = new ArrayList<>();
+        if (words.isEmpty()) {
+            return new Snippet(fragments);
+        }
+
+        boolean[] matches = new boolean[words.size()];
+        for (int i = 0; i < matches.length; i++) {
+            matches[i] = Analyzer.matches(words.get(i), terms);
+        }
+
+        int first = bestWindow(matches);
+        int last = Math.min(words.size(), first + WINDOW) - 1;
+        int start = first == 0 ? 0 : words.get(first).getStart();
+        int end = last == words.size() - 1 ? text.length() : words.get(last).getEnd();
+
+        if (start > 0) {
+            fragments.add(new Fragment(ELLIPSIS, false));
+        }
+        int position = start;
+        for (int i = first; i <= last; i++) {
+            if (!matches[i]) {
+                continue;
+            }
+            Analyzer.Word word = words.get(i);
+            if (word.getStart() > position) {
+                fragments.add(new Fragment(text.substring(position, word.getStart()), false));
+            }
+            fragments.add(new Fragment(text.substring(word.getStart(), word.getEnd()), true));
+            position = word.getEnd();
+        }
+        if (end > position) {
+            fragments.add(new Fragment(text.substring(position, end), false));
+        }
+        if (end < text.length()) {
+            fragments.add(new Fragment(ELLIPSIS, false));
+        }
+        return new Snippet(fragments);
+    }
+
+    /**
+     * Finds the window with the most matches and centers it around them.
+     *
+     * @param matches
+     *            Whether each word matches
+     * @return The index of the first word of the window
+     */
+    private static int bestWindow(final boolean[] matches) {
+        int best = mostMatches(matches);
+        int firstMatch = -1;
+        int lastMatch = -1;
+        for (int i = best; i < Math.min(best + WINDOW, matches.length); i++) {
+            if (matches[i]) {
+                firstMatch = firstMatch < 0 ? i : firstMatch;
+                lastMatch = i;
+            }
+        }
+        if (firstMatch < 0) {
+            return 0;
+        }
+        int centered = (firstMatch + lastMatch) / 2 - WINDOW / 2;
+        return Math.max(0, Math.min(centered, matches.length - WINDOW));
+    }
+
+    /**
+     * Finds the first window with the most matches.
+     *
+     * @param matches
+     *            Whether each word matches
+     * @return The index of the first word of the window
+     */
+    private static int mostMatches(final boolean[] matches) {
+        int count = 0;
+        for (int i = 0; i < Math.min(WINDOW, matches.length); i++) {
+            count += matches[i] ? 1 : 0;
+        }
+        int best = 0;
+        int bestCount = count;
+        for (int first = 1; first + WINDOW <= matches.length; first++) {
+            count += (matches[first + WINDOW - 1] ? 1 : 0) - (matches[first - 1] ? 1 : 0);
+            if (count > bestCount) {
+                best = first;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the fragments.
+     *
+     * @return The fragments
+     */
+    public List<Fragment> getFragments() {
+        return fragments;
+    }
+
+}
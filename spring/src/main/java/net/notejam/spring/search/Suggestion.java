@@ -0,0 +1,140 @@
+package net.notejam.spring.search;
+
+import org.springframework.web.util.UriTemplate;
+
+import net.notejam.spring.URITemplates;
+
+/**
+ * A note or pad whose name starts with an autocompleted prefix.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class Suggestion {
+
+    /**
+     * The type of the suggested entity.
+     */
+    public enum Type {
+
+        /**
+         * A note.
+         */
+        NOTE(URITemplates.VIEW_NOTE),
+
+        /**
+         * A pad.
+         */
+        PAD(URITemplates.VIEW_PAD);
+
+        /**
+         * The URI template of the view.
+         */
+        private final UriTemplate template;
+
+        /**
+         * Builds the type.
+         *
+         * @param template
+         *            The URI template of the view
+         */
+        Type(final String template) {
+            this.template = new UriTemplate(template);
+        }
+
+    }
+
+    /**
+     * The type.
+     */
+    private final Type type;
+
+    /**
+     * The id.
+     */
+    private final int id;
+
+    /**
+     * The name.
+     */
+    private final String name;
+
+    /**
+     * The pad id of a note, or null.
+     */
+    private final Integer padId;
+
+    /**
+     * Builds a suggestion.
+     *
+     * @param type
+     *            The type
+     * @param id
+     *            The id
+     * @param name
+     *            The name
+     * @param padId
+     *            The pad id of a note, or null
+     */
+    Suggestion(final Type type, final int id, final String name, final Integer padId) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.padId = padId;
+    }
+
+    /**
+     * Returns the type.
+     *
+     * @return The type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the id.
+     *
+     * @return The id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the path of the view, relative to the context path.
+     *
+     * @return The path
+     */
+    public String getPath() {
+        return type.template.expand(id).toString();
+    }
+
+    /**
+     * Returns the pad id of a note.
+     *
+     * @return The pad id, or null
+     */
+    Integer getPadId() {
+        return padId;
+    }
+
+    /**
+     * Returns the key which identifies the entity.
+     *
+     * @return The key
+     */
+    String getKey() {
+        return (type == Type.NOTE ? "n" : "p") + id;
+    }
+
+}
@@ -0,0 +1,365 @@
+package net.notejam.spring.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The inverted index of the notes of one user.
+ *
+ * The index maps each term to the notes which contain it, with the term
+ * frequency. Words of the note name count {@link #NAME_WEIGHT} times. Notes
+ * are ranked with Okapi BM25.
+ *
+ * The index is not thread-safe. The {@link SearchIndex} synchronizes on it.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+final class UserIndex {
+
+    /**
+     * The version of the serialized index.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The weight of a word of the note name.
+     */
+    static final int NAME_WEIGHT = 3;
+
+    /**
+     * The BM25 term frequency saturation.
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * The BM25 length normalization.
+     */
+    private static final double B = 0.75;
+
+    /**
+     * The value of a missing pad in the serialized index.
+     */
+    private static final int NO_PAD = -1;
+
+    /**
+     * An indexed note.
+     */
+    private static final class Document {
+
+        /**
+         * The pad id, or null.
+         */
+        private final Integer padId;
+
+        /**
+         * The weighted number of words.
+         */
+        private final int length;
+
+        /**
+         * The term frequencies.
+         */
+        private final Map<String, Integer> frequencies;
+
+        /**
+         * Builds a document.
+         *
+         * @param padId
+         *            The pad id, or null
+         * @param length
+         *            The weighted number of words
+         * @param frequencies
+         *            The term frequencies
+         */
+        private Document(final Integer padId, final int length, final Map<String, Integer> frequencies) {
+            this.padId = padId;
+            this.length = length;
+            this.frequencies = frequencies;
+        }
+
+    }
+
+    /**
+     * The term frequencies by note id by term.
+     */
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+
+    /**
+     * The documents by note id.
+     */
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    /**
+     * The sum of all document lengths.
+     */
+    private long totalLength;
+
+    /**
+     * Whether the index changed since it was written.
+     */
+    private boolean dirty;
+
+    /**
+     * Whether the index was loaded.
+     */
+    private boolean loaded;
+
+    /**
+     * Whether the index was evicted and must not be used any more.
+     */
+    private boolean closed;
+
+    /**
+     * The time of the last access in milliseconds.
+     */
+    private long lastAccess = System.currentTimeMillis();
+
+    /**
+     * Adds or replaces a note.
+     *
+     * @param noteId
+     *            The note id
+     * @param padId
+     *            The pad id, or null
+     * @param name
+     *            The note name
+     * @param text
+     *            The note text
+     */
+    void put(final int noteId, final Integer padId, final String name, final String text) {
+        List<Analyzer.Word> nameWords = Analyzer.words(name);
+        List<Analyzer.Word> textWords = Analyzer.words(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        Analyzer.count(nameWords, NAME_WEIGHT, frequencies);
+        Analyzer.count(textWords, 1, frequencies);
+
+        add(noteId, new Document(padId, nameWords.size() * NAME_WEIGHT + textWords.size(), frequencies));
+        dirty = true;
+    }
+
+    /**
+     * Removes a note.
+     *
+     * @param noteId
+     *            The note id
+     */
+    void remove(final int noteId) {
+        Document document = documents.remove(noteId);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String term : document.frequencies.keySet()) {
+            Map<Integer, Integer> notes = postings.get(term);
+            notes.remove(noteId);
+            if (notes.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Removes all notes of a pad.
+     *
+     * @param padId
+     *            The pad id
+     */
+    void removePad(final int padId) {
+        Integer[] noteIds = documents.entrySet().stream()
+                .filter(entry -> Integer.valueOf(padId).equals(entry.getValue().padId)).map(Entry::getKey)
+                .toArray(Integer[]::new);
+        for (Integer noteId : noteIds) {
+            remove(noteId);
+        }
+    }
+
+    /**
+     * Scores the notes which match a query.
+     *
+     * The query is scored once per {@link Language}. A note gets the best of
+     * its language scores.
+     *
+     * @param query
+     *            The words of the query
+     * @return The scores by note id of all matching notes
+     */
+    Map<Integer, Double> search(final List<Analyzer.Word> query) {
+        Map<Integer, Double> scores = new HashMap<>();
+        if (documents.isEmpty()) {
+            return scores;
+        }
+        double averageLength = Math.max(1, (double) totalLength / documents.size());
+        for (Language language : Language.values()) {
+            Map<Integer, Double> languageScores = new HashMap<>();
+            for (String term : Analyzer.terms(query, language)) {
+                Map<Integer, Integer> notes = postings.get(term);
+                if (notes == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents.size() - notes.size() + 0.5) / (notes.size() + 0.5));
+                for (Entry<Integer, Integer> posting : notes.entrySet()) {
+                    double frequency = posting.getValue();
+                    double length = documents.get(posting.getKey()).length;
+                    double score = idf * frequency * (K1 + 1)
+                            / (frequency + K1 * (1 - B + B * length / averageLength));
+                    languageScores.merge(posting.getKey(), score, Double::sum);
+                }
+            }
+            languageScores.forEach((noteId, score) -> scores.merge(noteId, score, Math::max));
+        }
+        return scores;
+    }
+
+    /**
+     * Returns the number of indexed notes.
+     *
+     * @return The number of notes
+     */
+    int size() {
+        return documents.size();
+    }
+
+    /**
+     * Writes the index.
+     *
+     * @param output
+     *            The output
+     * @throws IOException
+     *             If writing failed
+     */
+    void write(final DataOutput output) throws IOException {
+        output.writeInt(VERSION);
+        output.writeInt(documents.size());
+        for (Entry<Integer, Document> entry : documents.entrySet()) {
+            Document document = entry.getValue();
+            output.writeInt(entry.getKey());
+            output.writeInt(document.padId == null ? NO_PAD : document.padId);
+            output.writeInt(document.length);
+            output.writeInt(document.frequencies.size());
+            for (Entry<String, Integer> frequency : document.frequencies.entrySet()) {
+                output.writeUTF(frequency.getKey());
+                output.writeInt(frequency.getValue());
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * Reads the index, which replaces all indexed notes.
+     *
+     * @param input
+     *            The input
+     * @throws IOException
+     *             If reading failed or the version is unsupported
+     */
+    void read(final DataInput input) throws IOException {
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException(String.format("The index version %d is not supported.", version));
+        }
+        clear();
+        for (int documentCount = input.readInt(); documentCount > 0; documentCount--) {
+            int noteId = input.readInt();
+            int padId = input.readInt();
+            int length = input.readInt();
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (int termCount = input.readInt(); termCount > 0; termCount--) {
+                frequencies.put(input.readUTF(), input.readInt());
+            }
+            add(noteId, new Document(padId == NO_PAD ? null : padId, length, frequencies));
+        }
+        dirty = false;
+    }
+
+    /**
+     * Removes all notes.
+     */
+    void clear() {
+        postings.clear();
+        documents.clear();
+        totalLength = 0;
+        dirty = true;
+    }
+
+    /**
+     * Adds a document, which replaces an indexed note.
+     *
+     * @param noteId
+     *            The note id
+     * @param document
+     *            The document
+     */
+    private void add(final int noteId, final Document document) {
+        remove(noteId);
+        documents.put(noteId, document);
+        totalLength += document.length;
+        for (Entry<String, Integer> frequency : document.frequencies.entrySet()) {
+            postings.computeIfAbsent(frequency.getKey(), term -> new HashMap<>()).put(noteId, frequency.getValue());
+        }
+    }
+
+    /**
+     * Returns whether the index changed since it was written.
+     *
+     * @return True if the index has to be written
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Returns whether the index was loaded.
+     *
+     * @return True if the index was loaded
+     */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Marks the index as loaded.
+     */
+    void setLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Returns whether the index was evicted.
+     *
+     * @return True if the index must not be used any more
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Marks the index as evicted.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Records an access.
+     */
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the time of the last access.
+     *
+     * @return The time in milliseconds
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+}
@@ -0,0 +1,446 @@
+package net.notejam.spring.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The note and pad names of a user for prefix autocompletion.
+ *
+ * The names are folded like the words of the {@link Analyzer} and kept in
+ * sorted arrays. A prefix query binary searches the first key which starts
+ * with the folded prefix and scans from there. Names which start with the
+ * prefix come before names which contain a word starting with it.
+ *
+ * The arrays are immutable. An update copies them with its changes merged in
+ * and publishes the copy, so that queries don't block the writers and need
+ * no synchronization. The updates of a {@link #batch(Runnable)} are merged in
+ * with a single copy. Loading, updating and evicting is guarded by
+ * synchronizing on the instance.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class UserNames {
+
+    /**
+     * Separates the folded name from the entity in a key.
+     */
+    private static final char SEPARATOR = '\0';
+
+    /**
+     * The suggestions by their folded name.
+     */
+    private volatile SortedKeys names = SortedKeys.EMPTY;
+
+    /**
+     * The suggestions by the folded rest of their name after each word start.
+     */
+    private volatile SortedKeys words = SortedKeys.EMPTY;
+
+    /**
+     * The suggestions by their entity key.
+     */
+    private final Map<String, Suggestion> entities = new ConcurrentHashMap<>();
+
+    /**
+     * The changes of the running batch, or null.
+     */
+    private Changes changes;
+
+    /**
+     * Whether the names were loaded.
+     */
+    private boolean loaded;
+
+    /**
+     * Whether the names were evicted.
+     */
+    private boolean closed;
+
+    /**
+     * The time of the last access.
+     */
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    /**
+     * Adds or renames a note.
+     *
+     * @param noteId
+     *            The note id
+     * @param padId
+     *            The pad id, or null
+     * @param name
+     *            The name
+     */
+    public void putNote(final int noteId, final Integer padId, final String name) {
+        put(new Suggestion(Suggestion.Type.NOTE, noteId, name, padId));
+    }
+
+    /**
+     * Adds or renames a pad.
+     *
+     * @param padId
+     *            The pad id
+     * @param name
+     *            The name
+     */
+    public void putPad(final int padId, final String name) {
+        put(new Suggestion(Suggestion.Type.PAD, padId, name, null));
+    }
+
+    /**
+     * Removes a note.
+     *
+     * @param noteId
+     *            The note id
+     */
+    public void removeNote(final int noteId) {
+        remove(new Suggestion(Suggestion.Type.NOTE, noteId, null, null).getKey());
+    }
+
+    /**
+     * Removes a pad.
+     *
+     * @param padId
+     *            The pad id
+     */
+    public void removePad(final int padId) {
+        remove(new Suggestion(Suggestion.Type.PAD, padId, null, null).getKey());
+    }
+
+    /**
+     * Removes the notes of a pad.
+     *
+     * @param padId
+     *            The pad id
+     */
+    public void removeNotesOfPad(final int padId) {
+        List<String> keys = new ArrayList<>();
+        for (Suggestion suggestion : entities.values()) {
+            if (suggestion.getType() == Suggestion.Type.NOTE && Integer.valueOf(padId).equals(suggestion.getPadId())) {
+                keys.add(suggestion.getKey());
+            }
+        }
+        batch(() -> keys.forEach(this::remove));
+    }
+
+    /**
+     * Runs updates and publishes them at once.
+     *
+     * Queries don't see the updates before the batch ends. Nested batches
+     * join the outer batch.
+     *
+     * @param updates
+     *            The updates
+     */
+    public void batch(final Runnable updates) {
+        if (changes != null) {
+            updates.run();
+            return;
+        }
+        changes = new Changes();
+        try {
+            updates.run();
+
+        } finally {
+            names = names.update(changes.removed, changes.names);
+            words = words.update(changes.removed, changes.words);
+            changes = null;
+        }
+    }
+
+    /**
+     * Returns the notes and pads whose name or one of its words starts with a
+     * prefix.
+     *
+     * @param prefix
+     *            The prefix
+     * @param limit
+     *            The maximum number of suggestions
+     * @return The suggestions, whole name matches first, each in the order of
+     *         the names
+     */
+    public List<Suggestion> complete(final String prefix, final int limit) {
+        String folded = Analyzer.fold(prefix.trim());
+        if (folded.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Suggestion> suggestions = new LinkedHashMap<>();
+        names.collect(folded, limit, suggestions);
+        words.collect(folded, limit, suggestions);
+        return new ArrayList<>(suggestions.values());
+    }
+
+    /**
+     * Returns the number of notes and pads.
+     *
+     * @return The number of names
+     */
+    public int size() {
+        return entities.size();
+    }
+
+    /**
+     * Adds a suggestion and removes its previous name.
+     *
+     * @param suggestion
+     *            The suggestion
+     */
+    private void put(final Suggestion suggestion) {
+        batch(() -> {
+            Suggestion previous = entities.put(suggestion.getKey(), suggestion);
+            if (previous != null) {
+                changes.remove(previous);
+            }
+            changes.add(suggestion);
+        });
+    }
+
+    /**
+     * Removes an entity.
+     *
+     * @param entityKey
+     *            The entity key
+     */
+    private void remove(final String entityKey) {
+        batch(() -> {
+            Suggestion previous = entities.remove(entityKey);
+            if (previous != null) {
+                changes.remove(previous);
+            }
+        });
+    }
+
+    /**
+     * Returns the keys of a suggestion.
+     *
+     * @param suggestion
+     *            The suggestion
+     * @return The key of the whole name followed by the keys of the later
+     *         word starts
+     */
+    private static List<String> keys(final Suggestion suggestion) {
+        String name = suggestion.getName();
+        String suffix = SEPARATOR + suggestion.getKey();
+        List<String> keys = new ArrayList<>();
+        keys.add(Analyzer.fold(name) + suffix);
+        for (Analyzer.Word word : Analyzer.words(name)) {
+            if (word.getStart() > 0) {
+                keys.add(Analyzer.fold(name.substring(word.getStart())) + suffix);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns whether the names were loaded.
+     *
+     * @return True if the names were loaded
+     */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Marks the names as loaded.
+     */
+    void setLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Returns whether the names were evicted.
+     *
+     * @return True if the names must not be used any more
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Marks the names as evicted.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Records an access.
+     */
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the time of the last access.
+     *
+     * @return The time in milliseconds
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * The changes of a batch.
+     */
+    private static final class Changes {
+
+        /**
+         * The removed keys.
+         */
+        private final Set<String> removed = new HashSet<>();
+
+        /**
+         * The added name keys.
+         */
+        private final SortedMap<String, Suggestion> names = new TreeMap<>();
+
+        /**
+         * The added word keys.
+         */
+        private final SortedMap<String, Suggestion> words = new TreeMap<>();
+
+        /**
+         * Adds the keys of a suggestion.
+         *
+         * @param suggestion
+         *            The suggestion
+         */
+        void add(final Suggestion suggestion) {
+            List<String> keys = keys(suggestion);
+            names.put(keys.get(0), suggestion);
+            for (String key : keys.subList(1, keys.size())) {
+                words.put(key, suggestion);
+            }
+        }
+
+        /**
+         * Removes the keys of a suggestion.
+         *
+         * @param suggestion
+         *            The suggestion
+         */
+        void remove(final Suggestion suggestion) {
+            for (String key : keys(suggestion)) {
+                removed.add(key);
+                names.remove(key);
+                words.remove(key);
+            }
+        }
+
+    }
+
+    /**
+     * An immutable sorted array of keys and their suggestions.
+     */
+    private static final class SortedKeys {
+
+        /**
+         * No keys.
+         */
+        static final SortedKeys EMPTY = new SortedKeys(new String[0], new Suggestion[0]);
+
+        /**
+         * The sorted keys.
+         */
+        private final String[] keys;
+
+        /**
+         * The suggestions of the keys at the same index.
+         */
+        private final Suggestion[] suggestions;
+
+        /**
+         * Builds the keys.
+         *
+         * @param keys
+         *            The sorted keys
+         * @param suggestions
+         *            The suggestions of the keys at the same index
+         */
+        SortedKeys(final String[] keys, final Suggestion[] suggestions) {
+            this.keys = keys;
+            this.suggestions = suggestions;
+        }
+
+        /**
+         * Collects the suggestions of the keys with a prefix.
+         *
+         * @param prefix
+         *            The folded prefix
+         * @param limit
+         *            The maximum number of suggestions
+         * @param collected
+         *            The collected suggestions by their entity key
+         */
+        void collect(final String prefix, final int limit, final Map<String, Suggestion> collected) {
+            int index = Arrays.binarySearch(keys, prefix);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            for (; index < keys.length && keys[index].startsWith(prefix); index++) {
+                if (collected.size() >= limit) {
+                    return;
+                }
+                collected.putIfAbsent(suggestions[index].getKey(), suggestions[index]);
+            }
+        }
+
+        /**
+         * Returns a copy with keys removed and added.
+         *
+         * @param removed
+         *            The removed keys
+         * @param added
+         *            The added keys
+         * @return The updated copy, or this if nothing changed
+         */
+        SortedKeys update(final Set<String> removed, final SortedMap<String, Suggestion> added) {
+            int[] skipped = removed.stream().mapToInt(key -> Arrays.binarySearch(keys, key)).filter(i -> i >= 0)
+                    .sorted().toArray();
+            if (skipped.length == 0 && added.isEmpty()) {
+                return this;
+            }
+
+            int size = keys.length - skipped.length + added.size();
+            String[] updatedKeys = new String[size];
+            Suggestion[] updatedSuggestions = new Suggestion[size];
+            Iterator<Map.Entry<String, Suggestion>> additions = added.entrySet().iterator();
+            Map.Entry<String, Suggestion> addition = additions.hasNext() ? additions.next() : null;
+            int next = 0;
+            int skip = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (skip < skipped.length && skipped[skip] == i) {
+                    skip++;
+                    continue;
+                }
+                while (addition != null && addition.getKey().compareTo(keys[i]) < 0) {
+                    updatedKeys[next] = addition.getKey();
+                    updatedSuggestions[next++] = addition.getValue();
+                    addition = additions.hasNext() ? additions.next() : null;
+                }
+                updatedKeys[next] = keys[i];
+                updatedSuggestions[next++] = suggestions[i];
+            }
+            while (addition != null) {
+                updatedKeys[next] = addition.getKey();
+                updatedSuggestions[next++] = addition.getValue();
+                addition = additions.hasNext() ? additions.next() : null;
+            }
+            return new SortedKeys(updatedKeys, updatedSuggestions);
+        }
+
+    }
+
+}
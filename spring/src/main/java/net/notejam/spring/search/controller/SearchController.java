@@ -0,0 +1,76 @@
+package net.notejam.spring.search.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.pad.controller.PadsAdvice.Pads;
+import net.notejam.spring.search.SearchHit;
+import net.notejam.spring.search.SearchService;
+import net.notejam.spring.search.Suggestion;
+
+/**
+ * A controller to search notes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Controller
+@PreAuthorize("isAuthenticated()")
+@Pads
+public class SearchController {
+
+    /**
+     * The search service.
+     */
+    private final SearchService searchService;
+
+    /**
+     * Builds the controller with its dependencies.
+     *
+     * @param searchService
+     *            search service
+     */
+    @Autowired
+    SearchController(final SearchService searchService) {
+	this.searchService = searchService;
+    }
+
+    /**
+     * Shows the notes which match a query.
+     *
+     * @param query
+     *            The query
+     * @param model
+     *            The view model
+     * @return The view.
+     */
+    @RequestMapping(URITemplates.SEARCH)
+    public String search(@RequestParam(value = "q", defaultValue = "") final String query, final Model model) {
+	List<SearchHit> hits = searchService.search(query);
+	model.addAttribute("query", query);
+	model.addAttribute("hits", hits);
+	return "search";
+    }
+
+    /**
+     * Suggests notes and pads whose name starts with a prefix.
+     *
+     * @param prefix
+     *            The prefix
+     * @return The suggestions as JSON
+     */
+    @RequestMapping(value = URITemplates.AUTOCOMPLETE, produces = "application/json")
+    @ResponseBody
+    public List<Suggestion> autocomplete(@RequestParam(value = "q", defaultValue = "") final String prefix) {
+	return searchService.autocomplete(prefix);
+    }
+
+}
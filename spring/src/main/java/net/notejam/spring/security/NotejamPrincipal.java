@@ -0,0 +1,49 @@
+package net.notejam.spring.security;
+
+import java.util.Collections;
+
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * The authenticated principal.
+ *
+ * Additionally to the credentials the principal carries the id of the user
+ * entity. Ownership checks can compare that id without loading the user.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class NotejamPrincipal extends User {
+
+    private static final long serialVersionUID = -3057474725806233367L;
+
+    /**
+     * The user id.
+     */
+    private final int id;
+
+    /**
+     * Builds the principal.
+     *
+     * @param id
+     *            user id
+     * @param email
+     *            email address
+     * @param password
+     *            password hash
+     */
+    public NotejamPrincipal(final int id, final String email, final String password) {
+        super(email, password, Collections.emptyList());
+        this.id = id;
+    }
+
+    /**
+     * Returns the user id.
+     *
+     * @return user id
+     */
+    public int getId() {
+        return id;
+    }
+
+}
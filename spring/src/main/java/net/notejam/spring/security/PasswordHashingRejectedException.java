@@ -0,0 +1,31 @@
+package net.notejam.spring.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The password hashing workers are saturated.
+ *
+ * A sign in fails like with a system problem. Other requests are answered
+ * with 503 Service Unavailable.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    private static final long serialVersionUID = -3906460468120416236L;
+
+    /**
+     * Builds the exception.
+     *
+     * @param message
+     *            The message
+     */
+    public PasswordHashingRejectedException(final String message) {
+        super(message);
+    }
+
+}
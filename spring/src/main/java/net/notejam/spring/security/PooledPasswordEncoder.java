@@ -0,0 +1,267 @@
+package net.notejam.spring.security;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import net.notejam.spring.helper.metrics.LatencyHistogram;
+
+/**
+ * A BCrypt password encoder which hashes on a bounded pool of workers.
+ *
+ * The calling thread waits for its hash, but at most
+ * {@code password.workers} hashes are computed at the same time, so that a
+ * burst of sign ins can't occupy all processors. At most
+ * {@code password.queueCapacity} hashes wait for a worker. Further hashes
+ * are rejected immediately with a {@link PasswordHashingRejectedException}.
+ *
+ * New hashes use the cost {@code password.cost}. A hash with a different
+ * cost should be hashed again, see {@link #upgradeEncoding(String)}.
+ *
+ * The histograms of the hash time and the queue wait are exported as JMX
+ * attributes in microseconds.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+@ManagedResource
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    /**
+     * The cost in a BCrypt hash, e.g. 10 in "$2a$10$...".
+     */
+    private static final Pattern COST = Pattern.compile("\\A\\$2a?\\$(\\d\\d)\\$");
+
+    /**
+     * The encoder which computes the hashes.
+     */
+    private final BCryptPasswordEncoder encoder;
+
+    /**
+     * The cost of new hashes.
+     */
+    private final int cost;
+
+    /**
+     * The workers.
+     */
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * The time of computing hashes.
+     */
+    private final LatencyHistogram hashTime = new LatencyHistogram();
+
+    /**
+     * The time of waiting for a worker.
+     */
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    /**
+     * The number of rejected hashes.
+     */
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Builds the encoder.
+     *
+     * @param cost
+     *            cost of new hashes
+     * @param workers
+     *            number of workers, or 0 for one worker per processor
+     * @param queueCapacity
+     *            number of hashes which may wait for a worker
+     */
+    @Autowired
+    PooledPasswordEncoder(@Value("${password.cost}") final int cost, @Value("${password.workers}") final int workers,
+            @Value("${password.queueCapacity}") final int queueCapacity) {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.encoder = new BCryptPasswordEncoder(cost);
+        this.cost = cost;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-"));
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return hash(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return hash(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Returns whether a hash has a different cost than new hashes.
+     *
+     * A lowered cost is applied as well, e.g. after it was raised too high
+     * for the hardware.
+     *
+     * @param encodedPassword
+     *            The hash
+     * @return True if the password should be hashed again
+     */
+    public boolean upgradeEncoding(final String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != cost;
+    }
+
+    /**
+     * Computes a hash with a worker and waits for it.
+     *
+     * @param <T>
+     *            The type of the result
+     * @param computation
+     *            The computation
+     * @return The result
+     * @throws PasswordHashingRejectedException
+     *             If the queue is full
+     */
+    private <T> T hash(final Callable<T> computation) {
+        long queued = System.nanoTime();
+        Future<T> result;
+        try {
+            result = workers.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - queued);
+                try {
+                    return computation.call();
+                } finally {
+                    hashTime.record(System.nanoTime() - started);
+                }
+            });
+
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new PasswordHashingRejectedException("Too many passwords are being hashed");
+        }
+
+        try {
+            return result.get();
+
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the workers.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Returns the number of hashes which wait for a worker.
+     *
+     * @return The queue size
+     */
+    @ManagedAttribute
+    public int getQueueSize() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * Returns the number of rejected hashes.
+     *
+     * @return The rejected hashes
+     */
+    @ManagedAttribute
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the histogram of the hash time.
+     *
+     * @return The counts by the upper bound in microseconds
+     */
+    @ManagedAttribute
+    public Map<String, Long> getHashTimeHistogram() {
+        return hashTime.getBuckets();
+    }
+
+    /**
+     * Returns the median hash time.
+     *
+     * @return The upper bound in microseconds
+     */
+    @ManagedAttribute
+    public long getHashTimeP50() {
+        return hashTime.getPercentile(0.5);
+    }
+
+    /**
+     * Returns the 99th percentile of the hash time.
+     *
+     * @return The upper bound in microseconds
+     */
+    @ManagedAttribute
+    public long getHashTimeP99() {
+        return hashTime.getPercentile(0.99);
+    }
+
+    /**
+     * Returns the histogram of the queue wait.
+     *
+     * @return The counts by the upper bound in microseconds
+     */
+    @ManagedAttribute
+    public Map<String, Long> getQueueWaitHistogram() {
+        return queueWait.getBuckets();
+    }
+
+    /**
+     * Returns the median queue wait.
+     *
+     * @return The upper bound in microseconds
+     */
+    @ManagedAttribute
+    public long getQueueWaitP50() {
+        return queueWait.getPercentile(0.5);
+    }
+
+    /**
+     * Returns the 99th percentile of the queue wait.
+     *
+     * @return The upper bound in microseconds
+     */
+    @ManagedAttribute
+    public long getQueueWaitP99() {
+        return queueWait.getPercentile(0.99);
+    }
+
+}
@@ -0,0 +1,77 @@
+package net.notejam.spring.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import net.notejam.spring.user.UserService;
+
+/**
+ * Authenticates with the stored password hash and upgrades its cost.
+ *
+ * After a successful sign in a hash with a different cost than
+ * {@code password.cost} is replaced by a new hash of the signed in password.
+ * If the hashing workers are saturated, the upgrade is left to a later sign
+ * in.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RehashingAuthenticationProvider.class);
+
+    /**
+     * The password encoder.
+     */
+    private final PooledPasswordEncoder encoder;
+
+    /**
+     * The user service.
+     */
+    private final UserService userService;
+
+    /**
+     * Builds the provider with its dependencies.
+     *
+     * @param userDetailsService
+     *            user details service
+     * @param encoder
+     *            password encoder
+     * @param userService
+     *            user service
+     */
+    @Autowired
+    RehashingAuthenticationProvider(final UserDetailsService userDetailsService,
+            final PooledPasswordEncoder encoder, final UserService userService) {
+        this.encoder = encoder;
+        this.userService = userService;
+        setUserDetailsService(userDetailsService);
+        setPasswordEncoder(encoder);
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(final Object principal, final Authentication authentication,
+            final UserDetails user) {
+        if (encoder.upgradeEncoding(user.getPassword())) {
+            try {
+                userService.getUser(user.getUsername()).ifPresent(
+                        entity -> userService.changePassword(entity, authentication.getCredentials().toString()));
+
+            } catch (PasswordHashingRejectedException e) {
+                LOGGER.info("Postpone upgrading the password hash of {}", user.getUsername());
+            }
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+
+}
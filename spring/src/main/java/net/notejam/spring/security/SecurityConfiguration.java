@@ -6,14 +6,13 @@ import java.util.Random;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 import net.notejam.spring.URITemplates;
@@ -30,10 +29,24 @@ import net.notejam.spring.URITemplates;
 public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     /**
-     * The user details service.
+     * The authentication provider.
      */
     @Autowired
-    private UserDetailsService userDetailsService;
+    private RehashingAuthenticationProvider authenticationProvider;
+
+    /**
+     * Excludes the static assets from security.
+     *
+     * Assets neither need authentication nor a session. Without the security
+     * filters they also keep their cache headers.
+     *
+     * @param web
+     *            The web security
+     */
+    @Override
+    public void configure(final WebSecurity web) throws Exception {
+        web.ignoring().antMatchers(URITemplates.CSS, URITemplates.JS);
+    }
 
     @Override
     protected void configure(final HttpSecurity http) throws Exception {
@@ -42,23 +55,38 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     }
 
     /**
-     * Sets the password encoder.
+     * Configures the security of the JSON API.
      *
-     * @param auth The authentication manager builder.
+     * API clients authenticate with HTTP Basic and may keep the session
+     * cookie for further requests. CSRF tokens are not used, as the API only
+     * changes data with JSON or DELETE requests, which browsers don't send to
+     * other sites without their consent.
+     *
+     * @author markus@malkusch.de
+     * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
      */
-    @Autowired
-    public void configureGlobal(final AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder());
+    @Configuration
+    @Order(1)
+    public static class ApiSecurityConfiguration extends WebSecurityConfigurerAdapter {
+
+        @Override
+        protected void configure(final HttpSecurity http) throws Exception {
+            http.antMatcher(URITemplates.API + "/**").httpBasic();
+            http.csrf().disable();
+        }
+
     }
 
     /**
-     * Provides the password encoder.
+     * Sets the authentication provider.
+     *
+     * The provider checks the passwords with the {@link PooledPasswordEncoder}.
      *
-     * @return The password encoder.
+     * @param auth The authentication manager builder.
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Autowired
+    public void configureGlobal(final AuthenticationManagerBuilder auth) throws Exception {
+        auth.authenticationProvider(authenticationProvider);
     }
 
     /**
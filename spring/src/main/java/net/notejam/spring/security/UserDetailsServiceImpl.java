@@ -1,14 +1,12 @@
 package net.notejam.spring.security;
 
-import java.util.ArrayList;
-
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import net.notejam.spring.user.User;
 import net.notejam.spring.user.UserRepository;
 
 /**
@@ -38,10 +36,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(final String username) {
-	String password = repository.findOneByEmail(username)
-		.orElseThrow(() -> new UsernameNotFoundException(String.format("%s not found", username)))
-		.getPassword();
-	return new User(username, password, new ArrayList<>());
+	User user = repository.findOneByEmail(username)
+		.orElseThrow(() -> new UsernameNotFoundException(String.format("%s not found", username)));
+	return new NotejamPrincipal(user.getId(), username, user.getPassword());
     }
 
 }
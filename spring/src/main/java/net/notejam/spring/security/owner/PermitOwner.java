@@ -8,6 +8,10 @@ import java.lang.annotation.Target;
 /**
  * Grant access only to the authenticated owner of this object.
  *
+ * By default {@link PermitOwnerAspect} checks the owner of the annotated
+ * arguments and return values. A method which already restricts its query to
+ * the authenticated owner can declare the mode {@link Mode#QUERY}.
+ *
  * @author markus@malkusch.de
  *
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
@@ -17,4 +21,31 @@ import java.lang.annotation.Target;
 @Target({ ElementType.PARAMETER, ElementType.METHOD })
 public @interface PermitOwner {
 
+    /**
+     * Where the ownership is checked.
+     */
+    enum Mode {
+
+        /**
+         * The aspect checks the owner of the loaded entity.
+         */
+        CHECK,
+
+        /**
+         * The query loads only entities of the authenticated owner.
+         *
+         * A foreign entity is not found, so the aspect doesn't check it again.
+         * This mode applies only to return values.
+         */
+        QUERY
+
+    }
+
+    /**
+     * Returns where the ownership is checked.
+     *
+     * @return The mode
+     */
+    Mode value() default Mode.CHECK;
+
 }
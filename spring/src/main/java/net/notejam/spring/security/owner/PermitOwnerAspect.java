@@ -1,5 +1,6 @@
 package net.notejam.spring.security.owner;
 
+import java.lang.reflect.Method;
 import java.util.Optional;
 
 import org.aspectj.lang.JoinPoint;
@@ -7,12 +8,15 @@ import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
-import net.notejam.spring.helper.reflection.Annotated;
-import net.notejam.spring.helper.reflection.ReflectionUtils;
+import net.notejam.spring.helper.reflection.ParameterIndex;
+import net.notejam.spring.security.NotejamPrincipal;
 import net.notejam.spring.user.User;
 import net.notejam.spring.user.UserService;
 
@@ -29,6 +33,12 @@ import net.notejam.spring.user.UserService;
 @Configurable
 public class PermitOwnerAspect {
 
+    /**
+     * The positions of the {@link PermitOwner} parameters.
+     */
+    private static final ParameterIndex<PermitOwner> PERMIT_OWNER_PARAMETERS = new ParameterIndex<>(
+            PermitOwner.class);
+
     /**
      * The user service.
      */
@@ -61,13 +71,10 @@ public class PermitOwnerAspect {
      */
     @Before("net.notejam.spring.security.owner.PermitOwnerAspect.restrictOwnedEntities()")
     public void authorizeCall(final JoinPoint joinPoint) {
-        for (Annotated<PermitOwner, Owned> annotated : ReflectionUtils
-                .<PermitOwner, Owned> getAnnotatedArguments(PermitOwner.class, joinPoint)) {
-            if (annotated.getObject() == null) {
-                continue;
-
-            }
-            authorize(annotated.getObject());
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object[] arguments = joinPoint.getArgs();
+        for (int position : PERMIT_OWNER_PARAMETERS.getPositions(method)) {
+            authorize((Owned) arguments[position]);
 
         }
     }
@@ -81,12 +88,29 @@ public class PermitOwnerAspect {
     }
 
     /**
-     * Checks return owned return values.
+     * Checks owned return values unless the query already restricted them to
+     * the owner.
+     *
+     * @param permitOwner
+     *            The annotation of the method.
+     * @param entity
+     *            The owned entity.
+     */
+    @AfterReturning(pointcut = "net.notejam.spring.security.owner.PermitOwnerAspect.restrictOwnedResults() && @annotation(permitOwner)", returning = "entity", argNames = "permitOwner,entity")
+    public void authorizeResult(final PermitOwner permitOwner, final Object entity) {
+        if (permitOwner.value() == PermitOwner.Mode.QUERY) {
+            return;
+
+        }
+        authorizeReturn(entity);
+    }
+
+    /**
+     * Checks owned return values.
      *
      * @param entity
      *            The owned entity.
      */
-    @AfterReturning(pointcut = "net.notejam.spring.security.owner.PermitOwnerAspect.restrictOwnedResults()", returning = "entity")
     public void authorizeReturn(final Object entity) {
         if (entity instanceof Owned) {
             authorize((Owned) entity);
@@ -99,7 +123,9 @@ public class PermitOwnerAspect {
     /**
      * Checks authorization of an owned entity.
      *
-     * If the entity is null authorization is granted.
+     * If the entity is null authorization is granted. If the principal is a
+     * {@link NotejamPrincipal} its user id is compared without loading the
+     * authenticated user.
      *
      * @param owned
      *            The owned entity or null.
@@ -109,6 +135,18 @@ public class PermitOwnerAspect {
             return;
         }
 
+        Optional<NotejamPrincipal> principal = getPrincipal();
+        if (principal.isPresent()) {
+            int userId = principal.get().getId();
+            if (owned.getUser() != null && Integer.valueOf(userId).equals(owned.getUser().getId())) {
+                return;
+
+            } else {
+                throw new AccessDeniedException(String.format("User %s is not allowed to access object of user %s.",
+                        userId, owned.getUser() == null ? null : owned.getUser().getId()));
+            }
+        }
+
         User user = userService.getAuthenticatedUser();
         if (user == null) {
             throw new AccessDeniedException(String.format("%s needs an authenticated user.", owned));
@@ -123,4 +161,17 @@ public class PermitOwnerAspect {
         }
     }
 
+    /**
+     * Returns the authenticated principal if it carries the user id.
+     *
+     * @return The principal
+     */
+    private static Optional<NotejamPrincipal> getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof NotejamPrincipal) {
+            return Optional.of((NotejamPrincipal) authentication.getPrincipal());
+        }
+        return Optional.empty();
+    }
+
 }
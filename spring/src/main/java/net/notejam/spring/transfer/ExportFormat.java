@@ -0,0 +1,140 @@
+package net.notejam.spring.transfer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import net.notejam.spring.error.ResourceNotFoundException;
+
+/**
+ * The formats of exported data.
+ *
+ * Both formats contain the newline delimited JSON which the
+ * {@link ImportFormat#NDJSON} reads.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public enum ExportFormat {
+
+    /**
+     * Newline delimited JSON.
+     */
+    NDJSON("application/x-ndjson", "notejam.ndjson") {
+
+        @Override
+        void write(final OutputStream out, final Writer writer) throws IOException {
+            writer.write(out);
+        }
+
+    },
+
+    /**
+     * A zip archive with one newline delimited JSON entry.
+     */
+    ZIP("application/zip", "notejam.zip") {
+
+        @Override
+        void write(final OutputStream out, final Writer writer) throws IOException {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            zip.putNextEntry(new ZipEntry(NDJSON.getFilename()));
+            writer.write(zip);
+            zip.closeEntry();
+            zip.finish();
+        }
+
+    };
+
+    /**
+     * Writes the newline delimited JSON.
+     */
+    @FunctionalInterface
+    interface Writer {
+
+        /**
+         * Writes the newline delimited JSON.
+         *
+         * @param out
+         *            The output, which must not be closed
+         * @throws IOException
+         *             If writing failed
+         */
+        void write(OutputStream out) throws IOException;
+
+    }
+
+    /**
+     * The content type.
+     */
+    private final String contentType;
+
+    /**
+     * The file name.
+     */
+    private final String filename;
+
+    /**
+     * Builds a format.
+     *
+     * @param contentType
+     *            The content type
+     * @param filename
+     *            The file name
+     */
+    ExportFormat(final String contentType, final String filename) {
+        this.contentType = contentType;
+        this.filename = filename;
+    }
+
+    /**
+     * Returns the content type.
+     *
+     * @return The content type
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the file name of a download.
+     *
+     * @return The file name
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Writes the export in this format.
+     *
+     * The output is not closed.
+     *
+     * @param out
+     *            The output
+     * @param writer
+     *            Writes the newline delimited JSON
+     * @throws IOException
+     *             If writing failed
+     */
+    abstract void write(OutputStream out, Writer writer) throws IOException;
+
+    /**
+     * Returns the format of a name.
+     *
+     * @param name
+     *            The format name, e.g. "ndjson" or "zip"
+     * @return The format
+     * @throws ResourceNotFoundException
+     *             If the format is unknown
+     */
+    public static ExportFormat of(final String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new ResourceNotFoundException();
+    }
+
+}
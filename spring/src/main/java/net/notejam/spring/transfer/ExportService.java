@@ -0,0 +1,178 @@
+package net.notejam.spring.transfer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.pad.PadService;
+import net.notejam.spring.user.User;
+
+/**
+ * The export service.
+ *
+ * The service writes a user with all pads and notes as newline delimited JSON,
+ * which can be imported again. The notes are streamed from a read-only
+ * transaction and detached after they were written. Only the user and the
+ * pads stay in the persistence context, so that the memory doesn't grow with
+ * the number of notes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Service
+public class ExportService {
+
+    /**
+     * The JSON factory.
+     */
+    private static final JsonFactory JSON = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    /**
+     * The pad service.
+     */
+    private final PadService padService;
+
+    /**
+     * The note service.
+     */
+    private final NoteService noteService;
+
+    /**
+     * The read-only transaction template.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The entity manager.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Builds the service with its dependencies.
+     *
+     * @param padService
+     *            pad service
+     * @param noteService
+     *            note service
+     * @param transactionManager
+     *            transaction manager
+     */
+    @Autowired
+    ExportService(final PadService padService, final NoteService noteService,
+            final PlatformTransactionManager transactionManager) {
+        this.padService = padService;
+        this.noteService = noteService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Exports a user with all pads and notes.
+     *
+     * @param userId
+     *            The user id
+     * @param format
+     *            The format
+     * @param out
+     *            The output, which is not closed
+     * @throws IOException
+     *             If writing failed
+     */
+    public void export(final int userId, final ExportFormat format, final OutputStream out) throws IOException {
+        try {
+            transactionTemplate.execute(status -> {
+                try {
+                    format.write(out, ndjson -> writeRecords(userId, ndjson));
+                    return null;
+
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes the records of a user.
+     *
+     * @param userId
+     *            The user id
+     * @param out
+     *            The output
+     * @throws IOException
+     *             If writing failed
+     */
+    private void writeRecords(final int userId, final OutputStream out) throws IOException {
+        JsonGenerator generator = JSON.createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        User user = entityManager.find(User.class, userId);
+        generator.writeStartObject();
+        generator.writeStringField(NdjsonImportReader.TYPE, "user");
+        generator.writeNumberField("id", user.getId());
+        generator.writeStringField("email", user.getEmail());
+        endRecord(generator);
+
+        for (Pad pad : padService.getPads(userId)) {
+            generator.writeStartObject();
+            generator.writeStringField(NdjsonImportReader.TYPE, "pad");
+            generator.writeNumberField("id", pad.getId());
+            generator.writeNumberField("user_id", userId);
+            generator.writeStringField("name", pad.getName().toString());
+            endRecord(generator);
+        }
+
+        try (Stream<Note> notes = noteService.streamNotes(userId)) {
+            for (Iterator<Note> iterator = notes.iterator(); iterator.hasNext();) {
+                Note note = iterator.next();
+                generator.writeStartObject();
+                generator.writeStringField(NdjsonImportReader.TYPE, "note");
+                generator.writeNumberField("id", note.getId());
+                generator.writeNumberField("user_id", userId);
+                if (note.getPad() != null) {
+                    generator.writeNumberField("pad_id", note.getPad().getId());
+                }
+                generator.writeStringField("name", note.getName().toString());
+                generator.writeStringField("text", note.getText());
+                generator.writeStringField("updated_at", note.getUpdated().toString());
+                endRecord(generator);
+                entityManager.detach(note);
+            }
+        }
+        generator.flush();
+    }
+
+    /**
+     * Ends a record and its line.
+     *
+     * @param generator
+     *            The JSON generator
+     * @throws IOException
+     *             If writing failed
+     */
+    private static void endRecord(final JsonGenerator generator) throws IOException {
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+}
@@ -0,0 +1,71 @@
+package net.notejam.spring.transfer;
+
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * The formats of imported data.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public enum ImportFormat {
+
+    /**
+     * Newline delimited JSON.
+     */
+    NDJSON {
+
+        @Override
+        public ImportReader open(final Reader reader) {
+            return new NdjsonImportReader(reader);
+        }
+
+    },
+
+    /**
+     * An SQL dump of the Notejam schema.sql.
+     */
+    SQL {
+
+        @Override
+        public ImportReader open(final Reader reader) {
+            return new SqlDumpImportReader(reader);
+        }
+
+    };
+
+    /**
+     * Opens a reader for this format.
+     *
+     * @param reader
+     *            The input
+     * @return The import reader
+     */
+    public abstract ImportReader open(Reader reader);
+
+    /**
+     * Returns the format of a name or a file.
+     *
+     * Without a name, files ending with ".sql" are SQL dumps and all other
+     * files are NDJSON.
+     *
+     * @param name
+     *            The format name, or null
+     * @param filename
+     *            The file name, or null
+     * @return The format
+     * @throws IllegalArgumentException
+     *             If the name is unknown
+     */
+    public static ImportFormat of(final String name, final String filename) {
+        if (name != null && !name.isEmpty()) {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        }
+        if (filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".sql")) {
+            return SQL;
+        }
+        return NDJSON;
+    }
+
+}
@@ -0,0 +1,59 @@
+package net.notejam.spring.transfer;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The progress of the running imports of the users.
+ *
+ * A running import publishes a copy of its report after each batch. The user
+ * can poll it while the upload request is still running.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class ImportProgress {
+
+    /**
+     * The reports of the running imports by user id.
+     */
+    private final ConcurrentMap<Integer, ImportReport> reports = new ConcurrentHashMap<>();
+
+    /**
+     * Publishes the progress of an import.
+     *
+     * @param userId
+     *            The user id
+     * @param report
+     *            The report of the running import
+     */
+    public void update(final int userId, final ImportReport report) {
+        reports.put(userId, report.copy());
+    }
+
+    /**
+     * Removes the progress of a finished import.
+     *
+     * @param userId
+     *            The user id
+     */
+    public void finish(final int userId) {
+        reports.remove(userId);
+    }
+
+    /**
+     * Returns the progress of a user's running import.
+     *
+     * @param userId
+     *            The user id
+     * @return The report, or empty if no import is running
+     */
+    public Optional<ImportReport> get(final int userId) {
+        return Optional.ofNullable(reports.get(userId));
+    }
+
+}
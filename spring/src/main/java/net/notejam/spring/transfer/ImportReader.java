@@ -0,0 +1,28 @@
+package net.notejam.spring.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the records of imported data one by one.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public interface ImportReader extends Closeable {
+
+    /**
+     * Reads the next record.
+     *
+     * After an {@link InvalidRecordException} the reader continues with the
+     * following record.
+     *
+     * @return The record, or null at the end of the data
+     * @throws InvalidRecordException
+     *             If the record is invalid
+     * @throws IOException
+     *             If the data can't be read
+     */
+    ImportRecord next() throws IOException;
+
+}
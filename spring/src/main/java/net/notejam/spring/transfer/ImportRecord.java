@@ -0,0 +1,262 @@
+package net.notejam.spring.transfer;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * A record of the imported data.
+ *
+ * The columns of a record are named like the columns of the Notejam
+ * schema.sql, e.g. user_id or updated_at.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class ImportRecord {
+
+    /**
+     * The type of a record.
+     */
+    public enum Type {
+
+        /**
+         * A user of the table users.
+         */
+        USER("users"),
+
+        /**
+         * A pad of the table pads.
+         */
+        PAD("pads"),
+
+        /**
+         * A note of the table notes.
+         */
+        NOTE("notes");
+
+        /**
+         * The table name.
+         */
+        private final String table;
+
+        /**
+         * Builds a type.
+         *
+         * @param table
+         *            The table name
+         */
+        Type(final String table) {
+            this.table = table;
+        }
+
+        /**
+         * Returns the table name.
+         *
+         * @return The table name
+         */
+        public String getTable() {
+            return table;
+        }
+
+        /**
+         * Returns the type of a type or table name.
+         *
+         * @param name
+         *            The type or table name, e.g. "note" or "notes"
+         * @return The type, or null if the name is unknown
+         */
+        public static Type of(final String name) {
+            if (name == null) {
+                return null;
+            }
+            for (Type type : values()) {
+                if (type.name().equalsIgnoreCase(name) || type.table.equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * The type.
+     */
+    private final Type type;
+
+    /**
+     * The number of the record in the imported data.
+     */
+    private final long number;
+
+    /**
+     * The column values by column name.
+     */
+    private final Map<String, String> columns;
+
+    /**
+     * Builds a record.
+     *
+     * @param type
+     *            The type
+     * @param number
+     *            The number of the record in the imported data
+     * @param columns
+     *            The column values by column name
+     */
+    ImportRecord(final Type type, final long number, final Map<String, String> columns) {
+        this.type = type;
+        this.number = number;
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the type.
+     *
+     * @return The type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of the record in the imported data.
+     *
+     * @return The record number
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * Returns the id in the imported data.
+     *
+     * @return The id
+     * @throws InvalidRecordException
+     *             If the id is missing
+     */
+    public int getId() {
+        Integer id = getInteger("id");
+        if (id == null) {
+            throw new InvalidRecordException(number, "The id is missing.");
+        }
+        return id;
+    }
+
+    /**
+     * Returns the user id in the imported data.
+     *
+     * @return The user id, or null
+     */
+    public Integer getUserId() {
+        return getInteger("user_id");
+    }
+
+    /**
+     * Returns the pad id in the imported data.
+     *
+     * @return The pad id, or null
+     */
+    public Integer getPadId() {
+        return getInteger("pad_id");
+    }
+
+    /**
+     * Returns the email.
+     *
+     * @return The email, or null
+     */
+    public String getEmail() {
+        return columns.get("email");
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return The name, or null
+     */
+    public String getName() {
+        return columns.get("name");
+    }
+
+    /**
+     * Returns the text.
+     *
+     * @return The text, or null
+     */
+    public String getText() {
+        return columns.get("text");
+    }
+
+    /**
+     * Returns the time of the last update.
+     *
+     * The update time falls back to the creation time.
+     *
+     * @return The update time, or null
+     * @throws InvalidRecordException
+     *             If the time can't be parsed
+     */
+    public Instant getUpdated() {
+        String updated = columns.get("updated_at");
+        return parseTime(updated != null ? updated : columns.get("created_at"));
+    }
+
+    /**
+     * Returns a column as integer.
+     *
+     * @param column
+     *            The column name
+     * @return The integer, or null
+     * @throws InvalidRecordException
+     *             If the column is not an integer
+     */
+    private Integer getInteger(final String column) {
+        String value = columns.get(column);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+
+        } catch (NumberFormatException e) {
+            throw new InvalidRecordException(number, String.format("%s is not an integer.", column), e);
+        }
+    }
+
+    /**
+     * Parses a time.
+     *
+     * The time is either an ISO-8601 date time with an offset or a local date
+     * time like "2015-01-31 12:00:00" in UTC.
+     *
+     * @param time
+     *            The time, or null
+     * @return The instant, or null
+     * @throws InvalidRecordException
+     *             If the time can't be parsed
+     */
+    private Instant parseTime(final String time) {
+        if (time == null || time.isEmpty()) {
+            return null;
+        }
+        String iso = time.replace(' ', 'T');
+        try {
+            try {
+                return OffsetDateTime.parse(iso).toInstant();
+
+            } catch (DateTimeParseException e) {
+                return LocalDateTime.parse(iso).toInstant(ZoneOffset.UTC);
+            }
+
+        } catch (DateTimeException e) {
+            throw new InvalidRecordException(number, String.format("%s is not a time.", time), e);
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+package net.notejam.spring.transfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The report of an import.
+ *
+ * The report is updated while the import is running. It keeps the messages
+ * of the first {@value #MAX_ERRORS} rejected records only.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class ImportReport {
+
+    /**
+     * The maximum number of kept error messages.
+     */
+    static final int MAX_ERRORS = 100;
+
+    /**
+     * The number of imported users.
+     */
+    private long users;
+
+    /**
+     * The number of imported pads.
+     */
+    private long pads;
+
+    /**
+     * The number of imported notes.
+     */
+    private long notes;
+
+    /**
+     * The number of rejected records.
+     */
+    private long rejected;
+
+    /**
+     * The messages of the first rejected records.
+     */
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * The reason why the import failed, or null.
+     */
+    private String failure;
+
+    /**
+     * Counts an imported user.
+     */
+    void addUser() {
+        users++;
+    }
+
+    /**
+     * Counts an imported pad.
+     */
+    void addPad() {
+        pads++;
+    }
+
+    /**
+     * Counts imported notes.
+     *
+     * @param count
+     *            The number of notes
+     */
+    void addNotes(final int count) {
+        notes += count;
+    }
+
+    /**
+     * Counts a rejected record.
+     *
+     * @param error
+     *            The reason
+     */
+    void reject(final String error) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    /**
+     * Records why the import failed.
+     *
+     * @param failure
+     *            The reason
+     */
+    void fail(final String failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * Returns the number of imported users.
+     *
+     * @return The number of users
+     */
+    public long getUsers() {
+        return users;
+    }
+
+    /**
+     * Returns the number of imported pads.
+     *
+     * @return The number of pads
+     */
+    public long getPads() {
+        return pads;
+    }
+
+    /**
+     * Returns the number of imported notes.
+     *
+     * @return The number of notes
+     */
+    public long getNotes() {
+        return notes;
+    }
+
+    /**
+     * Returns the number of rejected records.
+     *
+     * @return The number of rejected records
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Returns the messages of the first rejected records.
+     *
+     * @return The error messages
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns whether the import failed before the end of the data.
+     *
+     * @return True if the import failed
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Returns why the import failed.
+     *
+     * @return The reason, or null
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns a copy of the current state.
+     *
+     * @return The copy
+     */
+    ImportReport copy() {
+        ImportReport copy = new ImportReport();
+        copy.users = users;
+        copy.pads = pads;
+        copy.notes = notes;
+        copy.rejected = rejected;
+        copy.errors.addAll(errors);
+        copy.failure = failure;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d users, %d pads, %d notes, %d rejected", users, pads, notes, rejected);
+    }
+
+}
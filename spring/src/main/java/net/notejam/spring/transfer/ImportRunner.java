@@ -0,0 +1,99 @@
+package net.notejam.spring.transfer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Imports files from the command line.
+ *
+ * If the application is started with the option --import=FILE, it imports
+ * the users, pads and notes of the file and exits afterwards. The option
+ * --import.format=ndjson|sql overrides detecting the format by the file name.
+ * The option can be repeated for several files.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class ImportRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportRunner.class);
+
+    /**
+     * The option for the imported file.
+     */
+    static final String IMPORT = "import";
+
+    /**
+     * The option for the format.
+     */
+    static final String FORMAT = "import.format";
+
+    /**
+     * The import service.
+     */
+    private final ImportService importService;
+
+    /**
+     * The application context.
+     */
+    private final ConfigurableApplicationContext context;
+
+    /**
+     * Builds the runner with its dependencies.
+     *
+     * @param importService
+     *            import service
+     * @param context
+     *            application context
+     */
+    @Autowired
+    ImportRunner(final ImportService importService, final ConfigurableApplicationContext context) {
+        this.importService = importService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws IOException {
+        if (!args.containsOption(IMPORT)) {
+            return;
+        }
+
+        List<String> formats = args.getOptionValues(FORMAT);
+        String format = formats == null || formats.isEmpty() ? null : formats.get(0);
+        boolean failed = false;
+        for (String file : args.getOptionValues(IMPORT)) {
+            LOGGER.info("Importing {}", file);
+            try (ImportReader reader = ImportFormat.of(format, file)
+                    .open(Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8))) {
+
+                ImportReport report = importService.importAll(reader,
+                        progress -> LOGGER.info("Importing {}: {}", file, progress));
+                LOGGER.info("Imported {}: {}", file, report);
+                for (String error : report.getErrors()) {
+                    LOGGER.warn(error);
+                }
+                if (report.isFailed()) {
+                    LOGGER.error("Importing {} failed: {}", file, report.getFailure());
+                    failed = true;
+                }
+            }
+        }
+
+        int status = failed ? 1 : 0;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+}
@@ -0,0 +1,442 @@
+package net.notejam.spring.transfer;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.note.controller.NoteCommand;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.pad.PadService;
+import net.notejam.spring.user.User;
+import net.notejam.spring.user.UserService;
+
+/**
+ * The import service.
+ *
+ * The service imports users, pads and notes from an {@link ImportReader}. The
+ * records are written in batches of {@code import.batchSize} records. Each
+ * batch commits in its own transaction and is then cleared from the
+ * persistence context. Only the mapping from the imported ids to the new ids
+ * of users and pads is kept in memory.
+ *
+ * Invalid records are rejected and reported. Pads and notes have to follow
+ * the records which they reference.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Service
+public class ImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportService.class);
+
+    /**
+     * The number of random bytes of the password for imported users.
+     */
+    private static final int PASSWORD_BYTES = 24;
+
+    /**
+     * The mapping from imported ids to stored ids.
+     */
+    private static final class Mapping {
+
+        /**
+         * The user who owns all imported pads and notes, or null.
+         */
+        private final Integer owner;
+
+        /**
+         * The user ids by imported user id.
+         */
+        private final Map<Integer, Integer> users = new HashMap<>();
+
+        /**
+         * The pad ids by imported pad id.
+         */
+        private final Map<Integer, Integer> pads = new HashMap<>();
+
+        /**
+         * The user ids of the pads by imported pad id.
+         */
+        private final Map<Integer, Integer> padOwners = new HashMap<>();
+
+        /**
+         * Builds a mapping.
+         *
+         * @param owner
+         *            The user who owns all imported pads and notes, or null
+         */
+        private Mapping(final Integer owner) {
+            this.owner = owner;
+        }
+
+    }
+
+    /**
+     * The user service.
+     */
+    private final UserService userService;
+
+    /**
+     * The pad service.
+     */
+    private final PadService padService;
+
+    /**
+     * The note service.
+     */
+    private final NoteService noteService;
+
+    /**
+     * The transaction template for a batch.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The number of records per batch.
+     */
+    private final int batchSize;
+
+    /**
+     * The validator for notes.
+     */
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    /**
+     * The random source for passwords.
+     */
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * The entity manager.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Builds the service with its dependencies.
+     *
+     * @param userService
+     *            user service
+     * @param padService
+     *            pad service
+     * @param noteService
+     *            note service
+     * @param transactionManager
+     *            transaction manager
+     * @param batchSize
+     *            number of records per batch
+     */
+    @Autowired
+    ImportService(final UserService userService, final PadService padService, final NoteService noteService,
+            final PlatformTransactionManager transactionManager, @Value("${import.batchSize}") final int batchSize) {
+        this.userService = userService;
+        this.padService = padService;
+        this.noteService = noteService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports pads and notes for a user.
+     *
+     * User records are skipped, and all pads and notes belong to the given
+     * user.
+     *
+     * @param reader
+     *            The imported data
+     * @param userId
+     *            The id of the owner
+     * @param progress
+     *            Receives the report after each batch
+     * @return The report
+     */
+    public ImportReport importForUser(final ImportReader reader, final int userId,
+            final Consumer<ImportReport> progress) {
+        return importRecords(reader, new Mapping(userId), progress);
+    }
+
+    /**
+     * Imports users and their pads and notes.
+     *
+     * A user is identified by the email. Users who don't exist yet are signed
+     * up with a random password, which they can reset with the password
+     * recovery.
+     *
+     * @param reader
+     *            The imported data
+     * @param progress
+     *            Receives the report after each batch
+     * @return The report
+     */
+    public ImportReport importAll(final ImportReader reader, final Consumer<ImportReport> progress) {
+        return importRecords(reader, new Mapping(null), progress);
+    }
+
+    /**
+     * Imports the records in batches.
+     *
+     * @param reader
+     *            The imported data
+     * @param mapping
+     *            The id mapping
+     * @param progress
+     *            Receives the report after each batch
+     * @return The report
+     */
+    private ImportReport importRecords(final ImportReader reader, final Mapping mapping,
+            final Consumer<ImportReport> progress) {
+        ImportReport report = new ImportReport();
+        boolean more = true;
+        while (more) {
+            more = transactionTemplate.execute(status -> importBatch(reader, mapping, report));
+            entityManager.clear();
+            progress.accept(report);
+        }
+        return report;
+    }
+
+    /**
+     * Imports one batch of records.
+     *
+     * @param reader
+     *            The imported data
+     * @param mapping
+     *            The id mapping
+     * @param report
+     *            The report
+     * @return True if there are more records
+     */
+    private boolean importBatch(final ImportReader reader, final Mapping mapping, final ImportReport report) {
+        List<Note> notes = new ArrayList<>(batchSize);
+        boolean more = true;
+        for (int records = 0; records < batchSize; records++) {
+            try {
+                ImportRecord record = reader.next();
+                if (record == null) {
+                    more = false;
+                    break;
+                }
+                Note note = importRecord(record, mapping, report);
+                if (note != null) {
+                    notes.add(note);
+                }
+
+            } catch (InvalidRecordException e) {
+                report.reject(e.getMessage());
+
+            } catch (IOException e) {
+                LOGGER.warn("Import failed", e);
+                report.fail(e.getMessage());
+                more = false;
+                break;
+            }
+        }
+
+        noteService.importNotes(notes);
+        report.addNotes(notes.size());
+        return more;
+    }
+
+    /**
+     * Imports a record.
+     *
+     * @param record
+     *            The record
+     * @param mapping
+     *            The id mapping
+     * @param report
+     *            The report
+     * @return The unsaved note of a note record, otherwise null
+     * @throws InvalidRecordException
+     *             If the record is invalid
+     */
+    private Note importRecord(final ImportRecord record, final Mapping mapping, final ImportReport report) {
+        switch (record.getType()) {
+        case USER:
+            importUser(record, mapping, report);
+            return null;
+
+        case PAD:
+            importPad(record, mapping);
+            report.addPad();
+            return null;
+
+        default:
+            return buildNote(record, mapping);
+        }
+    }
+
+    /**
+     * Imports a user.
+     *
+     * @param record
+     *            The user record
+     * @param mapping
+     *            The id mapping
+     * @param report
+     *            The report
+     * @throws InvalidRecordException
+     *             If the record is invalid
+     */
+    private void importUser(final ImportRecord record, final Mapping mapping, final ImportReport report) {
+        if (mapping.owner != null) {
+            return;
+        }
+        String email = record.getEmail();
+        if (email == null || email.isEmpty()) {
+            throw new InvalidRecordException(record.getNumber(), "The email is missing.");
+        }
+
+        int id = record.getId();
+        User user = userService.getUser(email).orElseGet(() -> {
+            report.addUser();
+            return userService.signUp(email, generatePassword());
+        });
+        mapping.users.put(id, user.getId());
+    }
+
+    /**
+     * Imports a pad.
+     *
+     * @param record
+     *            The pad record
+     * @param mapping
+     *            The id mapping
+     * @throws InvalidRecordException
+     *             If the record is invalid
+     */
+    private void importPad(final ImportRecord record, final Mapping mapping) {
+        int userId = getUserId(record, mapping);
+        int id = record.getId();
+        Name name = buildName(record);
+
+        Pad pad = padService.importPad(name, entityManager.find(User.class, userId));
+        mapping.pads.put(id, pad.getId());
+        mapping.padOwners.put(id, userId);
+    }
+
+    /**
+     * Builds a note.
+     *
+     * The note is validated with the rules of the {@link NoteCommand}.
+     *
+     * @param record
+     *            The note record
+     * @param mapping
+     *            The id mapping
+     * @return The unsaved note
+     * @throws InvalidRecordException
+     *             If the record is invalid
+     */
+    private Note buildNote(final ImportRecord record, final Mapping mapping) {
+        int userId = getUserId(record, mapping);
+
+        NoteCommand command = new NoteCommand();
+        command.setName(record.getName());
+        command.setText(record.getText());
+        Set<ConstraintViolation<NoteCommand>> violations = validator.validate(command);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<NoteCommand> violation = violations.iterator().next();
+            throw new InvalidRecordException(record.getNumber(),
+                    String.format("The %s %s.", violation.getPropertyPath(), violation.getMessage()));
+        }
+
+        Pad pad = null;
+        Integer padId = record.getPadId();
+        if (padId != null) {
+            if (!mapping.pads.containsKey(padId) || !mapping.padOwners.get(padId).equals(userId)) {
+                throw new InvalidRecordException(record.getNumber(), String.format("The pad %d is unknown.", padId));
+            }
+            pad = entityManager.find(Pad.class, mapping.pads.get(padId));
+        }
+
+        Instant updated = record.getUpdated();
+        Note note = new Note();
+        note.setUser(entityManager.find(User.class, userId));
+        note.setPad(pad);
+        note.setName(buildName(record));
+        note.setText(record.getText());
+        note.setUpdated(updated != null ? updated : Instant.now());
+        return note;
+    }
+
+    /**
+     * Returns the id of the user who owns a pad or note.
+     *
+     * @param record
+     *            The pad or note record
+     * @param mapping
+     *            The id mapping
+     * @return The user id
+     * @throws InvalidRecordException
+     *             If the user is unknown
+     */
+    private static int getUserId(final ImportRecord record, final Mapping mapping) {
+        if (mapping.owner != null) {
+            return mapping.owner;
+        }
+        Integer userId = record.getUserId();
+        if (userId == null || !mapping.users.containsKey(userId)) {
+            throw new InvalidRecordException(record.getNumber(), String.format("The user %s is unknown.", userId));
+        }
+        return mapping.users.get(userId);
+    }
+
+    /**
+     * Builds the name of a record.
+     *
+     * @param record
+     *            The record
+     * @return The name
+     * @throws InvalidRecordException
+     *             If the name is invalid
+     */
+    private static Name buildName(final ImportRecord record) {
+        if (record.getName() == null) {
+            throw new InvalidRecordException(record.getNumber(), "The name is missing.");
+        }
+        try {
+            return new Name(record.getName());
+
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException(record.getNumber(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Generates a random password.
+     *
+     * @return The password
+     */
+    private String generatePassword() {
+        byte[] bytes = new byte[PASSWORD_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().encodeToString(bytes);
+    }
+
+}
@@ -0,0 +1,41 @@
+package net.notejam.spring.transfer;
+
+/**
+ * A record of the imported data is invalid.
+ *
+ * The import skips the record and continues with the next one.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class InvalidRecordException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 2712786563939326167L;
+
+    /**
+     * Builds the exception.
+     *
+     * @param number
+     *            The number of the record
+     * @param message
+     *            The reason
+     */
+    public InvalidRecordException(final long number, final String message) {
+        super(String.format("Record %d: %s", number, message));
+    }
+
+    /**
+     * Builds the exception.
+     *
+     * @param number
+     *            The number of the record
+     * @param message
+     *            The reason
+     * @param cause
+     *            The cause
+     */
+    public InvalidRecordException(final long number, final String message, final Throwable cause) {
+        super(String.format("Record %d: %s", number, message), cause);
+    }
+
+}
@@ -0,0 +1,95 @@
+package net.notejam.spring.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads newline delimited JSON.
+ *
+ * Each line is a JSON object with the columns of a record and its type, e.g.
+ * {"type":"note","id":3,"user_id":1,"pad_id":2,"name":"...","text":"...",
+ * "updated_at":"2015-01-31T12:00:00Z"}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+final class NdjsonImportReader implements ImportReader {
+
+    /**
+     * The property for the record type.
+     */
+    static final String TYPE = "type";
+
+    /**
+     * The JSON mapper.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The input.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * The current line number.
+     */
+    private long line;
+
+    /**
+     * Builds the reader.
+     *
+     * @param reader
+     *            The input
+     */
+    NdjsonImportReader(final Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        for (String json = reader.readLine(); json != null; json = reader.readLine()) {
+            line++;
+            if (json.trim().isEmpty()) {
+                continue;
+            }
+
+            JsonNode node;
+            try {
+                node = MAPPER.readTree(json);
+
+            } catch (JsonProcessingException e) {
+                throw new InvalidRecordException(line, "The line is not valid JSON.", e);
+            }
+            if (!node.isObject()) {
+                throw new InvalidRecordException(line, "The line is not a JSON object.");
+            }
+
+            Map<String, String> columns = new HashMap<>();
+            for (Iterator<Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+                Entry<String, JsonNode> field = fields.next();
+                columns.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText());
+            }
+            ImportRecord.Type type = ImportRecord.Type.of(columns.get(TYPE));
+            if (type == null) {
+                throw new InvalidRecordException(line, String.format("The type %s is unknown.", columns.get(TYPE)));
+            }
+            return new ImportRecord(type, line, columns);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,520 @@
+package net.notejam.spring.transfer;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an SQL dump of the Notejam schema.sql.
+ *
+ * The reader streams the rows of the INSERT statements into the tables users,
+ * pads and notes. Each row of a multi-row INSERT becomes a record as soon as
+ * it is read, so that large statements don't have to fit into memory. All
+ * other statements are skipped. If an INSERT has no column list, the columns
+ * are in the order of the schema.sql.
+ *
+ * Strings escape a quote by doubling it. Dumps of MySQL additionally escape
+ * with backslashes. They are recognized by a comment containing "MySQL".
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+final class SqlDumpImportReader implements ImportReader {
+
+    /**
+     * The columns of the schema.sql.
+     */
+    private static final Map<ImportRecord.Type, List<String>> SCHEMA = new EnumMap<>(ImportRecord.Type.class);
+
+    static {
+        SCHEMA.put(ImportRecord.Type.USER, Arrays.asList("id", "email", "password"));
+        SCHEMA.put(ImportRecord.Type.PAD, Arrays.asList("id", "name", "user_id"));
+        SCHEMA.put(ImportRecord.Type.NOTE,
+                Arrays.asList("id", "pad_id", "user_id", "name", "text", "created_at", "updated_at"));
+    }
+
+    /**
+     * The kind of a token.
+     */
+    private enum Kind {
+
+        /**
+         * A keyword, an unquoted identifier or a number.
+         */
+        WORD,
+
+        /**
+         * A quoted identifier.
+         */
+        IDENTIFIER,
+
+        /**
+         * A string literal.
+         */
+        STRING,
+
+        /**
+         * A single character like a parenthesis, a comma or a semicolon.
+         */
+        SYMBOL,
+
+        /**
+         * The end of the dump.
+         */
+        END
+
+    }
+
+    /**
+     * A token.
+     */
+    private static final class Token {
+
+        /**
+         * The end of the dump.
+         */
+        private static final Token END = new Token(Kind.END, "");
+
+        /**
+         * The kind.
+         */
+        private final Kind kind;
+
+        /**
+         * The text.
+         */
+        private final String text;
+
+        /**
+         * Builds a token.
+         *
+         * @param kind
+         *            The kind
+         * @param text
+         *            The text
+         */
+        private Token(final Kind kind, final String text) {
+            this.kind = kind;
+            this.text = text;
+        }
+
+        /**
+         * Returns whether this is a symbol.
+         *
+         * @param symbol
+         *            The symbol
+         * @return True if this is the symbol
+         */
+        private boolean is(final char symbol) {
+            return kind == Kind.SYMBOL && text.charAt(0) == symbol;
+        }
+
+        /**
+         * Returns whether this is a keyword.
+         *
+         * @param keyword
+         *            The keyword
+         * @return True if this is the keyword
+         */
+        private boolean is(final String keyword) {
+            return kind == Kind.WORD && text.equalsIgnoreCase(keyword);
+        }
+
+        /**
+         * Returns whether this is a name, i.e. a word or a quoted identifier.
+         *
+         * @return True if this is a name
+         */
+        private boolean isName() {
+            return kind == Kind.WORD || kind == Kind.IDENTIFIER;
+        }
+
+    }
+
+    /**
+     * The input.
+     */
+    private final Reader reader;
+
+    /**
+     * The next character, or -2 if it wasn't read yet.
+     */
+    private int lookahead = -2;
+
+    /**
+     * Whether strings escape with backslashes.
+     */
+    private boolean backslashEscapes;
+
+    /**
+     * The type of the INSERT whose rows are read, or null between statements.
+     */
+    private ImportRecord.Type type;
+
+    /**
+     * The columns of the INSERT whose rows are read.
+     */
+    private List<String> columns;
+
+    /**
+     * The number of read rows.
+     */
+    private long rows;
+
+    /**
+     * Builds the reader.
+     *
+     * @param reader
+     *            The input
+     */
+    SqlDumpImportReader(final Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        while (true) {
+            if (type != null) {
+                Token token = nextToken();
+                if (token.is(',')) {
+                    continue;
+
+                } else if (token.is('(')) {
+                    return readRow();
+
+                } else if (token.is(';') || token.kind == Kind.END) {
+                    type = null;
+
+                } else {
+                    throw new IOException(String.format("Unexpected %s after row %d.", token.text, rows));
+                }
+            }
+
+            Token token = nextToken();
+            if (token.kind == Kind.END) {
+                return null;
+
+            } else if (token.is("INSERT") || token.is("REPLACE")) {
+                readInsert();
+
+            } else if (!token.is(';')) {
+                skipStatement();
+            }
+        }
+    }
+
+    /**
+     * Reads the head of an INSERT statement up to its values.
+     *
+     * If the table is not part of the schema, the statement is skipped.
+     *
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private void readInsert() throws IOException {
+        Token token = nextToken();
+        while (token.kind == Kind.WORD && !token.is("INTO")) {
+            token = nextToken();
+        }
+        if (!token.is("INTO")) {
+            skipStatement(token);
+            return;
+        }
+
+        String table = null;
+        for (token = nextToken(); (token.isName() && !token.is("VALUES")) || token.is('.'); token = nextToken()) {
+            if (token.isName()) {
+                table = token.text.substring(token.text.lastIndexOf('.') + 1);
+            }
+        }
+        ImportRecord.Type insertType = ImportRecord.Type.of(table);
+
+        List<String> insertColumns = insertType == null ? null : SCHEMA.get(insertType);
+        if (token.is('(')) {
+            insertColumns = new ArrayList<>();
+            for (token = nextToken(); !token.is(')'); token = nextToken()) {
+                if (token.isName()) {
+                    insertColumns.add(token.text.toLowerCase());
+
+                } else if (!token.is(',')) {
+                    throw new IOException(String.format("Unexpected %s in the columns of %s.", token.text, table));
+                }
+            }
+            token = nextToken();
+        }
+
+        if (insertType == null || !token.is("VALUES")) {
+            skipStatement(token);
+            return;
+        }
+        type = insertType;
+        columns = insertColumns;
+    }
+
+    /**
+     * Reads a row after its opening parenthesis.
+     *
+     * @return The record
+     * @throws InvalidRecordException
+     *             If the number of values doesn't match the columns
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private ImportRecord readRow() throws IOException {
+        rows++;
+        List<String> values = new ArrayList<>(columns.size());
+        for (Token token = nextToken(); !token.is(')'); token = nextToken()) {
+            if (token.kind == Kind.STRING) {
+                values.add(token.text);
+
+            } else if (token.is("NULL")) {
+                values.add(null);
+
+            } else if (token.kind == Kind.WORD) {
+                values.add(token.text);
+
+            } else if (!token.is(',')) {
+                throw new IOException(String.format("Unexpected %s in row %d.", token.text, rows));
+            }
+        }
+
+        if (values.size() != columns.size()) {
+            throw new InvalidRecordException(rows,
+                    String.format("%d values don't match %d columns.", values.size(), columns.size()));
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            row.put(columns.get(i), values.get(i));
+        }
+        return new ImportRecord(type, rows, Collections.unmodifiableMap(row));
+    }
+
+    /**
+     * Skips the rest of a statement.
+     *
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private void skipStatement() throws IOException {
+        skipStatement(nextToken());
+    }
+
+    /**
+     * Skips the rest of a statement.
+     *
+     * @param token
+     *            The current token
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private void skipStatement(final Token token) throws IOException {
+        for (Token skipped = token; !skipped.is(';') && skipped.kind != Kind.END; skipped = nextToken()) {
+            // Skip the token.
+        }
+    }
+
+    /**
+     * Reads the next token.
+     *
+     * Whitespace and comments are skipped.
+     *
+     * @return The token
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private Token nextToken() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return Token.END;
+
+            } else if (Character.isWhitespace(c)) {
+                continue;
+
+            } else if (c == '-' && peek() == '-') {
+                readLineComment();
+
+            } else if (c == '/' && peek() == '*') {
+                read();
+                readBlockComment();
+
+            } else if (c == '\'') {
+                return new Token(Kind.STRING, readQuoted('\'', backslashEscapes));
+
+            } else if (c == '"' || c == '`') {
+                return new Token(Kind.IDENTIFIER, readQuoted((char) c, false));
+
+            } else if (isWordPart(c)) {
+                StringBuilder word = new StringBuilder().appendCodePoint(c);
+                while (isWordPart(peek())) {
+                    word.appendCodePoint(read());
+                }
+                return new Token(Kind.WORD, word.toString());
+
+            } else {
+                return new Token(Kind.SYMBOL, String.valueOf((char) c));
+            }
+        }
+    }
+
+    /**
+     * Reads a line comment.
+     *
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private void readLineComment() throws IOException {
+        StringBuilder comment = new StringBuilder();
+        for (int c = read(); c != -1 && c != '\n'; c = read()) {
+            comment.appendCodePoint(c);
+        }
+        detectDialect(comment);
+    }
+
+    /**
+     * Reads a block comment after its opening.
+     *
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private void readBlockComment() throws IOException {
+        StringBuilder comment = new StringBuilder();
+        for (int c = read(); !(c == '*' && peek() == '/'); c = read()) {
+            if (c == -1) {
+                throw new EOFException("The dump ends in a comment.");
+            }
+            comment.appendCodePoint(c);
+        }
+        read();
+        detectDialect(comment);
+    }
+
+    /**
+     * Turns backslash escapes on if a comment mentions MySQL.
+     *
+     * @param comment
+     *            The comment
+     */
+    private void detectDialect(final CharSequence comment) {
+        if (comment.toString().contains("MySQL")) {
+            backslashEscapes = true;
+        }
+    }
+
+    /**
+     * Reads a quoted string after its opening quote.
+     *
+     * @param quote
+     *            The quote
+     * @param backslash
+     *            Whether backslashes escape characters
+     * @return The unquoted string
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private String readQuoted(final char quote, final boolean backslash) throws IOException {
+        StringBuilder string = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new EOFException("The dump ends in a quoted string.");
+
+            } else if (c == quote) {
+                if (peek() != quote) {
+                    return string.toString();
+                }
+                string.append(quote);
+                read();
+
+            } else if (c == '\\' && backslash) {
+                string.append(unescape(read()));
+
+            } else {
+                string.appendCodePoint(c);
+            }
+        }
+    }
+
+    /**
+     * Unescapes a character after a backslash.
+     *
+     * @param c
+     *            The escaped character
+     * @return The unescaped character
+     * @throws EOFException
+     *             If the dump ends
+     */
+    private static char unescape(final int c) throws EOFException {
+        switch (c) {
+        case -1:
+            throw new EOFException("The dump ends in a quoted string.");
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case '0':
+            return '\0';
+        case 'Z':
+            return '\u001A';
+        default:
+            return (char) c;
+        }
+    }
+
+    /**
+     * Returns whether a character is part of a word.
+     *
+     * @param c
+     *            The character
+     * @return True for letters, digits and the characters _ . $ + -
+     */
+    private static boolean isWordPart(final int c) {
+        return c != -1 && (Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '$' || c == '+' || c == '-');
+    }
+
+    /**
+     * Reads the next character.
+     *
+     * @return The character, or -1 at the end
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private int read() throws IOException {
+        if (lookahead != -2) {
+            int c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    /**
+     * Returns the next character without consuming it.
+     *
+     * @return The character, or -1 at the end
+     * @throws IOException
+     *             If the dump can't be read
+     */
+    private int peek() throws IOException {
+        if (lookahead == -2) {
+            lookahead = reader.read();
+        }
+        return lookahead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
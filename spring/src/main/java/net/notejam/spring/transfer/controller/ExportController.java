@@ -0,0 +1,80 @@
+package net.notejam.spring.transfer.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.error.ResourceNotFoundException;
+import net.notejam.spring.transfer.ExportFormat;
+import net.notejam.spring.transfer.ExportService;
+import net.notejam.spring.user.UserService;
+
+/**
+ * The export controller.
+ *
+ * The export is written asynchronously by the MVC task executor, so that it
+ * doesn't hold a container thread while it streams.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Controller
+@RequestMapping(URITemplates.EXPORT)
+@PreAuthorize("isAuthenticated()")
+public class ExportController {
+
+    /**
+     * The export service.
+     */
+    private final ExportService exportService;
+
+    /**
+     * The user service.
+     */
+    private final UserService userService;
+
+    /**
+     * Builds the controller with its dependencies.
+     * 
+     * @param exportService
+     *            export service
+     * @param userService
+     *            user service
+     */
+    @Autowired
+    ExportController(final ExportService exportService, final UserService userService) {
+	this.exportService = exportService;
+	this.userService = userService;
+    }
+
+    /**
+     * Exports the authenticated user's pads and notes.
+     *
+     * @param format
+     *            format name
+     * @return The download
+     * @throws ResourceNotFoundException
+     *             If the format is unknown
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public ResponseEntity<StreamingResponseBody> export(
+	    @RequestParam(value = "format", defaultValue = "ndjson") final String format) {
+
+	int userId = userService.getAuthenticatedUserId();
+	ExportFormat exportFormat = ExportFormat.of(format);
+	StreamingResponseBody body = out -> exportService.export(userId, exportFormat, out);
+	return ResponseEntity.ok().contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+		.header(HttpHeaders.CONTENT_DISPOSITION,
+			String.format("attachment; filename=\"%s\"", exportFormat.getFilename()))
+		.body(body);
+    }
+
+}
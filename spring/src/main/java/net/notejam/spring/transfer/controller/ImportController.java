@@ -0,0 +1,156 @@
+package net.notejam.spring.transfer.controller;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.Part;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.pad.controller.PadsAdvice.Pads;
+import net.notejam.spring.transfer.ImportFormat;
+import net.notejam.spring.transfer.ImportProgress;
+import net.notejam.spring.transfer.ImportReader;
+import net.notejam.spring.transfer.ImportReport;
+import net.notejam.spring.transfer.ImportService;
+import net.notejam.spring.user.UserService;
+
+/**
+ * The import controller.
+ *
+ * Imports an uploaded NDJSON file or SQL dump into the pads and notes of the
+ * authenticated user. The import reads the uploaded part as a stream. While it
+ * is running, the user can poll its progress as JSON.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Controller
+@PreAuthorize("isAuthenticated()")
+@Pads
+public class ImportController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportController.class);
+
+    /**
+     * The import service.
+     */
+    private final ImportService importService;
+
+    /**
+     * The user service.
+     */
+    private final UserService userService;
+
+    /**
+     * The progress of the running imports.
+     */
+    private final ImportProgress importProgress;
+
+    /**
+     * Builds the controller with its dependencies.
+     * 
+     * @param importService
+     *            import service
+     * @param userService
+     *            user service
+     * @param importProgress
+     *            progress of the running imports
+     */
+    @Autowired
+    ImportController(final ImportService importService, final UserService userService,
+	    final ImportProgress importProgress) {
+	this.importService = importService;
+	this.userService = userService;
+	this.importProgress = importProgress;
+    }
+
+    /**
+     * Shows the import form.
+     *
+     * @return view name
+     */
+    @RequestMapping(value = URITemplates.IMPORT, method = RequestMethod.GET)
+    public String showForm() {
+	return "transfer/import";
+    }
+
+    /**
+     * Imports the uploaded file.
+     *
+     * @param file
+     *            uploaded file
+     * @param format
+     *            format name, or empty to detect it by the file name
+     * @param model
+     *            view model
+     * @return view name
+     * @throws IOException
+     *             If the upload can't be read
+     * @throws IllegalArgumentException
+     *             If the format is unknown
+     */
+    @RequestMapping(value = URITemplates.IMPORT, method = RequestMethod.POST)
+    public String importFile(@RequestPart("file") final Part file,
+	    @RequestParam(value = "format", required = false) final String format, final Model model)
+	    throws IOException {
+
+	int userId = userService.getAuthenticatedUserId();
+	ImportFormat importFormat = ImportFormat.of(format, file.getSubmittedFileName());
+	try (ImportReader reader = importFormat
+		.open(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+
+	    ImportReport report = importService.importForUser(reader, userId,
+		    progress -> importProgress.update(userId, progress));
+	    LOGGER.info("Imported for user {}: {}", userId, report);
+	    model.addAttribute("report", report);
+
+	} finally {
+	    importProgress.finish(userId);
+	}
+
+	return showForm();
+    }
+
+    /**
+     * Returns the progress of the running import.
+     *
+     * @return The report so far, or no content if no import is running
+     */
+    @RequestMapping(value = URITemplates.IMPORT_PROGRESS, method = RequestMethod.GET,
+	    produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<ImportReport> getProgress() {
+	return importProgress.get(userService.getAuthenticatedUserId()).map(ResponseEntity::ok)
+		.orElseGet(() -> new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    /**
+     * Handles an unknown format.
+     *
+     * @return The view.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleUnknownFormat() {
+	return "error";
+    }
+
+}
@@ -0,0 +1,7 @@
+/**
+ * Provides the controllers for transferring pads and notes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+package net.notejam.spring.transfer.controller;
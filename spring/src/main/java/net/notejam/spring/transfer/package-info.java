@@ -0,0 +1,8 @@
+/**
+ * Provides the transfer of users, pads and notes from and to other Notejam
+ * implementations.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+package net.notejam.spring.transfer;
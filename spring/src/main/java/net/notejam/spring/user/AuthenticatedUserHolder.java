@@ -0,0 +1,62 @@
+package net.notejam.spring.user;
+
+import java.util.function.Function;
+
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Holds the authenticated user for the duration of a request.
+ *
+ * The user is loaded at most once per request and then shared by all callers
+ * of {@link UserService#getAuthenticatedUser()}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+@Scope(value = WebApplicationContext.SCOPE_REQUEST, proxyMode = ScopedProxyMode.TARGET_CLASS)
+class AuthenticatedUserHolder {
+
+    /**
+     * The loaded user, or null.
+     */
+    private User user;
+
+    /**
+     * The number of loads in this request.
+     */
+    private int loads;
+
+    /**
+     * Returns the user, loading it if it wasn't loaded yet.
+     *
+     * The user is loaded again if the authentication changed during the
+     * request.
+     *
+     * @param email
+     *            The email of the authenticated user
+     * @param loader
+     *            Loads the user by its email
+     * @return The user
+     */
+    User getUser(final String email, final Function<String, User> loader) {
+        if (user == null || !user.getEmail().equals(email)) {
+            user = loader.apply(email);
+            loads++;
+        }
+        return user;
+    }
+
+    /**
+     * Returns how often the user was loaded in this request.
+     *
+     * @return The number of loads
+     */
+    int getLoads() {
+        return loads;
+    }
+
+}
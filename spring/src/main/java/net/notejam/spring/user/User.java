@@ -1,12 +1,15 @@
 package net.notejam.spring.user;
 
+import java.time.Instant;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.validation.constraints.NotNull;
 
-import org.springframework.data.jpa.domain.AbstractPersistable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import net.notejam.spring.helper.persistence.PooledPersistable;
+
 /**
  * The user.
  *
@@ -14,7 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
  */
 @Entity
-public final class User extends AbstractPersistable<Integer> {
+public final class User extends PooledPersistable {
 
     private static final long serialVersionUID = -7874055769861590146L;
 
@@ -31,6 +34,22 @@ public final class User extends AbstractPersistable<Integer> {
     @NotNull
     private String password;
 
+    /**
+     * The number of notes.
+     *
+     * The counter is maintained by atomic updates in the storage only.
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int noteCount;
+
+    /**
+     * The time of the last note activity.
+     *
+     * Like the note counter this time is maintained in the storage only.
+     */
+    @Column(insertable = false, updatable = false)
+    private Instant lastActivity;
+
     /**
      * Sets the password.
      *
@@ -74,4 +93,22 @@ public final class User extends AbstractPersistable<Integer> {
         this.email = email;
     }
 
+    /**
+     * Returns the number of notes.
+     *
+     * @return The number of notes.
+     */
+    public int getNoteCount() {
+        return noteCount;
+    }
+
+    /**
+     * Returns the time of the last note activity.
+     *
+     * @return The time of the last activity, or null if there was none yet.
+     */
+    public Instant getLastActivity() {
+        return lastActivity;
+    }
+
 }
@@ -1,8 +1,12 @@
 package net.notejam.spring.user;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * The user repository.
@@ -21,4 +25,28 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      */
     Optional<User> findOneByEmail(String email);
 
+    /**
+     * Adds to the note counter of a user and records the note activity.
+     *
+     * The counter is incremented atomically in the storage.
+     *
+     * @param user
+     *            The user.
+     * @param delta
+     *            The number of added notes, negative for deleted notes.
+     * @param time
+     *            The time of the activity.
+     */
+    @Modifying
+    @Query("update User u set u.noteCount = u.noteCount + :delta, u.lastActivity = :time where u = :user")
+    void addNotes(@Param("user") User user, @Param("delta") int delta, @Param("time") Instant time);
+
+    /**
+     * Recounts the notes and the last note activity of all users.
+     */
+    @Modifying
+    @Query("update User u set u.noteCount = (select count(n) from Note n where n.user = u),"
+            + " u.lastActivity = (select max(n.updated) from Note n where n.user = u)")
+    void recountNotes();
+
 }
@@ -1,12 +1,18 @@
 package net.notejam.spring.user;
 
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
 import javax.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import net.notejam.spring.security.NotejamPrincipal;
 import net.notejam.spring.security.SecurityService;
 
 /**
@@ -28,6 +34,11 @@ public class UserService {
      */
     private final SecurityService securityService;
 
+    /**
+     * The request scoped holder of the authenticated user.
+     */
+    private final AuthenticatedUserHolder authenticatedUserHolder;
+
     /**
      * Builds the service with its dependencies.
      * 
@@ -35,11 +46,15 @@ public class UserService {
      *            user repository
      * @param securityService
      *            security service
+     * @param authenticatedUserHolder
+     *            request scoped holder of the authenticated user
      */
     @Autowired
-    UserService(final UserRepository repository, final SecurityService securityService) {
+    UserService(final UserRepository repository, final SecurityService securityService,
+	    final AuthenticatedUserHolder authenticatedUserHolder) {
 	this.repository = repository;
 	this.securityService = securityService;
+	this.authenticatedUserHolder = authenticatedUserHolder;
     }
 
     /**
@@ -53,14 +68,64 @@ public class UserService {
 	return repository.findOneByEmail(email).isPresent();
     }
 
+    /**
+     * Returns a user by its email.
+     *
+     * @param email
+     *            The email.
+     * @return The user, or empty if the email is not registered.
+     */
+    public Optional<User> getUser(final String email) {
+	return repository.findOneByEmail(email);
+    }
+
     /**
      * Returns the authenticated user.
      *
+     * Within a request the user is loaded only once and shared afterwards.
+     * The user is loaded by the id of a {@link NotejamPrincipal}, otherwise
+     * by its email.
+     *
      * @return The currently authenticated user.
      */
     public User getAuthenticatedUser() {
 	Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 	String email = authentication.getName();
+	Function<String, User> loader = this::loadUser;
+	if (authentication.getPrincipal() instanceof NotejamPrincipal) {
+	    int id = ((NotejamPrincipal) authentication.getPrincipal()).getId();
+	    loader = e -> repository.findOne(id);
+	}
+
+	if (RequestContextHolder.getRequestAttributes() == null) {
+	    return loader.apply(email);
+	}
+	return authenticatedUserHolder.getUser(email, loader);
+    }
+
+    /**
+     * Returns the id of the authenticated user.
+     *
+     * The id is read from a {@link NotejamPrincipal} without loading the user.
+     *
+     * @return The id of the currently authenticated user.
+     */
+    public int getAuthenticatedUserId() {
+	Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+	if (principal instanceof NotejamPrincipal) {
+	    return ((NotejamPrincipal) principal).getId();
+	}
+	return getAuthenticatedUser().getId();
+    }
+
+    /**
+     * Loads a user by its email.
+     *
+     * @param email
+     *            The email.
+     * @return The user.
+     */
+    private User loadUser(final String email) {
 	return repository.findOneByEmail(email).get();
     }
 
@@ -108,4 +173,27 @@ public class UserService {
 	return user;
     }
 
+    /**
+     * Adds to the note counter of a user and records the note activity.
+     *
+     * @param user
+     *            user
+     * @param delta
+     *            number of added notes, negative for deleted notes
+     * @param time
+     *            time of the activity
+     */
+    @Transactional
+    public void addNotes(final User user, final int delta, final Instant time) {
+	repository.addNotes(user, delta, time);
+    }
+
+    /**
+     * Recounts the notes of all users.
+     */
+    @Transactional
+    public void recountNotes() {
+	repository.recountNotes();
+    }
+
 }
@@ -0,0 +1,181 @@
+package net.notejam.spring.user.recovery;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes expired recovery tokens in small chunks.
+ *
+ * Every {@code recovery.purgeDelay} milliseconds a run deletes at most
+ * {@code recovery.purgeMaxChunks} chunks of {@code recovery.purgeChunkSize}
+ * tokens. Each chunk selects the ids over the expiration index and deletes
+ * them with one statement in its own transaction. Tokens which are left over
+ * are deleted by the next run.
+ *
+ * The tokens purged by the last run, its duration and the total of purged
+ * tokens are exported as JMX attributes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+@ManagedResource
+public class ExpiredTokenPurger {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpiredTokenPurger.class);
+
+    /**
+     * The token repository.
+     */
+    private final RecoveryTokenRepository repository;
+
+    /**
+     * The transaction template for one chunk.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The number of tokens per chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * The maximum number of chunks per run.
+     */
+    private final int maxChunks;
+
+    /**
+     * The number of tokens purged by the last run.
+     */
+    private volatile long lastPurged;
+
+    /**
+     * The duration of the last run in milliseconds.
+     */
+    private volatile long lastDuration;
+
+    /**
+     * The number of purged tokens.
+     */
+    private final AtomicLong purged = new AtomicLong();
+
+    /**
+     * Builds the purger with its dependencies.
+     *
+     * @param repository
+     *            token repository
+     * @param transactionManager
+     *            transaction manager
+     * @param chunkSize
+     *            number of tokens per chunk
+     * @param maxChunks
+     *            maximum number of chunks per run
+     */
+    @Autowired
+    ExpiredTokenPurger(final RecoveryTokenRepository repository, final PlatformTransactionManager transactionManager,
+            @Value("${recovery.purgeChunkSize}") final int chunkSize,
+            @Value("${recovery.purgeMaxChunks}") final int maxChunks) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    /**
+     * Deletes expired tokens.
+     */
+    @Scheduled(fixedDelayString = "${recovery.purgeDelay}")
+    public void purge() {
+        purge(Instant.now());
+    }
+
+    /**
+     * Deletes the tokens which expired before a time.
+     *
+     * @param now
+     *            The current time
+     * @return The number of deleted tokens
+     */
+    long purge(final Instant now) {
+        long start = System.nanoTime();
+        long deleted = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            int chunkDeleted = transactionTemplate.execute(status -> purgeChunk(now));
+            deleted += chunkDeleted;
+            if (chunkDeleted < chunkSize) {
+                break;
+            }
+        }
+
+        lastPurged = deleted;
+        lastDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        purged.addAndGet(deleted);
+        if (deleted > 0) {
+            LOGGER.info("Purged {} expired recovery tokens in {} ms", deleted, lastDuration);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes one chunk of expired tokens.
+     *
+     * @param now
+     *            The current time
+     * @return The number of deleted tokens
+     */
+    private int purgeChunk(final Instant now) {
+        List<Integer> ids = repository.findExpiredIds(now, new PageRequest(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return repository.deleteByIds(ids);
+    }
+
+    /**
+     * Returns the number of tokens purged by the last run.
+     *
+     * @return The purged tokens
+     */
+    @ManagedAttribute
+    public long getLastPurged() {
+        return lastPurged;
+    }
+
+    /**
+     * Returns the duration of the last run.
+     *
+     * @return The duration in milliseconds
+     */
+    @ManagedAttribute
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * Returns the number of purged tokens.
+     *
+     * @return The purged tokens
+     */
+    @ManagedAttribute
+    public long getPurged() {
+        return purged.get();
+    }
+
+}
@@ -18,14 +18,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import net.notejam.spring.URITemplates;
+import net.notejam.spring.mail.MailOutbox;
 import net.notejam.spring.user.User;
 import net.notejam.spring.user.UserRepository;
 import net.notejam.spring.user.UserService;
@@ -76,16 +73,10 @@ public class PasswordRecoveryService {
     private Random random;
 
     /**
-     * The mail sender.
+     * The mail outbox.
      */
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
-
-    /**
-     * The sender's email address.
-     */
-    @Value("${email.sender}")
-    private String sender;
+    @Autowired
+    private MailOutbox outbox;
 
     /**
      * The message source.
@@ -134,6 +125,8 @@ public class PasswordRecoveryService {
      * Starts the password recovery process.
      *
      * If the email doesn't belong to a user the process stops silently.
+     * Otherwise the recovery mail is appended to the outbox in the same
+     * transaction as the token.
      *
      * @param email
      *            The email address
@@ -142,7 +135,6 @@ public class PasswordRecoveryService {
      * @param locale
      *            The locale in which the process should happen
      */
-    @Async("mailExecutor")
     @Transactional
     public void startRecoveryProcess(final String email, final URI baseUri, final Locale locale) {
         Optional<User> user = userRepository.findOneByEmail(email);
@@ -158,11 +150,11 @@ public class PasswordRecoveryService {
         token.setExpiration(determineExpiration());
         tokenRepository.save(token);
 
-        sendRecoveryMail(token, baseUri, locale);
+        appendRecoveryMail(token, baseUri, locale);
     }
 
     /**
-     * Sends the recovery mail.
+     * Appends the recovery mail to the outbox.
      *
      * @param token
      *            The recovery token
@@ -171,22 +163,12 @@ public class PasswordRecoveryService {
      * @param locale
      *            The process locale
      */
-    private void sendRecoveryMail(final RecoveryToken token, final URI baseUri,
+    private void appendRecoveryMail(final RecoveryToken token, final URI baseUri,
             final Locale locale) {
-        if (mailSender == null) {
-            LOGGER.warn("Mail transport is not available. Consider setting spring.mail.host in application.properties");
-            return;
-        }
-
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(sender);
-        message.setSubject(messageSource.getMessage("forgot.mail.subject", null, locale));
-        message.setTo(token.getUser().getEmail());
-
         String uri = buildRecoveryURI(token, baseUri);
-        message.setText(messageSource.getMessage("forgot.mail.message", new String[] { uri }, locale));
-
-        mailSender.send(message);
+        outbox.append(token.getUser().getEmail(),
+                messageSource.getMessage("forgot.mail.subject", null, locale),
+                messageSource.getMessage("forgot.mail.message", new String[] { uri }, locale));
     }
 
     /**
@@ -208,16 +190,6 @@ public class PasswordRecoveryService {
         return uriBuilder.replacePath(URITemplates.RECOVER_PASSWORD).buildAndExpand(uriVariables).toUriString();
     }
 
-    /**
-     * Deletes expired tokens from the storage.
-     */
-    @Transactional
-    @Scheduled(cron = "59 59 3 * * *")
-    public void purgeExpired() {
-        LOGGER.info("Purge expired recovery tokens");
-        tokenRepository.deleteByExpirationLessThan(Instant.now());
-    }
-
     /**
      * Determines the time when a new token will expire.
      *
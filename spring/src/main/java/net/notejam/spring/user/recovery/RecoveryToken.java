@@ -3,12 +3,13 @@ package net.notejam.spring.user.recovery;
 import java.time.Instant;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import javax.validation.constraints.Future;
 import javax.validation.constraints.NotNull;
 
-import org.springframework.data.jpa.domain.AbstractPersistable;
-
+import net.notejam.spring.helper.persistence.PooledPersistable;
 import net.notejam.spring.user.User;
 
 /**
@@ -18,7 +19,8 @@ import net.notejam.spring.user.User;
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
  */
 @Entity
-public final class RecoveryToken extends AbstractPersistable<Integer> {
+@Table(indexes = @Index(columnList = "expiration"))
+public final class RecoveryToken extends PooledPersistable {
 
     private static final long serialVersionUID = 5923083445165411558L;
 
@@ -1,9 +1,14 @@
 package net.notejam.spring.user.recovery;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * The token repository.
@@ -14,12 +19,27 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface RecoveryTokenRepository extends JpaRepository<RecoveryToken, Integer> {
 
     /**
-     * Deletes all tokens which are expired.
+     * Finds the ids of expired tokens, the longest expired first.
      *
-     * @param date
-     *            The time
+     * @param time
+     *            The current time
+     * @param pageable
+     *            The maximum number of ids
+     * @return The ids
+     */
+    @Query("select t.id from RecoveryToken t where t.expiration < :time order by t.expiration")
+    List<Integer> findExpiredIds(@Param("time") Instant time, Pageable pageable);
+
+    /**
+     * Deletes tokens with one statement.
+     *
+     * @param ids
+     *            The token ids
+     * @return The number of deleted tokens
      */
-    void deleteByExpirationLessThan(Instant date);
+    @Modifying
+    @Query("delete from RecoveryToken t where t.id in :ids")
+    int deleteByIds(@Param("ids") List<Integer> ids);
 
     /**
      * Find a non expired token which matches the id and token.
@@ -0,0 +1,97 @@
+package net.notejam.spring.view;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+import org.springframework.web.servlet.resource.GzipResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import net.notejam.spring.URITemplates;
+
+/**
+ * Configures the static assets.
+ *
+ * The assets are served under a path which contains the hash of their
+ * content. Links in templates are rewritten to these paths, so that browsers
+ * can cache an asset forever. If the browser accepts gzip, a precompressed
+ * variant with the suffix .gz is served instead.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Configuration
+public class AssetConfiguration extends WebMvcConfigurerAdapter {
+
+    /**
+     * The location of the stylesheets.
+     */
+    private static final String CSS_LOCATION = "classpath:/static/css/";
+
+    /**
+     * The location of the scripts.
+     */
+    private static final String JS_LOCATION = "classpath:/static/js/";
+
+    /**
+     * The days which a browser caches an asset.
+     */
+    private static final int CACHE_DAYS = 365;
+
+    /**
+     * Cache control which marks a response as immutable.
+     */
+    private static final class ImmutableCacheControl extends CacheControl {
+
+        /**
+         * The max-age directive.
+         */
+        private final CacheControl maxAge;
+
+        /**
+         * Builds the cache control.
+         *
+         * @param maxAge
+         *            The max-age directive
+         */
+        private ImmutableCacheControl(final CacheControl maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        @Override
+        public String getHeaderValue() {
+            return maxAge.getHeaderValue() + ", immutable";
+        }
+
+    }
+
+    @Override
+    public void addResourceHandlers(final ResourceHandlerRegistry registry) {
+        addAssetHandler(registry, URITemplates.CSS, CSS_LOCATION);
+        addAssetHandler(registry, URITemplates.JS, JS_LOCATION);
+    }
+
+    /**
+     * Serves the assets of one directory.
+     *
+     * The handler looks up the path within the pattern, i.e. without the
+     * directory, so each directory needs its own location.
+     *
+     * @param registry
+     *            The registry
+     * @param pattern
+     *            The URI pattern, e.g. /css/**
+     * @param location
+     *            The directory of the assets
+     */
+    private static void addAssetHandler(final ResourceHandlerRegistry registry, final String pattern,
+            final String location) {
+        registry.addResourceHandler(pattern).addResourceLocations(location)
+                .setCacheControl(new ImmutableCacheControl(CacheControl.maxAge(CACHE_DAYS, TimeUnit.DAYS).cachePublic()))
+                .resourceChain(true).addResolver(new GzipResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+}
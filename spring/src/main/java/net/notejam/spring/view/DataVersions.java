@@ -0,0 +1,136 @@
+package net.notejam.spring.view;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import net.notejam.spring.note.NoteSavedEvent;
+import net.notejam.spring.note.NotesDeletedEvent;
+import net.notejam.spring.pad.PadDeletedEvent;
+import net.notejam.spring.pad.PadSavedEvent;
+
+/**
+ * The data versions of the users.
+ *
+ * A user's version is increased whenever the
+ * {@link net.notejam.spring.note.NoteService} or the
+ * {@link net.notejam.spring.pad.PadService} change the user's notes or pads.
+ * Within a transaction the version is increased again after the commit, so
+ * that a concurrent request can't associate the uncommitted state with the
+ * new version.
+ *
+ * The versions are kept in memory. A tag combines a version with the start
+ * time of the application, so that tags of an earlier run never match.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class DataVersions {
+
+    /**
+     * The start time of the application.
+     */
+    private final long epoch = System.currentTimeMillis();
+
+    /**
+     * The versions by user id.
+     */
+    private final ConcurrentMap<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the data tag of a user.
+     *
+     * @param userId
+     *            The user id
+     * @return The tag, which changes with the user's data
+     */
+    public String getTag(final int userId) {
+        return epoch + "-" + getVersion(userId);
+    }
+
+    /**
+     * Returns the data version of a user.
+     *
+     * @param userId
+     *            The user id
+     * @return The version
+     */
+    long getVersion(final int userId) {
+        AtomicLong version = versions.get(userId);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Increases the version after a note was saved.
+     *
+     * @param event
+     *            The event
+     */
+    @EventListener
+    public void onNoteSaved(final NoteSavedEvent event) {
+        increase(event.getUserId());
+    }
+
+    /**
+     * Increases the version after notes were deleted.
+     *
+     * @param event
+     *            The event
+     */
+    @EventListener
+    public void onNotesDeleted(final NotesDeletedEvent event) {
+        increase(event.getUserId());
+    }
+
+    /**
+     * Increases the version after a pad was saved.
+     *
+     * @param event
+     *            The event
+     */
+    @EventListener
+    public void onPadSaved(final PadSavedEvent event) {
+        increase(event.getUserId());
+    }
+
+    /**
+     * Increases the version after a pad was deleted.
+     *
+     * @param event
+     *            The event
+     */
+    @EventListener
+    public void onPadDeleted(final PadDeletedEvent event) {
+        increase(event.getUserId());
+    }
+
+    /**
+     * Increases the data version of a user.
+     *
+     * Within a transaction the version is increased again after the commit.
+     *
+     * @param userId
+     *            The user id
+     */
+    void increase(final int userId) {
+        AtomicLong version = versions.computeIfAbsent(userId, id -> new AtomicLong());
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+
+            });
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package net.notejam.spring.view;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import net.notejam.spring.user.UserService;
+
+/**
+ * A bounded cache of rendered template fragments.
+ *
+ * A fragment is cached by its name, the authenticated user, the locale and
+ * the {@link DataVersions data version} of the user. Fragments of older
+ * versions are never hit again and are evicted as the least recently used.
+ *
+ * The hits and misses are exported as JMX attributes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+@ManagedResource
+public class FragmentCache {
+
+    /**
+     * The rendered fragments by key.
+     */
+    private final Map<String, String> fragments;
+
+    /**
+     * The data versions of the users.
+     */
+    private final DataVersions versions;
+
+    /**
+     * The user service.
+     */
+    private final UserService userService;
+
+    /**
+     * The number of hits.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The number of misses.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Builds the cache.
+     *
+     * @param userService
+     *            The user service
+     * @param versions
+     *            The data versions of the users
+     * @param size
+     *            The maximum number of cached fragments
+     */
+    @Autowired
+    FragmentCache(final UserService userService, final DataVersions versions,
+            @Value("${view.fragmentCache.size}") final int size) {
+        this.userService = userService;
+        this.versions = versions;
+        fragments = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 2370478426962406436L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                return size() > size;
+            }
+
+        });
+    }
+
+    /**
+     * Returns the key of a fragment of the authenticated user.
+     *
+     * @param name
+     *            The fragment name
+     * @param locale
+     *            The locale
+     * @return The key
+     */
+    public String getKey(final String name, final Locale locale) {
+        int userId = userService.getAuthenticatedUserId();
+        return String.format("%s|%d|%s|%s", name, userId, locale, versions.getTag(userId));
+    }
+
+    /**
+     * Returns a rendered fragment.
+     *
+     * @param key
+     *            The key
+     * @return The fragment, or null
+     */
+    public String get(final String key) {
+        String fragment = fragments.get(key);
+        (fragment != null ? hits : misses).incrementAndGet();
+        return fragment;
+    }
+
+    /**
+     * Caches a rendered fragment.
+     *
+     * @param key
+     *            The key
+     * @param fragment
+     *            The rendered fragment
+     */
+    public void put(final String key, final String fragment) {
+        fragments.put(key, fragment);
+    }
+
+    /**
+     * Evicts all fragments.
+     */
+    @ManagedOperation
+    public void clear() {
+        fragments.clear();
+    }
+
+    /**
+     * Returns the number of cached fragments.
+     *
+     * @return The number of cached fragments
+     */
+    @ManagedAttribute
+    public int getSize() {
+        return fragments.size();
+    }
+
+    /**
+     * Returns the number of hits.
+     *
+     * @return The number of hits
+     */
+    @ManagedAttribute
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of misses.
+     *
+     * @return The number of misses
+     */
+    @ManagedAttribute
+    public long getMisses() {
+        return misses.get();
+    }
+
+}
@@ -0,0 +1,65 @@
+package net.notejam.spring.view;
+
+import java.util.function.Supplier;
+
+/**
+ * A model value which is loaded on its first use.
+ *
+ * Views use lazy values for data which a cached fragment may not need.
+ *
+ * @param <T>
+ *            The type of the value
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    /**
+     * The loader, or null after loading.
+     */
+    private Supplier<T> loader;
+
+    /**
+     * The loaded value.
+     */
+    private T value;
+
+    /**
+     * Builds a lazy value.
+     *
+     * @param loader
+     *            Loads the value
+     */
+    private Lazy(final Supplier<T> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Builds a lazy value.
+     *
+     * @param loader
+     *            Loads the value
+     * @param <T>
+     *            The type of the value
+     * @return The lazy value
+     */
+    public static <T> Lazy<T> of(final Supplier<T> loader) {
+        return new Lazy<>(loader);
+    }
+
+    /**
+     * Returns the value, loading it on the first call.
+     *
+     * @return The value
+     */
+    @Override
+    public T get() {
+        if (loader != null) {
+            value = loader.get();
+            loader = null;
+        }
+        return value;
+    }
+
+}
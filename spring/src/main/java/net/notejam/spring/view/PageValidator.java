@@ -0,0 +1,140 @@
+package net.notejam.spring.view;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import net.notejam.spring.user.UserService;
+
+/**
+ * Answers conditional requests for the pages of the authenticated user.
+ *
+ * The ETag of a page is derived from the {@link DataVersions data tag} of the
+ * user, the locale, the CSRF token of the session and an optional
+ * modification time of the shown entity. The modification time is also sent
+ * as Last-Modified. Requests with flash attributes are never answered as not
+ * modified, because they show one-time messages.
+ *
+ * Validated pages replace the no-store default of Spring Security with
+ * private caching which always revalidates.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@Component
+public class PageValidator {
+
+    /**
+     * The Cache-Control header of validated pages.
+     */
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    /**
+     * The user service.
+     */
+    private final UserService userService;
+
+    /**
+     * The data versions of the users.
+     */
+    private final DataVersions versions;
+
+    /**
+     * Builds the validator with its dependencies.
+     *
+     * @param userService
+     *            user service
+     * @param versions
+     *            data versions of the users
+     */
+    @Autowired
+    PageValidator(final UserService userService, final DataVersions versions) {
+        this.userService = userService;
+        this.versions = versions;
+    }
+
+    /**
+     * Checks whether a page which depends only on the user's data was
+     * modified.
+     *
+     * If it wasn't modified, the response is set to 304 and the caller
+     * should return null without rendering.
+     *
+     * @param request
+     *            The request
+     * @return True if the page was not modified
+     */
+    public boolean isNotModified(final ServletWebRequest request) {
+        if (hasFlashAttributes(request)) {
+            return false;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return request.checkNotModified(getETag(request, null));
+    }
+
+    /**
+     * Checks whether a page of an entity was modified.
+     *
+     * @param request
+     *            The request
+     * @param lastModified
+     *            The modification time of the entity
+     * @return True if the page was not modified
+     * @see #isNotModified(ServletWebRequest)
+     */
+    public boolean isNotModified(final ServletWebRequest request, final Instant lastModified) {
+        if (hasFlashAttributes(request)) {
+            return false;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return request.checkNotModified(getETag(request, lastModified), lastModified.toEpochMilli());
+    }
+
+    /**
+     * Builds the ETag of a page.
+     *
+     * @param request
+     *            The request
+     * @param lastModified
+     *            The modification time of the entity, or null
+     * @return The ETag
+     */
+    private String getETag(final ServletWebRequest request, final Instant lastModified) {
+        StringBuilder validators = new StringBuilder();
+        validators.append(versions.getTag(userService.getAuthenticatedUserId()));
+        validators.append('|').append(LocaleContextHolder.getLocale());
+        CsrfToken token = (CsrfToken) request.getRequest().getAttribute(CsrfToken.class.getName());
+        if (token != null) {
+            validators.append('|').append(token.getToken());
+        }
+        if (lastModified != null) {
+            validators.append('|').append(lastModified);
+        }
+        return DigestUtils.md5DigestAsHex(validators.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns whether the request has flash attributes.
+     *
+     * @param request
+     *            The request
+     * @return True if there are flash attributes
+     */
+    private static boolean hasFlashAttributes(final ServletWebRequest request) {
+        HttpServletRequest servletRequest = request.getRequest();
+        Map<String, ?> flashAttributes = RequestContextUtils.getInputFlashMap(servletRequest);
+        return flashAttributes != null && !flashAttributes.isEmpty();
+    }
+
+}
@@ -17,11 +17,13 @@ public class ViewConfiguration {
     /**
      * Provide the notejam view dialect.
      *
+     * @param fragmentCache
+     *            The fragment cache
      * @return The notejam dialect.
      */
     @Bean
-    public NotejamDialect notejamDialect() {
-        return new NotejamDialect();
+    public NotejamDialect notejamDialect(final FragmentCache fragmentCache) {
+        return new NotejamDialect(fragmentCache);
     }
 
 }
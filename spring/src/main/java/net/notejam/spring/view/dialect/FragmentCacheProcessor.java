@@ -0,0 +1,101 @@
+package net.notejam.spring.view.dialect;
+
+import static net.notejam.spring.view.dialect.ProcessorUtil.getValue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.thymeleaf.Arguments;
+import org.thymeleaf.dom.Document;
+import org.thymeleaf.dom.Element;
+import org.thymeleaf.dom.Macro;
+import org.thymeleaf.dom.Node;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+import org.thymeleaf.processor.ProcessorResult;
+import org.thymeleaf.processor.attr.AbstractAttrProcessor;
+
+import net.notejam.spring.view.FragmentCache;
+
+/**
+ * A fragment cache.
+ *
+ * The attribute's value is the name of the fragment. The rendered children of
+ * the element are cached in the {@link FragmentCache}. On a hit the children
+ * are replaced by the cached output, so that neither they nor the data which
+ * they use are evaluated.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+final class FragmentCacheProcessor extends AbstractAttrProcessor {
+
+    /**
+     * The fragment cache.
+     */
+    private final FragmentCache fragments;
+
+    /**
+     * Sets the attribute name.
+     *
+     * @param attributeName
+     *            The attribute name.
+     * @param fragments
+     *            The fragment cache
+     */
+    FragmentCacheProcessor(final String attributeName, final FragmentCache fragments) {
+        super(attributeName);
+        this.fragments = fragments;
+    }
+
+    @Override
+    protected ProcessorResult processAttribute(final Arguments arguments, final Element element,
+            final String attributeName) {
+        String name = getValue(arguments, element, attributeName);
+        element.removeAttribute(attributeName);
+
+        String key = fragments.getKey(name, arguments.getContext().getLocale());
+        String fragment = fragments.get(key);
+        if (fragment == null) {
+            fragment = render(arguments, element);
+            fragments.put(key, fragment);
+        }
+
+        element.clearChildren();
+        element.addChild(new Macro(fragment));
+        return ProcessorResult.OK;
+    }
+
+    /**
+     * Renders the children of an element.
+     *
+     * @param arguments
+     *            The arguments
+     * @param element
+     *            The element
+     * @return The output of the children
+     */
+    private static String render(final Arguments arguments, final Element element) {
+        Document document = new Document(arguments.getTemplateName());
+        for (Node child : element.getChildren()) {
+            document.addChild(child.cloneNode(document, false));
+        }
+        document.process(arguments);
+
+        StringWriter writer = new StringWriter();
+        try {
+            arguments.getConfiguration()
+                    .getTemplateModeHandler(arguments.getTemplateResolution().getTemplateMode()).getTemplateWriter()
+                    .write(arguments, writer, document);
+
+        } catch (IOException e) {
+            throw new TemplateProcessingException("Can't render the fragment", e);
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public int getPrecedence() {
+        return 100;
+    }
+
+}
@@ -2,22 +2,30 @@ package net.notejam.spring.view.dialect;
 
 import static net.notejam.spring.view.dialect.ProcessorUtil.getValue;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.thymeleaf.Arguments;
 import org.thymeleaf.dom.Element;
+import org.thymeleaf.dom.Macro;
 import org.thymeleaf.dom.Node;
 import org.thymeleaf.dom.Text;
 import org.thymeleaf.processor.attr.AbstractChildrenModifierAttrProcessor;
 
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteHtml;
+
 /**
  * A note text formatter.
  *
  * Each empty line in a note's text delimits a paragraph. Paragraphs will be
  * wrapped in &lt;p> elements.
  *
+ * The value is either a text, a {@link Note} or a {@link NoteHtml}. The HTML
+ * which was rendered when the note was saved is written as it is.
+ *
  * @author markus@malkusch.de
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
  */
@@ -36,7 +44,15 @@ final class NoteTextProcessor extends AbstractChildrenModifierAttrProcessor {
     @Override
     protected List<Node> getModifiedChildren(final Arguments arguments, final Element element,
             final String attributeName) {
-        String text = getValue(arguments, element, attributeName);
+        Object value = getValue(arguments, element, attributeName);
+        if (value instanceof NoteHtml) {
+            return Collections.singletonList(new Macro(((NoteHtml) value).getHtml()));
+        }
+        if (value instanceof Note) {
+            value = ((Note) value).getText();
+        }
+
+        String text = (String) value;
         String[] paragraphTexts = text.trim().split("\\R{2,}");
 
         return Stream.of(paragraphTexts).map(paragraphText -> {
@@ -6,19 +6,47 @@ import java.util.Set;
 import org.thymeleaf.dialect.AbstractDialect;
 import org.thymeleaf.processor.IProcessor;
 
+import net.notejam.spring.view.FragmentCache;
+
 /**
  * The Notejam view dialect.
  *
  * The prefix of this dialect is "notejam". These are the dialect's attributes:
  *
  * <li>date: Formats a date into natural language.
- * <li>text: Converts empty lines into paragraphs.
+ * <li>time: Writes a date as a &lt;time> element, which js/time.js formats
+ * into natural language.
+ * <li>text: Converts empty lines of a text or note into paragraphs.
+ * <li>cache: Caches the rendered children under a fragment name in the
+ * {@link FragmentCache}.
  *
  * @author markus@malkusch.de
  * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
  */
 public final class NotejamDialect extends AbstractDialect {
 
+    /**
+     * The fragment cache, or null.
+     */
+    private final FragmentCache fragmentCache;
+
+    /**
+     * Builds the dialect without the cache attribute.
+     */
+    public NotejamDialect() {
+        this(null);
+    }
+
+    /**
+     * Builds the dialect.
+     *
+     * @param fragmentCache
+     *            The fragment cache, or null without the cache attribute
+     */
+    public NotejamDialect(final FragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+
     @Override
     public String getPrefix() {
         return "notejam";
@@ -29,6 +57,10 @@ public final class NotejamDialect extends AbstractDialect {
         Set<IProcessor> processors = new HashSet<IProcessor>();
         processors.add(new NaturalLanguageDateProcessor("date"));
         processors.add(new NoteTextProcessor("text"));
+        processors.add(new TimeProcessor("time"));
+        if (fragmentCache != null) {
+            processors.add(new FragmentCacheProcessor("cache", fragmentCache));
+        }
         return processors;
     }
 
@@ -0,0 +1,74 @@
+package net.notejam.spring.view.dialect;
+
+import static net.notejam.spring.view.dialect.ProcessorUtil.getValue;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.thymeleaf.Arguments;
+import org.thymeleaf.dom.Element;
+import org.thymeleaf.dom.Node;
+import org.thymeleaf.dom.Text;
+import org.thymeleaf.processor.attr.AbstractChildrenModifierAttrProcessor;
+
+/**
+ * A machine readable date.
+ *
+ * The date is written as a &lt;time> element with the ISO-8601 instant in its
+ * datetime attribute and the date in the format of the message "dateFormat"
+ * as its text. Unlike the natural language date, the output only changes with
+ * the date, so that pages can be cached. The script js/time.js turns the text
+ * into natural language on the client.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+final class TimeProcessor extends AbstractChildrenModifierAttrProcessor {
+
+    /**
+     * The message key of the date format.
+     */
+    private static final String FORMAT_KEY = "dateFormat";
+
+    /**
+     * The formatters by locale.
+     */
+    private final ConcurrentMap<Locale, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the attribute name.
+     *
+     * @param attributeName
+     *            The attribute name.
+     */
+    TimeProcessor(final String attributeName) {
+        super(attributeName);
+    }
+
+    @Override
+    protected List<Node> getModifiedChildren(final Arguments arguments, final Element element,
+            final String attributeName) {
+        Instant instant = getValue(arguments, element, attributeName);
+        Locale locale = arguments.getContext().getLocale();
+        DateTimeFormatter formatter = formatters.computeIfAbsent(locale,
+                key -> DateTimeFormatter.ofPattern(getMessageForTemplate(arguments, FORMAT_KEY, new Object[0]), key)
+                        .withZone(ZoneId.systemDefault()));
+
+        Element time = new Element("time");
+        time.setAttribute("datetime", instant.toString());
+        time.addChild(new Text(formatter.format(instant)));
+        return Collections.singletonList(time);
+    }
+
+    @Override
+    public int getPrecedence() {
+        return 12000;
+    }
+
+}
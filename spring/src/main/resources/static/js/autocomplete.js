@@ -0,0 +1,70 @@
+/*
+ * Suggests notes and pads while typing into the search form.
+ */
+(function () {
+	"use strict";
+
+	var DELAY = 150;
+
+	function attach(form) {
+		var input = form.querySelector("input[name=q]");
+		var url = form.getAttribute("data-autocomplete");
+		var context = form.getAttribute("data-context").replace(/\/$/, "");
+		var list = document.createElement("ul");
+		var timer = null;
+		var request = null;
+
+		list.className = "autocomplete";
+		form.appendChild(list);
+
+		function clear() {
+			while (list.firstChild) {
+				list.removeChild(list.firstChild);
+			}
+		}
+
+		function show(suggestions) {
+			clear();
+			suggestions.forEach(function (suggestion) {
+				var item = document.createElement("li");
+				var link = document.createElement("a");
+				link.href = context + suggestion.path;
+				link.className = suggestion.type.toLowerCase();
+				link.textContent = suggestion.name;
+				item.appendChild(link);
+				list.appendChild(item);
+			});
+		}
+
+		function complete() {
+			var prefix = input.value;
+			if (request) {
+				request.abort();
+			}
+			if (!prefix.trim()) {
+				clear();
+				return;
+			}
+			request = new XMLHttpRequest();
+			request.open("GET", url + "?q=" + encodeURIComponent(prefix));
+			request.setRequestHeader("Accept", "application/json");
+			request.onload = function () {
+				if (this.status === 200 && input.value === prefix) {
+					show(JSON.parse(this.responseText));
+				}
+			};
+			request.send();
+		}
+
+		input.setAttribute("autocomplete", "off");
+		input.addEventListener("input", function () {
+			clearTimeout(timer);
+			timer = setTimeout(complete, DELAY);
+		});
+		input.addEventListener("blur", function () {
+			setTimeout(clear, DELAY);
+		});
+	}
+
+	Array.prototype.forEach.call(document.querySelectorAll("form[data-autocomplete]"), attach);
+}());
@@ -0,0 +1,33 @@
+/*
+ * Shows the progress of an import while the file is uploaded and imported.
+ */
+(function () {
+	"use strict";
+
+	var INTERVAL = 1000;
+
+	function attach(form) {
+		var url = form.getAttribute("data-progress");
+		var message = form.getAttribute("data-progress-message");
+		var output = form.querySelector(".import-progress");
+
+		function poll() {
+			var request = new XMLHttpRequest();
+			request.open("GET", url);
+			request.setRequestHeader("Accept", "application/json");
+			request.onload = function () {
+				if (this.status === 200) {
+					var report = JSON.parse(this.responseText);
+					output.textContent = message.replace("{0}", report.pads).replace("{1}", report.notes);
+				}
+			};
+			request.send();
+		}
+
+		form.addEventListener("submit", function () {
+			setInterval(poll, INTERVAL);
+		});
+	}
+
+	Array.prototype.forEach.call(document.querySelectorAll("form[data-progress]"), attach);
+}());
@@ -0,0 +1,41 @@
+/*
+ * Formats the <time> elements of the page into natural language, e.g.
+ * "3 minutes ago". The absolute date of the server stays as the title.
+ */
+(function () {
+	"use strict";
+
+	if (typeof Intl === "undefined" || !Intl.RelativeTimeFormat) {
+		return;
+	}
+
+	var UNITS = [
+		["year", 365 * 24 * 3600],
+		["month", 30 * 24 * 3600],
+		["week", 7 * 24 * 3600],
+		["day", 24 * 3600],
+		["hour", 3600],
+		["minute", 60],
+		["second", 1]
+	];
+
+	var format = new Intl.RelativeTimeFormat(document.documentElement.lang || undefined, {numeric: "auto"});
+
+	function relative(date) {
+		var seconds = (date.getTime() - Date.now()) / 1000;
+		for (var i = 0; i < UNITS.length; i++) {
+			if (Math.abs(seconds) >= UNITS[i][1] || i === UNITS.length - 1) {
+				return format.format(Math.round(seconds / UNITS[i][1]), UNITS[i][0]);
+			}
+		}
+	}
+
+	Array.prototype.forEach.call(document.querySelectorAll("time[datetime]"), function (time) {
+		var date = new Date(time.getAttribute("datetime"));
+		if (isNaN(date.getTime())) {
+			return;
+		}
+		time.title = time.textContent;
+		time.textContent = relative(date);
+	});
+}());
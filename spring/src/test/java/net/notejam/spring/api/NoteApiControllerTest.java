@@ -0,0 +1,177 @@
+package net.notejam.spring.api;
+
+import static net.notejam.spring.test.UriUtil.buildUri;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.test.MockMvcProvider;
+import net.notejam.spring.user.SignedUpUserProvider;
+import net.notejam.spring.user.UserService;
+
+/**
+ * An integration test for the {@link NoteApiController}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@WithMockUser(SignedUpUserProvider.EMAIL)
+public class NoteApiControllerTest {
+
+    private static final Pattern NEXT = Pattern.compile("<([^>]*)>; rel=\"next\"");
+
+    @Rule
+    @Autowired
+    public MockMvcProvider mockMvcProvider;
+
+    @Rule
+    @Autowired
+    public SignedUpUserProvider userProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteService service;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private Note note;
+
+    @Before
+    public void setNotes() {
+        for (String name : new String[] { "a", "b", "c" }) {
+            note = service.buildNote(null);
+            note.setName(new Name(name));
+            note.setText("text");
+            service.saveNote(note, null);
+        }
+    }
+
+    /**
+     * The notes are listed as summaries in slices which link to each other.
+     */
+    @Test
+    public void notesAreListedInSlices() throws Exception {
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc()
+                .perform(get(URITemplates.API_NOTES + "?size=2&sort=name,asc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(SliceResponses.TOTAL_COUNT, notNullValue()))
+            .andReturn().getResponse();
+
+        List<Map<String, Object>> notes = readList(response);
+        assertEquals(2, notes.size());
+        assertEquals("a", notes.get(0).get("name"));
+        assertFalse(notes.get(0).containsKey("text"));
+
+        Matcher next = NEXT.matcher(response.getHeader("Link"));
+        assertTrue(next.find());
+        response = mockMvcProvider.getMockMvc().perform(get(URI.create(next.group(1))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+
+        notes = readList(response);
+        assertEquals(1, notes.size());
+        assertEquals("c", notes.get(0).get("name"));
+        assertFalse(NEXT.matcher(response.getHeader("Link")).find());
+    }
+
+    /**
+     * A note is shown with its text.
+     */
+    @Test
+    public void noteCanBeShown() throws Exception {
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc()
+                .perform(get(buildUri(URITemplates.API_NOTE, note.getId())))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+
+        Map<String, Object> shown = mapper.readValue(response.getContentAsString(),
+                new TypeReference<Map<String, Object>>() {
+                });
+        assertEquals("c", shown.get("name"));
+        assertEquals("text", shown.get("text"));
+        assertNull(shown.get("padId"));
+    }
+
+    /**
+     * A note can't be shown to another user.
+     */
+    @Test
+    public void noteCannotBeShownToOtherUser() throws Exception {
+        final String otherUser = "another@example.net";
+        userService.signUp(otherUser, "password");
+
+        mockMvcProvider.getMockMvc().perform(get(buildUri(URITemplates.API_NOTE, note.getId()))
+                .with(user(otherUser)))
+            .andExpect(status().isNotFound());
+    }
+
+    /**
+     * A note can be created.
+     */
+    @Test
+    public void noteCanBeCreated() throws Exception {
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc().perform(post(URITemplates.API_NOTES)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"created\",\"text\":\"text\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse();
+
+        assertNotNull(response.getHeader("Location"));
+        mockMvcProvider.getMockMvc().perform(get(URI.create(response.getHeader("Location"))))
+            .andExpect(status().isOk());
+    }
+
+    /**
+     * An invalid note is rejected.
+     */
+    @Test
+    public void invalidNoteIsRejected() throws Exception {
+        mockMvcProvider.getMockMvc().perform(post(URITemplates.API_NOTES)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"\",\"text\":\"text\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private List<Map<String, Object>> readList(final MockHttpServletResponse response) throws Exception {
+        return mapper.readValue(response.getContentAsString(), new TypeReference<List<Map<String, Object>>>() {
+        });
+    }
+
+}
@@ -0,0 +1,197 @@
+package net.notejam.spring.api;
+
+import static net.notejam.spring.test.UriUtil.buildUri;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.pad.PadService;
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.test.MockMvcProvider;
+import net.notejam.spring.user.SignedUpUserProvider;
+import net.notejam.spring.user.UserService;
+
+/**
+ * An integration test for the {@link PadApiController}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@WithMockUser(SignedUpUserProvider.EMAIL)
+public class PadApiControllerTest {
+
+    private static final String OTHER_USER = "another@example.net";
+
+    @Rule
+    @Autowired
+    public MockMvcProvider mockMvcProvider;
+
+    @Rule
+    @Autowired
+    public SignedUpUserProvider userProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PadService padService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private Pad pad;
+
+    @Before
+    public void setPad() {
+        pad = padService.createPad(new Name("pad"));
+        for (String name : new String[] { "a", "b" }) {
+            Note note = noteService.buildNote(pad.getId());
+            note.setName(new Name(name));
+            note.setText("text");
+            noteService.saveNote(note, pad);
+        }
+    }
+
+    /**
+     * The pads of the user are listed.
+     */
+    @Test
+    public void padsAreListed() throws Exception {
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc().perform(get(URITemplates.API_PADS))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+
+        List<Map<String, Object>> pads = readList(response);
+        assertEquals(1, pads.size());
+        assertEquals("pad", pads.get(0).get("name"));
+    }
+
+    /**
+     * A pad is shown.
+     */
+    @Test
+    public void padCanBeShown() throws Exception {
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc()
+                .perform(get(buildUri(URITemplates.API_PAD, pad.getId())))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+
+        Map<String, Object> shown = mapper.readValue(response.getContentAsString(),
+                new TypeReference<Map<String, Object>>() {
+                });
+        assertEquals("pad", shown.get("name"));
+    }
+
+    /**
+     * The notes of a pad are listed.
+     */
+    @Test
+    public void padNotesAreListed() throws Exception {
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc()
+                .perform(get(buildUri(URITemplates.API_PAD_NOTES, pad.getId()) + "?sort=name,asc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(SliceResponses.TOTAL_COUNT, "2"))
+            .andReturn().getResponse();
+
+        List<Map<String, Object>> notes = readList(response);
+        assertEquals(2, notes.size());
+        assertEquals("a", notes.get(0).get("name"));
+    }
+
+    /**
+     * A reload of unchanged pad notes is answered with 304.
+     */
+    @Test
+    public void unchangedPadNotesAreNotModified() throws Exception {
+        String uri = buildUri(URITemplates.API_PAD_NOTES, pad.getId());
+        MockHttpSession session = new MockHttpSession();
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc().perform(get(uri).session(session))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", notNullValue()))
+            .andReturn().getResponse();
+
+        mockMvcProvider.getMockMvc().perform(get(uri).session(session)
+                .header("If-None-Match", response.getHeader("ETag")))
+            .andExpect(status().isNotModified());
+    }
+
+    /**
+     * A pad of another user is not found.
+     */
+    @Test
+    public void padOfOtherUserIsNotFound() throws Exception {
+        userService.signUp(OTHER_USER, "password");
+
+        mockMvcProvider.getMockMvc().perform(get(buildUri(URITemplates.API_PAD, pad.getId()))
+                .with(user(OTHER_USER)))
+            .andExpect(status().isNotFound());
+    }
+
+    /**
+     * A conditional request for the notes of another user's pad is not found
+     * instead of answered with 304.
+     */
+    @Test
+    public void conditionalPadNotesOfOtherUserAreNotFound() throws Exception {
+        userService.signUp(OTHER_USER, "password");
+        String uri = buildUri(URITemplates.API_PAD_NOTES, pad.getId());
+        MockHttpSession session = new MockHttpSession();
+
+        mockMvcProvider.getMockMvc().perform(get(uri).session(session)
+                .with(user(OTHER_USER)))
+            .andExpect(status().isNotFound())
+            .andExpect(header().string("ETag", nullValue()));
+
+        mockMvcProvider.getMockMvc().perform(get(uri).session(session)
+                .with(user(OTHER_USER))
+                .header("If-None-Match", "*"))
+            .andExpect(status().isNotFound());
+    }
+
+    /**
+     * An anonymous request is not authorized.
+     */
+    @Test
+    public void anonymousCannotListPads() throws Exception {
+        mockMvcProvider.getMockMvc().perform(get(URITemplates.API_PADS)
+                .with(anonymous()))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private List<Map<String, Object>> readList(final MockHttpServletResponse response) throws Exception {
+        return mapper.readValue(response.getContentAsString(), new TypeReference<List<Map<String, Object>>>() {
+        });
+    }
+
+}
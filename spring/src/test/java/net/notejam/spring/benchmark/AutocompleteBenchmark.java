@@ -0,0 +1,90 @@
+package net.notejam.spring.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import net.notejam.spring.search.UserNames;
+
+/**
+ * Measures the autocompletion of a user with many note names.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutocompleteBenchmark {
+
+    /**
+     * The words of the generated names.
+     */
+    private static final String[] WORDS = { "meeting", "notes", "plan", "report", "project", "weekly", "ideas",
+            "shopping", "travel", "budget", "review", "draft", "todo", "recipe", "book" };
+
+    /**
+     * The number of note names.
+     */
+    @Param("50000")
+    private int size;
+
+    /**
+     * The names.
+     */
+    private UserNames names;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        names = new UserNames();
+        names.batch(() -> {
+            for (int i = 0; i < size; i++) {
+                String name = String.format("%s %s %d", WORDS[random.nextInt(WORDS.length)],
+                        WORDS[random.nextInt(WORDS.length)], i);
+                names.putNote(i, null, name);
+            }
+        });
+    }
+
+    @Benchmark
+    public void completeName(final Blackhole blackhole) {
+        blackhole.consume(names.complete("re", 10));
+    }
+
+    @Benchmark
+    public void completeWord(final Blackhole blackhole) {
+        blackhole.consume(names.complete("rev", 10));
+    }
+
+    @Benchmark
+    public void completeMiss(final Blackhole blackhole) {
+        blackhole.consume(names.complete("xyz", 10));
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            unused
+     * @throws RunnerException
+     *             If the benchmark failed
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AutocompleteBenchmark.class.getSimpleName()).forks(1).build())
+                .run();
+    }
+
+}
@@ -0,0 +1,124 @@
+package net.notejam.spring.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import net.notejam.spring.mail.MailTransport;
+import net.notejam.spring.test.LocalSmtpServer;
+
+/**
+ * Measures mails per second against an in-process SMTP server.
+ *
+ * The baseline sends each mail with its own connection like
+ * {@link JavaMailSenderImpl#send(SimpleMailMessage)}. The pooled variant sends
+ * batches over the persistent connections of the {@link MailTransport}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MailTransportBenchmark {
+
+    /**
+     * The number of mails per batch.
+     */
+    private static final int MAILS = 50;
+
+    /**
+     * The number of SMTP connections of the pooled transport.
+     */
+    @Param({ "1", "4" })
+    public int connections;
+
+    private final LocalSmtpServer smtpServer = new LocalSmtpServer();
+
+    private JavaMailSenderImpl mailSender;
+
+    private ExecutorService executor;
+
+    private MailTransport transport;
+
+    private List<SimpleMailMessage> messages;
+
+    @Setup
+    public void setup() throws IOException {
+        smtpServer.start();
+        mailSender = smtpServer.getMailSender();
+        executor = Executors.newFixedThreadPool(connections);
+        transport = new MailTransport(Optional.of(mailSender), executor, connections);
+
+        messages = new ArrayList<>(MAILS);
+        for (int i = 0; i < MAILS; i++) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom("sender@example.net");
+            message.setTo("user" + i + "@example.net");
+            message.setSubject("Password recovery");
+            message.setText("Follow the link to recover your password.");
+            messages.add(message);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearMessages() {
+        smtpServer.getMessages().clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        transport.closeIdle();
+        executor.shutdown();
+        smtpServer.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MAILS)
+    public void connectionPerMail() {
+        for (SimpleMailMessage message : messages) {
+            mailSender.send(message);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MAILS)
+    public MailException[] pooled() {
+        return transport.send(messages);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            unused
+     * @throws RunnerException
+     *             If the benchmark failed
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MailTransportBenchmark.class.getSimpleName()).forks(1).build()).run();
+    }
+
+}
@@ -0,0 +1,130 @@
+package net.notejam.spring.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import net.notejam.spring.Application;
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.security.NotejamPrincipal;
+import net.notejam.spring.user.User;
+import net.notejam.spring.user.UserService;
+
+/**
+ * Measures inserted notes per second.
+ *
+ * The notes are saved one by one with {@link NoteService#saveNote} and at once
+ * with {@link NoteService#saveNotes}. A JDBC batch size of 1 sends one
+ * statement per note like the former identity id generation did.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NoteInsertBenchmark {
+
+    /**
+     * The number of notes per invocation.
+     */
+    private static final int NOTES = 100;
+
+    /**
+     * The JDBC batch size.
+     */
+    @Param({ "1", "50" })
+    public int batchSize;
+
+    /**
+     * The application.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * The note service.
+     */
+    private NoteService noteService;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(Application.class).profiles("test")
+                .properties("server.port=0", "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize).run();
+        noteService = context.getBean(NoteService.class);
+
+        User user = context.getBean(UserService.class).signUp("benchmark@example.net", "password");
+        NotejamPrincipal principal = new NotejamPrincipal(user.getId(), user.getEmail(), user.getPassword());
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOTES)
+    public void saveNote() {
+        for (int i = 0; i < NOTES; i++) {
+            noteService.saveNote(buildNote(), null);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOTES)
+    public void saveNotes() {
+        List<Note> notes = new ArrayList<>(NOTES);
+        for (int i = 0; i < NOTES; i++) {
+            notes.add(buildNote());
+        }
+        noteService.saveNotes(notes, null);
+    }
+
+    /**
+     * Builds a new note.
+     *
+     * @return The note
+     */
+    private Note buildNote() {
+        Note note = noteService.buildNote(null);
+        note.setName(new Name("name"));
+        note.setText("text");
+        return note;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            unused
+     * @throws RunnerException
+     *             If the benchmark failed
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NoteInsertBenchmark.class.getSimpleName()).forks(1).build()).run();
+    }
+
+}
@@ -0,0 +1,133 @@
+package net.notejam.spring.benchmark;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+import net.notejam.spring.Application;
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.security.NotejamPrincipal;
+import net.notejam.spring.user.User;
+import net.notejam.spring.user.UserService;
+
+/**
+ * Measures requests per second for the same list of notes as HTML and JSON.
+ *
+ * The requests are dispatched through the security filters and the MVC
+ * framework, but not through a network connection. The fragment cache is
+ * turned off, so that every HTML request renders the template like the first
+ * request after a change of the notes.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NoteListBenchmark {
+
+    /**
+     * The number of notes of the user.
+     */
+    private static final int NOTES = 500;
+
+    /**
+     * The query of the listed slice.
+     */
+    private static final String QUERY = "?size=50&sort=updated,desc";
+
+    /**
+     * The application.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * The MVC dispatcher.
+     */
+    private MockMvc mockMvc;
+
+    /**
+     * The authentication of the user.
+     */
+    private Authentication authentication;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(Application.class).profiles("test")
+                .properties("server.port=0", "view.fragmentCache.size=0").run();
+        mockMvc = webAppContextSetup((WebApplicationContext) context).apply(springSecurity()).build();
+
+        User user = context.getBean(UserService.class).signUp("benchmark@example.net", "password");
+        NotejamPrincipal principal = new NotejamPrincipal(user.getId(), user.getEmail(), user.getPassword());
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        NoteService noteService = context.getBean(NoteService.class);
+        List<Note> notes = new ArrayList<>(NOTES);
+        for (int i = 0; i < NOTES; i++) {
+            Note note = noteService.buildNote(null);
+            note.setName(new Name("note " + i));
+            note.setText("The text of the note " + i + ".\n\nIt has a second paragraph.");
+            notes.add(note);
+        }
+        noteService.saveNotes(notes, null);
+        SecurityContextHolder.clearContext();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int html() throws Exception {
+        return mockMvc.perform(get(URITemplates.VIEW_ALL_NOTES + QUERY).with(authentication(authentication)))
+                .andReturn().getResponse().getContentAsByteArray().length;
+    }
+
+    @Benchmark
+    public int api() throws Exception {
+        return mockMvc.perform(get(URITemplates.API_NOTES + QUERY).with(authentication(authentication)))
+                .andReturn().getResponse().getContentAsByteArray().length;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            unused
+     * @throws RunnerException
+     *             If the benchmark failed
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NoteListBenchmark.class.getSimpleName()).forks(1).build()).run();
+    }
+
+}
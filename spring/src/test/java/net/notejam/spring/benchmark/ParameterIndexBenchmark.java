@@ -0,0 +1,90 @@
+package net.notejam.spring.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import net.notejam.spring.helper.reflection.Annotated;
+import net.notejam.spring.helper.reflection.ParameterIndex;
+import net.notejam.spring.helper.reflection.ReflectionUtils;
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.security.owner.PermitOwner;
+
+/**
+ * Compares finding the {@link PermitOwner} arguments by scanning the
+ * parameter annotations with looking up the cached {@link ParameterIndex}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParameterIndexBenchmark {
+
+    /**
+     * The intercepted method.
+     */
+    private Method method;
+
+    /**
+     * The method arguments.
+     */
+    private Object[] arguments;
+
+    /**
+     * The index.
+     */
+    private ParameterIndex<PermitOwner> index;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        method = NoteService.class.getMethod("saveNote", Note.class, Pad.class);
+        arguments = new Object[] { new Note(), null };
+        index = new ParameterIndex<>(PermitOwner.class);
+    }
+
+    @Benchmark
+    public void scanAnnotations(final Blackhole blackhole) {
+        List<Annotated<PermitOwner, Object>> annotated = ReflectionUtils
+                .<PermitOwner, Object> getAnnotatedArguments(PermitOwner.class, method, arguments);
+        for (Annotated<PermitOwner, Object> argument : annotated) {
+            blackhole.consume(argument.getObject());
+        }
+    }
+
+    @Benchmark
+    public void lookupIndex(final Blackhole blackhole) {
+        for (int position : index.getPositions(method)) {
+            blackhole.consume(arguments[position]);
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            unused
+     * @throws RunnerException
+     *             If the benchmark failed
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParameterIndexBenchmark.class.getSimpleName()).forks(1).build())
+                .run();
+    }
+
+}
@@ -0,0 +1,204 @@
+package net.notejam.spring.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import net.notejam.spring.Application;
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.security.NotejamPrincipal;
+import net.notejam.spring.user.User;
+import net.notejam.spring.user.UserService;
+
+/**
+ * Measures the throughput and latency of 2000 concurrent sessions.
+ *
+ * Each benchmark thread is a client with its own session, which requests a
+ * slice of notes from the JSON API over HTTP. The server handles the requests
+ * either with Tomcat's worker pool or on virtual threads. The sample time mode
+ * reports the percentiles of the latency, including p0.99.
+ *
+ * Virtual threads require running the benchmark with Java 21 or later.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(RequestLoadBenchmark.SESSIONS)
+public class RequestLoadBenchmark {
+
+    /**
+     * The number of concurrent sessions.
+     */
+    static final int SESSIONS = 2000;
+
+    /**
+     * The email of the user.
+     */
+    private static final String EMAIL = "benchmark@example.net";
+
+    /**
+     * The password of the user.
+     */
+    private static final String PASSWORD = "password";
+
+    /**
+     * The number of notes of the user.
+     */
+    private static final int NOTES = 200;
+
+    /**
+     * The application server.
+     */
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        /**
+         * Whether the server runs on virtual threads.
+         */
+        @Param({ "false", "true" })
+        public boolean virtualThreads;
+
+        /**
+         * The application.
+         */
+        private ConfigurableApplicationContext context;
+
+        /**
+         * The URL of the listed notes.
+         */
+        private URL notes;
+
+        @Setup
+        public void setup() throws IOException {
+            context = new SpringApplicationBuilder(Application.class).profiles("test")
+                    .properties("server.port=0", "async.virtualThreads=" + virtualThreads).run();
+            notes = new URL(String.format("http://localhost:%s%s?size=20",
+                    context.getEnvironment().getProperty("local.server.port"), URITemplates.API_NOTES));
+
+            User user = context.getBean(UserService.class).signUp(EMAIL, PASSWORD);
+            NotejamPrincipal principal = new NotejamPrincipal(user.getId(), user.getEmail(), user.getPassword());
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            NoteService noteService = context.getBean(NoteService.class);
+            List<Note> created = new ArrayList<>(NOTES);
+            for (int i = 0; i < NOTES; i++) {
+                Note note = noteService.buildNote(null);
+                note.setName(new Name("note " + i));
+                note.setText("text " + i);
+                created.add(note);
+            }
+            noteService.saveNotes(created, null);
+            SecurityContextHolder.clearContext();
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+
+    }
+
+    /**
+     * The session of a client.
+     */
+    @State(Scope.Thread)
+    public static class Session {
+
+        /**
+         * The session cookie.
+         */
+        private String cookie;
+
+        /**
+         * Signs in with HTTP Basic and keeps the session cookie.
+         *
+         * @param server
+         *            The server
+         * @throws IOException
+         *             If signing in failed
+         */
+        @Setup
+        public void signIn(final Server server) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) server.notes.openConnection();
+            String credentials = EMAIL + ":" + PASSWORD;
+            connection.setRequestProperty("Authorization",
+                    "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+            consume(connection);
+            cookie = connection.getHeaderField("Set-Cookie").split(";", 2)[0];
+        }
+
+    }
+
+    @Benchmark
+    public int listNotes(final Server server, final Session session) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) server.notes.openConnection();
+        connection.setRequestProperty("Cookie", session.cookie);
+        return consume(connection);
+    }
+
+    /**
+     * Reads a response.
+     *
+     * @param connection
+     *            The connection
+     * @return The number of bytes of the body
+     * @throws IOException
+     *             If the response isn't 200 or can't be read
+     */
+    private static int consume(final HttpURLConnection connection) throws IOException {
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Unexpected status " + connection.getResponseCode());
+        }
+        int length = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream body = connection.getInputStream()) {
+            for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                length += read;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            unused
+     * @throws RunnerException
+     *             If the benchmark failed
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestLoadBenchmark.class.getSimpleName()).forks(1)
+                .jvmArgsAppend("-Dhttp.maxConnections=" + SESSIONS).build()).run();
+    }
+
+}
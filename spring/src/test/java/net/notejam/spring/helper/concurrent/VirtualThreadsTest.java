@@ -0,0 +1,51 @@
+package net.notejam.spring.helper.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * A test for VirtualThreads
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class VirtualThreadsTest {
+
+    @After
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Tasks run on named threads with the security context of the caller.
+     */
+    @Test
+    public void testNewExecutor() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        Authentication authentication = new TestingAuthenticationToken("user", "password");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        assertEquals(authentication, VirtualThreads.newExecutor("test-")
+                .submit(() -> SecurityContextHolder.getContext().getAuthentication()).get());
+        assertTrue(VirtualThreads.newExecutor("test-").submit(() -> Thread.currentThread().getName()).get()
+                .startsWith("test-"));
+    }
+
+    /**
+     * Without virtual threads no executor can be built.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNewExecutorWithoutSupport() {
+        assumeFalse(VirtualThreads.isSupported());
+        VirtualThreads.newExecutor("test-");
+    }
+
+}
@@ -0,0 +1,54 @@
+package net.notejam.spring.helper.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import net.notejam.spring.test.IntegrationTest;
+
+/**
+ * An integration test for the {@link Migrations}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+public class MigrationsTest {
+
+    @Autowired
+    private Migrations migrations;
+
+    @Autowired
+    private MigrationRepository repository;
+
+    /**
+     * A migration runs only once.
+     */
+    @Test
+    public void migrationRunsOnce() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(migrations.runOnce("test", runs::incrementAndGet));
+        assertFalse(migrations.runOnce("test", runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        assertTrue(repository.exists("test"));
+    }
+
+    /**
+     * The startup recorded the initialization of the note counters.
+     */
+    @Test
+    public void noteCountersAreInitializedAtStartup() {
+        assertTrue(repository.exists("note-counters"));
+    }
+
+}
@@ -0,0 +1,63 @@
+package net.notejam.spring.helper.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.user.SignedUpUserProvider;
+
+/**
+ * An integration test for the {@link SequenceInitializer}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+public class SequenceInitializerTest {
+
+    @Rule
+    @Autowired
+    public SignedUpUserProvider userProvider;
+
+    @Autowired
+    private SequenceInitializer initializer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * A sequence below the existing ids is restarted above them.
+     */
+    @Test
+    public void sequenceBelowExistingIdsIsRestarted() {
+        entityManager.createNativeQuery(
+                String.format("ALTER SEQUENCE %s RESTART WITH 1", PooledPersistable.SEQUENCE)).executeUpdate();
+
+        initializer.initialize();
+
+        assertTrue(initializer.nextValue() > userProvider.getUser().getId() + PooledPersistable.INCREMENT_SIZE);
+    }
+
+    /**
+     * A sequence above the existing ids is not restarted.
+     */
+    @Test
+    public void sequenceAboveExistingIdsIsKept() {
+        long value = initializer.nextValue();
+
+        initializer.initialize();
+
+        assertEquals(value + 2 * PooledPersistable.INCREMENT_SIZE, initializer.nextValue());
+    }
+
+}
@@ -0,0 +1,41 @@
+package net.notejam.spring.helper.reflection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+/**
+ * A test for ParameterIndex
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class ParameterIndexTest {
+
+    /**
+     * A method with annotated parameters.
+     */
+    @SuppressWarnings("unused")
+    private void annotated(@Deprecated final Object a, final Object b, @Deprecated final Object c) {
+    }
+
+    @Test
+    public void testGetPositions() throws NoSuchMethodException {
+        Method method = getClass().getDeclaredMethod("annotated", Object.class, Object.class, Object.class);
+        ParameterIndex<Deprecated> index = new ParameterIndex<>(Deprecated.class);
+
+        assertArrayEquals(new int[] { 0, 2 }, index.getPositions(method));
+    }
+
+    @Test
+    public void testGetPositionsIsCached() throws NoSuchMethodException {
+        Method method = getClass().getDeclaredMethod("annotated", Object.class, Object.class, Object.class);
+        ParameterIndex<Deprecated> index = new ParameterIndex<>(Deprecated.class);
+
+        assertSame(index.getPositions(method), index.getPositions(method));
+    }
+
+}
@@ -0,0 +1,132 @@
+package net.notejam.spring.mail;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.test.LocalSmtpServer;
+
+/**
+ * An integration test for the {@link MailOutbox} with an in-process SMTP
+ * server.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+public class MailOutboxTest {
+
+    @Rule
+    public LocalSmtpServer smtpServer = new LocalSmtpServer();
+
+    @Autowired
+    private OutboxMailRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MailOutbox buildOutbox(final int maxAttempts) {
+        return buildOutbox(maxAttempts, Runnable::run);
+    }
+
+    private MailOutbox buildOutbox(final int maxAttempts, final Executor executor) {
+        MailTransport transport = new MailTransport(Optional.of(smtpServer.getMailSender()), Runnable::run, 2);
+        return new MailOutbox(repository, transactionManager, transport, executor, "sender@example.net", 2,
+                maxAttempts, 60, 3600);
+    }
+
+    /**
+     * The appended mails are sent by the dispatcher and leave the outbox.
+     */
+    @Test
+    public void appendedMailsAreSent() {
+        MailOutbox outbox = buildOutbox(3);
+        for (int i = 0; i < 3; i++) {
+            outbox.append("user" + i + "@example.net", "subject " + i, "text " + i);
+        }
+        assertEquals(3, outbox.getQueueDepth());
+
+        assertEquals(3, outbox.dispatch());
+        assertEquals(3, smtpServer.getMessages().size());
+        assertTrue(smtpServer.getMessages().get(0).contains("To: user0@example.net"));
+        assertTrue(smtpServer.getMessages().get(0).contains("Subject: subject 0"));
+        assertEquals(0, outbox.getQueueDepth());
+        assertEquals(3, outbox.getSent());
+    }
+
+    /**
+     * A failed mail stays in the outbox and is not retried before its
+     * backoff.
+     */
+    @Test
+    public void failedMailIsRetriedAfterBackoff() {
+        MailOutbox outbox = buildOutbox(3);
+        outbox.append("user@example.net", "subject", "text");
+        smtpServer.setRejecting(true);
+
+        assertEquals(0, outbox.dispatch());
+        assertEquals(1, outbox.getQueueDepth());
+        assertEquals(1, outbox.getRetried());
+
+        OutboxMail mail = repository.findAll().get(0);
+        assertEquals(1, mail.getAttempts());
+        assertTrue(mail.getDue().isAfter(mail.getCreated()));
+
+        smtpServer.setRejecting(false);
+        assertEquals(0, outbox.dispatch());
+        assertEquals(0, smtpServer.getMessages().size());
+        assertEquals(1, outbox.getRetried());
+    }
+
+    /**
+     * A mail is dropped after its last attempt.
+     */
+    @Test
+    public void mailIsDroppedAfterLastAttempt() {
+        MailOutbox outbox = buildOutbox(1);
+        outbox.append("user@example.net", "subject", "text");
+        smtpServer.setRejecting(true);
+
+        assertEquals(0, outbox.dispatch());
+        assertEquals(0, outbox.getQueueDepth());
+        assertEquals(1, outbox.getFailed());
+    }
+
+    /**
+     * A dispatcher which the executor rejected is scheduled again by the next
+     * poll.
+     */
+    @Test
+    public void rejectedDispatcherIsScheduledByNextPoll() {
+        AtomicInteger submissions = new AtomicInteger();
+        MailOutbox outbox = buildOutbox(3, command -> {
+            if (submissions.incrementAndGet() == 1) {
+                throw new TaskRejectedException("Executor is saturated");
+            }
+            command.run();
+        });
+        outbox.append("user@example.net", "subject", "text");
+
+        outbox.poll();
+        assertEquals(1, outbox.getQueueDepth());
+
+        outbox.poll();
+        assertEquals(2, submissions.get());
+        assertEquals(0, outbox.getQueueDepth());
+        assertEquals(1, outbox.getSent());
+    }
+
+}
@@ -0,0 +1,97 @@
+package net.notejam.spring.mail;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+
+import net.notejam.spring.test.LocalSmtpServer;
+
+/**
+ * A test for the {@link MailTransport} with an in-process SMTP server.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class MailTransportTest {
+
+    @Rule
+    public LocalSmtpServer smtpServer = new LocalSmtpServer();
+
+    private ExecutorService executor;
+
+    private MailTransport transport;
+
+    @Before
+    public void buildTransport() {
+        executor = Executors.newFixedThreadPool(2);
+        transport = new MailTransport(Optional.of(smtpServer.getMailSender()), executor, 2);
+    }
+
+    @After
+    public void closeTransport() {
+        transport.closeIdle();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSendReusesConnections() {
+        assertTrue(transport.isAvailable());
+        for (int batch = 0; batch < 3; batch++) {
+            for (MailException error : transport.send(buildMessages(5))) {
+                assertNull(error);
+            }
+        }
+
+        assertEquals(15, smtpServer.getMessages().size());
+        assertEquals(2, smtpServer.getConnections());
+    }
+
+    @Test
+    public void testSendReportsFailedMails() {
+        smtpServer.setRejecting(true);
+        MailException[] errors = transport.send(buildMessages(3));
+
+        assertEquals(3, errors.length);
+        for (MailException error : errors) {
+            assertNotNull(error);
+        }
+
+        smtpServer.setRejecting(false);
+        assertNull(transport.send(buildMessages(1))[0]);
+        assertEquals(1, smtpServer.getMessages().size());
+    }
+
+    @Test
+    public void testUnavailable() {
+        assertFalse(new MailTransport(Optional.empty(), executor, 2).isAvailable());
+    }
+
+    private static List<SimpleMailMessage> buildMessages(final int count) {
+        List<SimpleMailMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom("sender@example.net");
+            message.setTo("user" + i + "@example.net");
+            message.setSubject("subject " + i);
+            message.setText("text " + i);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+}
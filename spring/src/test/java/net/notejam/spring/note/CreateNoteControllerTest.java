@@ -135,7 +135,7 @@ public class CreateNoteControllerTest {
                 .with(csrf())
                 .with(user(otherUser)))
         
-            .andExpect(status().is(403));
+            .andExpect(status().is(404));
         
         assertThat(repository.findAll(), empty());
     }
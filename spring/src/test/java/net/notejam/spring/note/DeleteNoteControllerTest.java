@@ -97,7 +97,7 @@ public class DeleteNoteControllerTest {
                 .with(csrf())
                 .with(user(otherUser)))
 
-            .andExpect(status().is(403));
+            .andExpect(status().is(404));
         
         assertNotNull(repository.findOne(note.getId()));
     }
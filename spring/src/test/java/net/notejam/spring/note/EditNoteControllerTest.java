@@ -141,7 +141,7 @@ public class EditNoteControllerTest {
                 .with(csrf())
                 .with(user(otherUser)))
         
-            .andExpect(status().is(403));
+            .andExpect(status().is(404));
         
         assertEquals(NAME, repository.getOne(note.getId()).getName());
     }
@@ -163,7 +163,7 @@ public class EditNoteControllerTest {
                 .with(csrf())
                 .with(user(otherUser)))
         
-            .andExpect(status().is(403));
+            .andExpect(status().is(404));
         
         assertNull(repository.getOne(note.getId()).getPad());
     }
@@ -0,0 +1,73 @@
+package net.notejam.spring.note;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the NoteRenderer.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class NoteRendererTest {
+
+    /**
+     * Tests render() wraps paragraphs and escapes them.
+     */
+    @Test
+    public void testRender() {
+        assertEquals("<p>a &lt;b&gt; &amp; c\nd</p><p>e</p>", NoteRenderer.render("\n a <b> & c\nd\n\n\r\ne \n"));
+    }
+
+    /**
+     * Tests render() reuses the HTML of unchanged paragraphs.
+     */
+    @Test
+    public void testRenderReusesParagraphs() {
+        String previousHtml = "<p>one</p><p>REUSED</p>";
+
+        assertEquals("<p>zero</p><p>REUSED</p><p>three</p>",
+                NoteRenderer.render("zero\n\ntwo\n\nthree", "one\n\ntwo", previousHtml));
+    }
+
+    /**
+     * Tests render() ignores a previous HTML which doesn't match its text.
+     */
+    @Test
+    public void testRenderIgnoresMismatchedHtml() {
+        assertEquals("<p>one</p><p>two</p>", NoteRenderer.render("one\n\ntwo", "one\n\ntwo", "<p>one</p>"));
+    }
+
+    /**
+     * Tests Note.isTextChanged() is only true for an unrendered text.
+     */
+    @Test
+    public void testNoteTextChanged() {
+        Note note = new Note();
+        note.setText("one");
+        assertTrue(note.isTextChanged());
+
+        note.rendered();
+        assertFalse(note.isTextChanged());
+
+        note.setText("one\n\ntwo");
+        assertTrue(note.isTextChanged());
+    }
+
+    /**
+     * Tests NoteHtml.render() reuses the HTML of the previous text.
+     */
+    @Test
+    public void testNoteHtmlRender() {
+        NoteHtml html = new NoteHtml(new Note());
+        html.render("one", null);
+        assertEquals("<p>one</p>", html.getHtml());
+
+        html.render("one\n\ntwo", "one");
+        assertEquals("<p>one</p><p>two</p>", html.getHtml());
+    }
+
+}
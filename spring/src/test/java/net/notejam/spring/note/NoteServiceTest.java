@@ -2,11 +2,21 @@ package net.notejam.spring.note;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -14,6 +24,7 @@ import net.notejam.spring.pad.Name;
 import net.notejam.spring.pad.Pad;
 import net.notejam.spring.pad.PadService;
 import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.user.User;
 import net.notejam.spring.user.UserService;
 
 /**
@@ -35,6 +46,9 @@ public class NoteServiceTest {
 
     @Autowired
     private NoteService service;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     /**
      * The given authenticated user.
@@ -79,6 +93,29 @@ public class NoteServiceTest {
         assertEquals(note, service.getNote(note.getId()).get());
     }
 
+    /**
+     * Tests saveNotes() saves all notes and counts them once.
+     */
+    @Test
+    public void testSaveNotes() {
+        Pad pad = padService.createPad(new Name("pad"));
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Note note = service.buildNote(null);
+            note.setName(new Name("name"));
+            note.setText("text");
+            notes.add(note);
+        }
+
+        service.saveNotes(notes, pad);
+
+        for (Note note : notes) {
+            assertEquals(pad, service.getNote(note.getId()).get().getPad());
+        }
+        entityManager.refresh(pad);
+        assertEquals(3, service.countPadNotes(pad));
+    }
+
     /**
      * Tests deleteNote().
      */
@@ -94,4 +131,105 @@ public class NoteServiceTest {
         assertFalse(service.getNote(note.getId()).isPresent());
     }
 
+    /**
+     * Tests getNotes() seeks forward and backward through the slices.
+     */
+    @Test
+    public void testGetNotesSeeksSlices() {
+        for (String name : new String[] { "c", "a", "b" }) {
+            Note note = service.buildNote(null);
+            note.setName(new Name(name));
+            note.setText("text");
+            service.saveNote(note, null);
+        }
+        Pageable pageable = new PageRequest(0, 2, Direction.ASC, "name");
+
+        NoteSlice first = service.getNotes(NoteKeyset.of(pageable, null, null));
+        assertEquals(new Name("a"), first.getContent().get(0).getName());
+        assertEquals(new Name("b"), first.getContent().get(1).getName());
+        assertFalse(first.hasPrevious());
+        assertTrue(first.hasNext());
+
+        NoteSlice next = service.getNotes(NoteKeyset.of(pageable, first.getNextCursor(), null));
+        assertEquals(1, next.getNumberOfElements());
+        assertEquals(new Name("c"), next.getContent().get(0).getName());
+        assertTrue(next.hasPrevious());
+        assertFalse(next.hasNext());
+
+        NoteSlice previous = service.getNotes(NoteKeyset.of(pageable, null, next.getPreviousCursor()));
+        assertEquals(first.getContent(), previous.getContent());
+        assertFalse(previous.hasPrevious());
+        assertTrue(previous.hasNext());
+    }
+
+    /**
+     * Tests that saving, moving and deleting notes maintains the counters.
+     */
+    @Test
+    public void testNoteCounters() {
+        Pad first = padService.createPad(new Name("first"));
+        Pad second = padService.createPad(new Name("second"));
+
+        Note note = service.buildNote(first.getId());
+        note.setName(new Name("name"));
+        note.setText("text");
+        service.saveNote(note, first);
+        assertCounts(1, 1, 0, first, second);
+
+        service.saveNote(note, second);
+        assertCounts(1, 0, 1, first, second);
+
+        service.deleteNote(note);
+        assertCounts(0, 0, 0, first, second);
+    }
+
+    /**
+     * Tests deleting a pad deletes its notes in several chunks.
+     */
+    @Test
+    public void testDeletePadDeletesNotesInChunks() {
+        Pad pad = padService.createPad(new Name("pad"));
+        Note[] notes = new Note[5];
+        for (int i = 0; i < notes.length; i++) {
+            notes[i] = service.buildNote(pad.getId());
+            notes[i].setName(new Name("name"));
+            notes[i].setText("text");
+            service.saveNote(notes[i], pad);
+        }
+
+        padService.deletePad(pad.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Note note : notes) {
+            assertFalse(service.getNote(note.getId()).isPresent());
+        }
+        assertEquals(0, entityManager.find(User.class, userService.getAuthenticatedUserId()).getNoteCount());
+    }
+
+    /**
+     * Asserts the note counters after refreshing the entities.
+     *
+     * @param user
+     *            expected number of notes of the user
+     * @param firstCount
+     *            expected number of notes in the first pad
+     * @param secondCount
+     *            expected number of notes in the second pad
+     * @param first
+     *            the first pad
+     * @param second
+     *            the second pad
+     */
+    private void assertCounts(final int user, final int firstCount, final int secondCount, final Pad first,
+            final Pad second) {
+        entityManager.flush();
+        entityManager.refresh(userService.getAuthenticatedUser());
+        entityManager.refresh(first);
+        entityManager.refresh(second);
+        assertEquals(user, service.countNotes());
+        assertEquals(firstCount, service.countPadNotes(first));
+        assertEquals(secondCount, service.countPadNotes(second));
+    }
+
 }
@@ -3,6 +3,9 @@ package net.notejam.spring.note;
 import static net.notejam.spring.test.UriUtil.buildUri;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
@@ -12,6 +15,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -79,6 +84,16 @@ public class ViewNoteControllerTest {
             .andExpect(view().name("note/view"));
     }
     
+    /**
+     * The note page shows the HTML which was rendered when the note was saved.
+     */
+    @Test
+    public void renderedHtmlIsShown() throws Exception {
+        mockMvcProvider.getMockMvc().perform(get(uri))
+            .andExpect(model().attributeExists("noteHtml"))
+            .andExpect(content().string(containsString("<p>text</p>")));
+    }
+    
     /**
      * Note can't be viewed by not an owner.
      */
@@ -89,7 +104,41 @@ public class ViewNoteControllerTest {
         
         mockMvcProvider.getMockMvc().perform(get(uri)
                 .with(user(otherUser)))
-            .andExpect(status().is(403));
+            .andExpect(status().is(404));
+    }
+    
+    /**
+     * A reload of an unchanged note is answered with 304.
+     */
+    @Test
+    public void unchangedNoteIsNotModified() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc().perform(get(uri).session(session))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "private, no-cache"))
+            .andReturn().getResponse();
+
+        mockMvcProvider.getMockMvc().perform(get(uri).session(session)
+                .header("If-None-Match", response.getHeader("ETag"))
+                .header("If-Modified-Since", response.getHeader("Last-Modified")))
+            .andExpect(status().isNotModified());
+    }
+    
+    /**
+     * A reload of a changed note is rendered again.
+     */
+    @Test
+    public void changedNoteIsModified() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        MockHttpServletResponse response = mockMvcProvider.getMockMvc().perform(get(uri).session(session))
+            .andReturn().getResponse();
+        note.setText("changed");
+        service.saveNote(note, null);
+
+        mockMvcProvider.getMockMvc().perform(get(uri).session(session)
+                .header("If-None-Match", response.getHeader("ETag"))
+                .header("If-Modified-Since", response.getHeader("Last-Modified")))
+            .andExpect(status().isOk());
     }
     
 }
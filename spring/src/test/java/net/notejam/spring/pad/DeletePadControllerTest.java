@@ -94,7 +94,7 @@ public class DeletePadControllerTest {
                 .with(csrf())
                 .with(user(otherUser)))
 
-            .andExpect(status().is(403));
+            .andExpect(status().is(404));
         
         assertNotNull(repository.findOne(pad.getId()));
     }
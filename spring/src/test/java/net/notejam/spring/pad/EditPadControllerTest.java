@@ -123,7 +123,7 @@ public class EditPadControllerTest {
                 .with(user(otherUser))
                 .with(csrf()))
         
-            .andExpect(status().is(403));
+            .andExpect(status().is(404));
         
         assertEquals(NAME, repository.getOne(pad.getId()).getName());
     }
@@ -0,0 +1,93 @@
+package net.notejam.spring.pad;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * A test for PadCache
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class PadCacheTest {
+
+    @Test
+    public void testGetCountsHitsAndMisses() {
+        PadCache cache = new PadCache(10);
+        List<Pad> pads = cache.get(1, ArrayList::new);
+
+        assertSame(pads, cache.get(1, ArrayList::new));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testEvict() {
+        PadCache cache = new PadCache(10);
+        cache.get(1, ArrayList::new);
+
+        cache.evict(1);
+        cache.get(1, ArrayList::new);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testRejectsListLoadedDuringEviction() {
+        PadCache cache = new PadCache(10);
+        cache.get(1, () -> {
+            cache.evict(1);
+            return new ArrayList<>();
+        });
+
+        assertEquals(0, cache.getSize());
+        cache.get(1, ArrayList::new);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testRejectsListLoadedDuringClear() {
+        PadCache cache = new PadCache(10);
+        cache.get(1, () -> {
+            cache.clear();
+            return new ArrayList<>();
+        });
+
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testEvictKeepsOtherUsers() {
+        PadCache cache = new PadCache(10);
+        cache.get(1, ArrayList::new);
+        cache.get(2, () -> {
+            cache.evict(1);
+            return new ArrayList<>();
+        });
+
+        assertEquals(1, cache.getSize());
+        cache.get(2, ArrayList::new);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        PadCache cache = new PadCache(2);
+        cache.get(1, ArrayList::new);
+        cache.get(2, ArrayList::new);
+        cache.get(1, ArrayList::new);
+        cache.get(3, ArrayList::new);
+
+        assertEquals(2, cache.getSize());
+        cache.get(1, ArrayList::new);
+        assertEquals(2, cache.getHits());
+
+        cache.get(2, ArrayList::new);
+        assertEquals(4, cache.getMisses());
+    }
+
+}
@@ -86,7 +86,7 @@ public class ViewPadControllerTest {
         
         mockMvcProvider.getMockMvc().perform(get(uri)
                 .with(user(otherUser)))
-            .andExpect(status().is(403));
+            .andExpect(status().is(404));
     }
     
 }
@@ -0,0 +1,107 @@
+package net.notejam.spring.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.user.UserService;
+
+/**
+ * An integration test for the {@link SearchService}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@WithMockUser(SearchServiceTest.USER_EMAIL)
+public class SearchServiceTest {
+
+    @Autowired
+    private SearchService service;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteService noteService;
+
+    /**
+     * The given authenticated user.
+     */
+    static final String USER_EMAIL = "test@example.org";
+
+    /**
+     * Given the authenticated user {@link #USER_EMAIL} exists with notes.
+     */
+    @Before
+    public void createNotes() {
+        userService.signUp(USER_EMAIL, "password");
+        createNote("Sport", "Running on Monday");
+        createNote("Shopping", "Running shoes and a ball");
+        createNote("Other", "Nothing");
+    }
+
+    /**
+     * Creates a note.
+     *
+     * @param name
+     *            The name
+     * @param text
+     *            The text
+     */
+    private void createNote(final String name, final String text) {
+        Note note = noteService.buildNote(null);
+        note.setName(new Name(name));
+        note.setText(text);
+        noteService.saveNote(note, null);
+    }
+
+    /**
+     * Tests search() ranks the hits and highlights the snippets.
+     */
+    @Test
+    public void testSearch() {
+        List<SearchHit> hits = service.search("sport running");
+
+        assertEquals(2, hits.size());
+        assertEquals("Sport", hits.get(0).getNote().getName().toString());
+        assertEquals("Running", hits.get(0).getSnippet().getFragments().get(0).getText());
+        assertTrue(hits.get(0).getSnippet().getFragments().get(0).isMatch());
+        assertEquals("Shopping", hits.get(1).getNote().getName().toString());
+    }
+
+    /**
+     * Tests search() without words.
+     */
+    @Test
+    public void testSearchWithoutWords() {
+        assertTrue(service.search(" - ").isEmpty());
+    }
+
+    /**
+     * Tests autocomplete() suggests the names with a prefix.
+     */
+    @Test
+    public void testAutocomplete() {
+        List<Suggestion> suggestions = service.autocomplete("s");
+
+        assertEquals(2, suggestions.size());
+        assertEquals("Shopping", suggestions.get(0).getName());
+        assertEquals("Sport", suggestions.get(1).getName());
+        assertTrue(service.autocomplete(" ").isEmpty());
+    }
+
+}
@@ -0,0 +1,70 @@
+package net.notejam.spring.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Tests the Snippet.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class SnippetTest {
+
+    /**
+     * Renders a snippet with the matches in brackets.
+     *
+     * @param text
+     *            The text
+     * @param query
+     *            The query
+     * @return The rendered snippet
+     */
+    private static String render(final String text, final String query) {
+        Set<String> terms = Analyzer.terms(Analyzer.words(query));
+        return Snippet.of(text, terms).getFragments().stream()
+                .map(fragment -> fragment.isMatch() ? "[" + fragment.getText() + "]" : fragment.getText())
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * Tests of() highlights the matching words of a short text.
+     */
+    @Test
+    public void testOfShortText() {
+        assertEquals("Buy [Apples] & <b>milk</b>!", render("Buy Apples & <b>milk</b>!", "apple"));
+        assertEquals("[H\u00e4user] kaufen", render("H\u00e4user kaufen", "haus"));
+    }
+
+    /**
+     * Tests of() cuts a long text around the matches.
+     */
+    @Test
+    public void testOfLongText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append(i == 50 ? "needle" : "hay").append(' ');
+        }
+
+        String snippet = render(text.toString(), "needle");
+
+        assertTrue(snippet.startsWith("\u2026hay"));
+        assertTrue(snippet.contains(" [needle] "));
+        assertTrue(snippet.endsWith("hay\u2026"));
+        assertEquals(Snippet.WINDOW, snippet.split(" ").length);
+    }
+
+    /**
+     * Tests of() returns the beginning of a text without matches.
+     */
+    @Test
+    public void testOfWithoutMatch() {
+        assertEquals("Some text", render("Some text", "other"));
+    }
+
+}
@@ -0,0 +1,120 @@
+package net.notejam.spring.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the UserIndex.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class UserIndexTest {
+
+    private UserIndex index;
+
+    /**
+     * Given an index with three notes.
+     */
+    @Before
+    public void createIndex() {
+        index = new UserIndex();
+        index.put(1, 10, "Shopping", "Buy apples and milk");
+        index.put(2, 10, "Apples", "Varieties of apples");
+        index.put(3, null, "Einkauf", "\u00c4pfel und H\u00e4user kaufen");
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query
+     *            The query
+     * @return The scores
+     */
+    private Map<Integer, Double> search(final String query) {
+        return index.search(Analyzer.words(query));
+    }
+
+    /**
+     * Tests search() ranks a note with a matching name first.
+     */
+    @Test
+    public void testSearchRanksName() {
+        Map<Integer, Double> scores = search("apple");
+
+        assertEquals(2, scores.size());
+        assertTrue(scores.get(2) > scores.get(1));
+    }
+
+    /**
+     * Tests search() finds German words without umlauts and inflection.
+     */
+    @Test
+    public void testSearchGerman() {
+        assertEquals(3, search("haus").keySet().iterator().next().intValue());
+        assertTrue(search("APFEL").containsKey(3));
+    }
+
+    /**
+     * Tests search() ignores stop words.
+     */
+    @Test
+    public void testSearchIgnoresStopWords() {
+        assertTrue(search("and the of").isEmpty());
+    }
+
+    /**
+     * Tests put() replaces a note.
+     */
+    @Test
+    public void testPutReplaces() {
+        index.put(1, 10, "Shopping", "Buy bread");
+
+        assertFalse(search("milk").containsKey(1));
+        assertTrue(search("bread").containsKey(1));
+        assertEquals(3, index.size());
+    }
+
+    /**
+     * Tests remove() and removePad().
+     */
+    @Test
+    public void testRemove() {
+        index.remove(3);
+        assertTrue(search("einkauf").isEmpty());
+
+        index.removePad(10);
+        assertEquals(0, index.size());
+        assertTrue(search("apples").isEmpty());
+    }
+
+    /**
+     * Tests write() and read() restore the index.
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(out));
+        assertFalse(index.isDirty());
+
+        UserIndex restored = new UserIndex();
+        restored.read(new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+
+        assertEquals(index.size(), restored.size());
+        assertEquals(search("apples"), restored.search(Analyzer.words("apples")));
+        restored.removePad(10);
+        assertEquals(1, restored.size());
+    }
+
+}
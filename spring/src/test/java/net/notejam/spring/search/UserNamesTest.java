@@ -0,0 +1,140 @@
+package net.notejam.spring.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the UserNames.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class UserNamesTest {
+
+    private UserNames names;
+
+    /**
+     * Given two pads and three notes.
+     */
+    @Before
+    public void createNames() {
+        names = new UserNames();
+        names.putPad(10, "Work");
+        names.putPad(11, "Private");
+        names.putNote(1, 10, "Weekly report");
+        names.putNote(2, 10, "Project plan");
+        names.putNote(3, null, "\u00dcbung macht den Meister");
+    }
+
+    /**
+     * Completes a prefix.
+     *
+     * @param prefix
+     *            The prefix
+     * @return The suggested names
+     */
+    private List<String> complete(final String prefix) {
+        return names.complete(prefix, 10).stream().map(Suggestion::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests complete() suggests whole name matches before word matches.
+     */
+    @Test
+    public void testCompleteOrdersNamesFirst() {
+        names.putNote(4, null, "Plan for the week");
+
+        assertEquals(3, complete("w").size());
+        assertEquals("Weekly report", complete("w").get(0));
+        assertEquals("Work", complete("w").get(1));
+        assertEquals("Plan for the week", complete("w").get(2));
+        assertEquals("Plan for the week", complete("pl").get(0));
+        assertEquals("Project plan", complete("pl").get(1));
+    }
+
+    /**
+     * Tests complete() ignores case and diacritics.
+     */
+    @Test
+    public void testCompleteFolds() {
+        assertEquals("\u00dcbung macht den Meister", complete("UBU").get(0));
+        assertEquals("\u00dcbung macht den Meister", complete("meis").get(0));
+    }
+
+    /**
+     * Tests complete() returns the type and the path.
+     */
+    @Test
+    public void testCompleteReturnsPath() {
+        Suggestion pad = names.complete("priv", 10).get(0);
+        Suggestion note = names.complete("proj", 10).get(0);
+
+        assertEquals(Suggestion.Type.PAD, pad.getType());
+        assertEquals("/pads/11", pad.getPath());
+        assertEquals(Suggestion.Type.NOTE, note.getType());
+        assertEquals("/notes/2", note.getPath());
+    }
+
+    /**
+     * Tests complete() stops at the limit.
+     */
+    @Test
+    public void testCompleteLimits() {
+        assertEquals(1, names.complete("p", 1).size());
+        assertTrue(names.complete("p", 0).isEmpty());
+        assertTrue(names.complete(" ", 10).isEmpty());
+    }
+
+    /**
+     * Tests a renamed note is found only by its new name.
+     */
+    @Test
+    public void testPutRenames() {
+        names.putNote(1, 10, "Monthly report");
+
+        assertTrue(complete("weekly").isEmpty());
+        assertEquals("Monthly report", complete("rep").get(0));
+        assertEquals(5, names.size());
+    }
+
+    /**
+     * Tests removing notes and pads.
+     */
+    @Test
+    public void testRemove() {
+        names.removeNotesOfPad(10);
+        names.removePad(10);
+        names.removeNote(3);
+
+        assertTrue(complete("w").isEmpty());
+        assertTrue(complete("meister").isEmpty());
+        assertEquals("Private", complete("p").get(0));
+        assertEquals(1, names.size());
+    }
+
+    /**
+     * Tests a batch publishes its updates at once.
+     */
+    @Test
+    public void testBatch() {
+        names.batch(() -> {
+            names.putNote(4, null, "Weekend trip");
+            names.putNote(4, null, "Weekend plans");
+            names.removeNote(1);
+
+            assertEquals("Weekly report", complete("wee").get(0));
+        });
+
+        assertEquals(1, complete("wee").size());
+        assertEquals("Weekend plans", complete("wee").get(0));
+        assertTrue(complete("trip").isEmpty());
+        assertEquals(5, names.size());
+    }
+
+}
@@ -0,0 +1,77 @@
+package net.notejam.spring.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * A test for PooledPasswordEncoder
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class PooledPasswordEncoderTest {
+
+    @Test
+    public void testEncodeAndMatch() {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(4, 2, 10);
+        try {
+            String hash = encoder.encode("password");
+
+            assertTrue(encoder.matches("password", hash));
+            assertFalse(encoder.matches("wrong", hash));
+            assertEquals(3, encoder.getHashTimeHistogram().values().stream().mapToLong(Long::longValue).sum());
+            assertEquals(3, encoder.getQueueWaitHistogram().values().stream().mapToLong(Long::longValue).sum());
+
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    public void testUpgradeEncoding() {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(5, 1, 10);
+        try {
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+            assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+            assertFalse(encoder.upgradeEncoding("plain"));
+
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejectsWhenSaturated() throws InterruptedException {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(14, 1, 1);
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            clients.execute(() -> encoder.encode("running"));
+            clients.execute(() -> encoder.encode("queued"));
+            while (encoder.getQueueSize() < 1) {
+                Thread.sleep(1);
+            }
+
+            try {
+                encoder.encode("rejected");
+                fail("Expected PasswordHashingRejectedException");
+
+            } catch (PasswordHashingRejectedException e) {
+                assertEquals(1, encoder.getRejected());
+            }
+
+        } finally {
+            clients.shutdownNow();
+            encoder.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package net.notejam.spring.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.test.MockMvcProvider;
+import net.notejam.spring.user.SignedUpUserProvider;
+import net.notejam.spring.user.User;
+import net.notejam.spring.user.UserRepository;
+
+/**
+ * An integration test for the {@link RehashingAuthenticationProvider}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+public class RehashingAuthenticationProviderTest {
+
+    @Rule
+    @Autowired
+    public MockMvcProvider mockMvcProvider;
+
+    @Rule
+    @Autowired
+    public SignedUpUserProvider userProvider;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private PooledPasswordEncoder encoder;
+
+    @Value("${password.cost}")
+    private int cost;
+
+    /**
+     * A sign in replaces a hash of another cost with a hash of the configured
+     * cost.
+     */
+    @Test
+    public void signInRehashesPasswordWithConfiguredCost() throws Exception {
+        User user = repository.findOneByEmail(SignedUpUserProvider.EMAIL).get();
+        user.setPassword(new BCryptPasswordEncoder(4).encode(SignedUpUserProvider.PASSWORD));
+        repository.saveAndFlush(user);
+
+        mockMvcProvider.getMockMvc().perform(
+                formLogin(URITemplates.SIGNIN)
+                    .user(SignedUpUserProvider.EMAIL)
+                    .password(SignedUpUserProvider.PASSWORD))
+
+            .andExpect(redirectedUrl("/"));
+
+        String hash = repository.findOneByEmail(SignedUpUserProvider.EMAIL).get().getPassword();
+        assertEquals(String.format("$2a$%02d$", cost), hash.substring(0, 7));
+        assertTrue(encoder.matches(SignedUpUserProvider.PASSWORD, hash));
+    }
+
+}
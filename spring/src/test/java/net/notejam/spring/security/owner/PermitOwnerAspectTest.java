@@ -1,16 +1,22 @@
 package net.notejam.spring.security.owner;
 
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import net.notejam.spring.security.NotejamPrincipal;
 import net.notejam.spring.user.User;
 import net.notejam.spring.user.UserService;
 
@@ -40,6 +46,11 @@ public class PermitOwnerAspectTest {
         aspect.setUserService(userService);
     }
 
+    @After
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     /**
      * Tests authorizeReturn() permits Null
      */
@@ -83,4 +94,73 @@ public class PermitOwnerAspectTest {
         aspect.authorizeReturn(owned);
     }
 
+    /**
+     * Tests authorizeReturn() permits the owner by the principal's id without
+     * loading the user.
+     */
+    @Test
+    public void testAuthorizeReturnPermitsPrincipalOwner() {
+        authenticate(1);
+        when(owned.getUser()).thenReturn(buildUser(1));
+
+        aspect.authorizeReturn(owned);
+        verifyZeroInteractions(userService);
+    }
+
+    /**
+     * Tests authorizeReturn() denies other users by the principal's id.
+     */
+    @Test(expected = AccessDeniedException.class)
+    public void testAuthorizeReturnDeniesOtherPrincipal() {
+        authenticate(1);
+        when(owned.getUser()).thenReturn(buildUser(2));
+
+        aspect.authorizeReturn(owned);
+    }
+
+    /**
+     * Tests authorizeResult() leaves the check to the query in the mode
+     * {@link PermitOwner.Mode#QUERY}.
+     */
+    @Test
+    public void testAuthorizeResultSkipsQueryMode() throws NoSuchMethodException {
+        PermitOwner permitOwner = getClass().getDeclaredMethod("queryMode").getAnnotation(PermitOwner.class);
+        when(owned.getUser()).thenReturn(new User());
+
+        aspect.authorizeResult(permitOwner, owned);
+        verifyZeroInteractions(userService);
+    }
+
+    /**
+     * A method in the mode {@link PermitOwner.Mode#QUERY}.
+     */
+    @PermitOwner(PermitOwner.Mode.QUERY)
+    private void queryMode() {
+    }
+
+    /**
+     * Authenticates a {@link NotejamPrincipal}.
+     *
+     * @param id
+     *            The user id
+     */
+    private static void authenticate(final int id) {
+        NotejamPrincipal principal = new NotejamPrincipal(id, "test@example.net", "password");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * Builds a user with an id.
+     *
+     * @param id
+     *            The user id
+     * @return The user
+     */
+    private static User buildUser(final int id) {
+        User user = new User();
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
 }
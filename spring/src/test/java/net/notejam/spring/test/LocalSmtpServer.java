@@ -0,0 +1,176 @@
+package net.notejam.spring.test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.rules.ExternalResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * A rule for an in-process SMTP server on the loopback interface.
+ *
+ * The server understands just enough SMTP for JavaMail and keeps the received
+ * messages in memory. Each connection is served by its own thread. The server
+ * can be told to reject mails temporarily.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class LocalSmtpServer extends ExternalResource {
+
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private volatile boolean rejecting;
+
+    private ServerSocket serverSocket;
+
+    @Override
+    protected void before() throws IOException {
+        start();
+    }
+
+    @Override
+    protected void after() {
+        stop();
+    }
+
+    /**
+     * Starts the server on a free port.
+     *
+     * @throws IOException
+     *             If the server can't listen
+     */
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        startDaemon(this::serve);
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns a mail sender which sends to this server.
+     *
+     * @return The mail sender
+     */
+    public JavaMailSenderImpl getMailSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(serverSocket.getInetAddress().getHostAddress());
+        mailSender.setPort(serverSocket.getLocalPort());
+        return mailSender;
+    }
+
+    /**
+     * Returns the received messages including their headers.
+     *
+     * @return The messages
+     */
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    /**
+     * Returns the number of accepted connections.
+     *
+     * @return The connections
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    /**
+     * Sets whether mails are rejected with a temporary error.
+     *
+     * @param rejecting
+     *            Whether mails are rejected
+     */
+    public void setRejecting(final boolean rejecting) {
+        this.rejecting = rejecting;
+    }
+
+    private static void startDaemon(final Runnable runnable) {
+        Thread thread = new Thread(runnable, "smtp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                startDaemon(() -> serve(socket));
+            } catch (IOException e) {
+                // The server was closed.
+            }
+        }
+    }
+
+    private void serve(final Socket socket) {
+        try (Socket client = socket) {
+            talk(new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII)),
+                    new OutputStreamWriter(client.getOutputStream(), StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            // The client disconnected.
+        }
+    }
+
+    private void talk(final BufferedReader reader, final Writer writer) throws IOException {
+        reply(writer, "220 localhost");
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            String command = line.toUpperCase(Locale.ROOT);
+            if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                reply(writer, "250 localhost");
+
+            } else if (command.startsWith("MAIL")) {
+                reply(writer, rejecting ? "451 Try again later" : "250 OK");
+
+            } else if (command.startsWith("DATA")) {
+                reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+                StringBuilder message = new StringBuilder();
+                for (String data = reader.readLine(); data != null && !data.equals("."); data = reader.readLine()) {
+                    message.append(data.startsWith(".") ? data.substring(1) : data).append('\n');
+                }
+                messages.add(message.toString());
+                reply(writer, "250 OK");
+
+            } else if (command.startsWith("QUIT")) {
+                reply(writer, "221 Bye");
+                return;
+
+            } else if (command.startsWith("RCPT") || command.startsWith("RSET") || command.startsWith("NOOP")) {
+                reply(writer, "250 OK");
+
+            } else {
+                reply(writer, "502 Command not implemented");
+            }
+        }
+    }
+
+    private static void reply(final Writer writer, final String reply) throws IOException {
+        writer.write(reply + "\r\n");
+        writer.flush();
+    }
+
+}
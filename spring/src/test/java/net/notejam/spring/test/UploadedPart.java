@@ -0,0 +1,103 @@
+package net.notejam.spring.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+
+import javax.servlet.http.Part;
+
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+/**
+ * An uploaded file part of a multipart request.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class UploadedPart implements Part {
+
+    private final String name;
+
+    private final String filename;
+
+    private final byte[] content;
+
+    /**
+     * Builds the part.
+     *
+     * @param name
+     *            The part name
+     * @param filename
+     *            The submitted file name
+     * @param content
+     *            The content
+     */
+    public UploadedPart(final String name, final String filename, final byte[] content) {
+        this.name = name;
+        this.filename = filename;
+        this.content = content;
+    }
+
+    /**
+     * Returns a request post processor which adds this part.
+     *
+     * @return The post processor
+     */
+    public RequestPostProcessor asRequestPart() {
+        return request -> {
+            request.addPart(this);
+            return request;
+        };
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/octet-stream";
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getSubmittedFileName() {
+        return filename;
+    }
+
+    @Override
+    public long getSize() {
+        return content.length;
+    }
+
+    @Override
+    public void write(final String fileName) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete() {
+    }
+
+    @Override
+    public String getHeader(final String header) {
+        return null;
+    }
+
+    @Override
+    public Collection<String> getHeaders(final String header) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,146 @@
+package net.notejam.spring.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import net.notejam.spring.note.Note;
+import net.notejam.spring.note.NoteService;
+import net.notejam.spring.pad.Name;
+import net.notejam.spring.pad.Pad;
+import net.notejam.spring.pad.PadService;
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.user.UserService;
+
+/**
+ * An integration test for the {@link ExportService}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@WithMockUser(ExportServiceTest.USER_EMAIL)
+public class ExportServiceTest {
+
+    @Autowired
+    private ExportService service;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PadService padService;
+
+    @Autowired
+    private NoteService noteService;
+
+    /**
+     * The given authenticated user.
+     */
+    static final String USER_EMAIL = "test@example.org";
+
+    /**
+     * The given pad.
+     */
+    private Pad pad;
+
+    /**
+     * Given the authenticated user {@link #USER_EMAIL} exists with a pad, a
+     * note in the pad and a note without pad.
+     */
+    @Before
+    public void createNotes() {
+        userService.signUp(USER_EMAIL, "password");
+        pad = padService.createPad(new Name("pad"));
+        createNote(pad, "a");
+        createNote(null, "b");
+    }
+
+    /**
+     * Creates a note.
+     *
+     * @param pad
+     *            The pad or null
+     * @param name
+     *            The name
+     */
+    private void createNote(final Pad pad, final String name) {
+        Note note = noteService.buildNote(pad == null ? null : pad.getId());
+        note.setName(new Name(name));
+        note.setText("text " + name);
+        noteService.saveNote(note, pad);
+    }
+
+    /**
+     * Tests export() writes NDJSON which can be imported.
+     */
+    @Test
+    public void testExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(userService.getAuthenticatedUserId(), ExportFormat.NDJSON, out);
+
+        assertRecords(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    /**
+     * Tests export() writes a zip with an NDJSON entry.
+     */
+    @Test
+    public void testExportZip() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(userService.getAuthenticatedUserId(), ExportFormat.ZIP, out);
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(ExportFormat.NDJSON.getFilename(), zip.getNextEntry().getName());
+            assertRecords(zip);
+            assertNull(zip.getNextEntry());
+        }
+    }
+
+    /**
+     * Asserts the exported records of the given user.
+     *
+     * @param ndjson
+     *            The exported NDJSON
+     */
+    private void assertRecords(final InputStream ndjson) throws Exception {
+        ImportReader reader = ImportFormat.NDJSON.open(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+
+        ImportRecord user = reader.next();
+        assertEquals(ImportRecord.Type.USER, user.getType());
+        assertEquals(USER_EMAIL, user.getEmail());
+
+        ImportRecord padRecord = reader.next();
+        assertEquals(ImportRecord.Type.PAD, padRecord.getType());
+        assertEquals(pad.getId().intValue(), padRecord.getId());
+        assertEquals("pad", padRecord.getName());
+
+        ImportRecord a = reader.next();
+        assertEquals("a", a.getName());
+        assertEquals("text a", a.getText());
+        assertEquals(pad.getId(), a.getPadId());
+
+        ImportRecord b = reader.next();
+        assertEquals("b", b.getName());
+        assertNull(b.getPadId());
+
+        assertNull(reader.next());
+    }
+
+}
@@ -0,0 +1,119 @@
+package net.notejam.spring.transfer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.fileUpload;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import net.notejam.spring.URITemplates;
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.test.MockMvcProvider;
+import net.notejam.spring.test.UploadedPart;
+import net.notejam.spring.transfer.controller.ImportController;
+import net.notejam.spring.user.SignedUpUserProvider;
+import net.notejam.spring.user.UserService;
+
+/**
+ * An integration test for the {@link ImportController}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@WithMockUser(SignedUpUserProvider.EMAIL)
+public class ImportControllerTest {
+
+    private static final byte[] NDJSON = ("{\"type\":\"pad\",\"id\":1,\"name\":\"pad\"}\n"
+            + "{\"type\":\"note\",\"id\":1,\"pad_id\":1,\"name\":\"a\",\"text\":\"text\"}\n")
+                    .getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    @Autowired
+    public MockMvcProvider mockMvcProvider;
+
+    @Rule
+    @Autowired
+    public SignedUpUserProvider userProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ImportProgress importProgress;
+
+    /**
+     * The uploaded part is imported with the CSRF token in the form body.
+     */
+    @Test
+    public void fileCanBeImported() throws Exception {
+        mockMvcProvider.getMockMvc().perform(fileUpload(URITemplates.IMPORT)
+                .with(new UploadedPart("file", "notes.ndjson", NDJSON).asRequestPart())
+                .param("format", "")
+                .with(csrf()))
+            .andExpect(status().isOk())
+            .andExpect(view().name("transfer/import"))
+            .andExpect(model().attribute("report", hasProperty("notes", equalTo(1L))));
+    }
+
+    /**
+     * An upload without CSRF token is rejected.
+     */
+    @Test
+    public void importWithoutCsrfTokenIsForbidden() throws Exception {
+        mockMvcProvider.getMockMvc().perform(fileUpload(URITemplates.IMPORT)
+                .with(new UploadedPart("file", "notes.ndjson", NDJSON).asRequestPart()))
+            .andExpect(status().isForbidden());
+    }
+
+    /**
+     * An unknown format is a bad request.
+     */
+    @Test
+    public void unknownFormatIsBadRequest() throws Exception {
+        mockMvcProvider.getMockMvc().perform(fileUpload(URITemplates.IMPORT)
+                .with(new UploadedPart("file", "notes.xml", NDJSON).asRequestPart())
+                .param("format", "xml")
+                .with(csrf()))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * The progress of a running import can be polled.
+     */
+    @Test
+    public void progressOfRunningImportCanBePolled() throws Exception {
+        mockMvcProvider.getMockMvc().perform(get(URITemplates.IMPORT_PROGRESS))
+            .andExpect(status().isNoContent());
+
+        ImportReport report = new ImportReport();
+        report.addPad();
+        report.addNotes(3);
+        importProgress.update(userService.getAuthenticatedUserId(), report);
+        try {
+            mockMvcProvider.getMockMvc().perform(get(URITemplates.IMPORT_PROGRESS))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"pads\":1")))
+                .andExpect(content().string(containsString("\"notes\":3")));
+
+        } finally {
+            importProgress.finish(userService.getAuthenticatedUserId());
+        }
+    }
+
+}
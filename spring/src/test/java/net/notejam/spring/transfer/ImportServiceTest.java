@@ -0,0 +1,77 @@
+package net.notejam.spring.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.StringReader;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import net.notejam.spring.pad.PadService;
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.user.UserService;
+
+/**
+ * An integration test for the {@link ImportService}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+@WithMockUser(ImportServiceTest.USER_EMAIL)
+public class ImportServiceTest {
+
+    @Autowired
+    private ImportService service;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PadService padService;
+
+    /**
+     * The given authenticated user.
+     */
+    static final String USER_EMAIL = "test@example.org";
+
+    /**
+     * Given the authenticated user {@link #USER_EMAIL} exists.
+     */
+    @Before
+    public void signupAuthenticatedUser() {
+        userService.signUp(USER_EMAIL, "password");
+    }
+
+    /**
+     * Tests importForUser() imports pads and notes and rejects invalid notes.
+     */
+    @Test
+    public void testImportForUser() throws Exception {
+        String ndjson = "{\"type\":\"user\",\"id\":7,\"email\":\"other@example.org\"}\n"
+                + "{\"type\":\"pad\",\"id\":1,\"user_id\":7,\"name\":\"pad\"}\n"
+                + "{\"type\":\"note\",\"id\":1,\"user_id\":7,\"pad_id\":1,\"name\":\"a\",\"text\":\"text\"}\n"
+                + "{\"type\":\"note\",\"id\":2,\"user_id\":7,\"name\":\"b\",\"text\":\"\"}\n"
+                + "{\"type\":\"note\",\"id\":3,\"user_id\":7,\"pad_id\":9,\"name\":\"c\",\"text\":\"text\"}\n"
+                + "no json\n";
+
+        ImportReport report = service.importForUser(ImportFormat.NDJSON.open(new StringReader(ndjson)),
+                userService.getAuthenticatedUserId(), progress -> {
+                });
+
+        assertFalse(report.isFailed());
+        assertEquals(0, report.getUsers());
+        assertEquals(1, report.getPads());
+        assertEquals(1, report.getNotes());
+        assertEquals(3, report.getRejected());
+        assertFalse(userService.isEmailRegistered("other@example.org"));
+        assertEquals(1, padService.getAllPads().size());
+    }
+
+}
@@ -0,0 +1,88 @@
+package net.notejam.spring.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+/**
+ * A test for SqlDumpImportReader
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+public class SqlDumpImportReaderTest {
+
+    /**
+     * Tests reading a SQLite dump with the schema.sql column order.
+     */
+    @Test
+    public void testNextReadsSqliteDump() throws IOException {
+        String dump = "PRAGMA foreign_keys=OFF;\n" + "BEGIN TRANSACTION;\n"
+                + "CREATE TABLE pads (id INTEGER PRIMARY KEY, name VARCHAR(100) NOT NULL);\n"
+                + "INSERT INTO \"pads\" VALUES(2,'Bob''s pad',1);\n"
+                + "INSERT INTO notes VALUES(3,2,1,'a; b','text',"
+                + "'2015-01-31 12:00:00','2015-02-01 12:00:00'),(4,NULL,1,'c','d','2015-01-31 12:00:00',NULL);\n"
+                + "COMMIT;\n";
+
+        try (ImportReader reader = new SqlDumpImportReader(new StringReader(dump))) {
+            ImportRecord pad = reader.next();
+            assertEquals(ImportRecord.Type.PAD, pad.getType());
+            assertEquals(2, pad.getId());
+            assertEquals("Bob's pad", pad.getName());
+            assertEquals(Integer.valueOf(1), pad.getUserId());
+
+            ImportRecord note = reader.next();
+            assertEquals(ImportRecord.Type.NOTE, note.getType());
+            assertEquals("a; b", note.getName());
+            assertEquals(Integer.valueOf(2), note.getPadId());
+            assertEquals("2015-02-01T12:00:00Z", note.getUpdated().toString());
+
+            ImportRecord second = reader.next();
+            assertNull(second.getPadId());
+            assertEquals("2015-01-31T12:00:00Z", second.getUpdated().toString());
+
+            assertNull(reader.next());
+        }
+    }
+
+    /**
+     * Tests reading a MySQL dump with a column list and backslash escapes.
+     */
+    @Test
+    public void testNextReadsMysqlDump() throws IOException {
+        String dump = "-- MySQL dump 10.13\n" + "/*!40101 SET NAMES utf8 */;\n"
+                + "INSERT INTO `notes` (`id`, `user_id`, `name`, `text`) VALUES (1,1,'it\\'s','a\\nb');\n";
+
+        try (ImportReader reader = new SqlDumpImportReader(new StringReader(dump))) {
+            ImportRecord note = reader.next();
+            assertEquals("it's", note.getName());
+            assertEquals("a\nb", note.getText());
+            assertNull(reader.next());
+        }
+    }
+
+    /**
+     * Tests that a row with the wrong number of values is rejected and the
+     * reader continues.
+     */
+    @Test
+    public void testNextRejectsRowAndContinues() throws IOException {
+        String dump = "INSERT INTO pads VALUES (1,'a'),(2,'b',1);";
+
+        try (ImportReader reader = new SqlDumpImportReader(new StringReader(dump))) {
+            try {
+                reader.next();
+
+            } catch (InvalidRecordException e) {
+                assertEquals(2, reader.next().getId());
+                return;
+            }
+            throw new AssertionError("The first row should be rejected.");
+        }
+    }
+
+}
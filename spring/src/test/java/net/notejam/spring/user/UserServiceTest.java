@@ -2,6 +2,7 @@ package net.notejam.spring.user;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -25,6 +26,9 @@ public class UserServiceTest {
     @Autowired
     private UserService service;
 
+    @Autowired
+    private AuthenticatedUserHolder authenticatedUserHolder;
+
     /**
      * Tests getAuthenticatedUser() returns the authenticated user.
      */
@@ -35,6 +39,19 @@ public class UserServiceTest {
         assertEquals("test@example.net", service.getAuthenticatedUser().getEmail());
     }
 
+    /**
+     * Tests getAuthenticatedUser() loads the user only once per request.
+     */
+    @Test
+    @WithMockUser("test@example.net")
+    public void testGetAuthenticatedUserLoadsOncePerRequest() {
+        service.signUp("test@example.net", "password");
+        User user = service.getAuthenticatedUser();
+
+        assertSame(user, service.getAuthenticatedUser());
+        assertEquals(1, authenticatedUserHolder.getLoads());
+    }
+
     /**
      * Tests isEmailRegistered() and signUp().
      */
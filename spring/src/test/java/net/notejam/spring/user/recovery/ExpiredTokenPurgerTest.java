@@ -0,0 +1,78 @@
+package net.notejam.spring.user.recovery;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.user.SignedUpUserProvider;
+
+/**
+ * An integration test for the {@link ExpiredTokenPurger}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+public class ExpiredTokenPurgerTest {
+
+    @Rule
+    @Autowired
+    public SignedUpUserProvider userProvider;
+
+    @Autowired
+    private RecoveryTokenRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Instant expiration;
+
+    @Before
+    public void saveTokens() {
+        expiration = Instant.now().plus(Duration.ofHours(1));
+        for (int i = 0; i < 5; i++) {
+            saveToken("expired" + i, expiration);
+        }
+        saveToken("valid", expiration.plus(Duration.ofDays(1)));
+    }
+
+    private void saveToken(final String token, final Instant expiration) {
+        RecoveryToken recoveryToken = new RecoveryToken();
+        recoveryToken.setUser(userProvider.getUser());
+        recoveryToken.setToken(token);
+        recoveryToken.setExpiration(expiration);
+        repository.save(recoveryToken);
+    }
+
+    /**
+     * A run deletes at most its chunks, the next run deletes the rest.
+     */
+    @Test
+    public void expiredTokensArePurgedInBoundedChunks() {
+        ExpiredTokenPurger purger = new ExpiredTokenPurger(repository, transactionManager, 2, 2);
+        Instant now = expiration.plusSeconds(1);
+
+        assertEquals(4, purger.purge(now));
+        assertEquals(4, purger.getLastPurged());
+        assertEquals(2, repository.count());
+
+        assertEquals(1, purger.purge(now));
+        assertEquals(5, purger.getPurged());
+        assertEquals("valid", repository.findAll().get(0).getToken());
+
+        assertEquals(0, purger.purge(now));
+        assertEquals(0, purger.getLastPurged());
+    }
+
+}
@@ -0,0 +1,80 @@
+package net.notejam.spring.view;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import net.notejam.spring.test.IntegrationTest;
+import net.notejam.spring.test.MockMvcProvider;
+
+/**
+ * An integration test for the {@link AssetConfiguration}.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@IntegrationTest
+@RunWith(SpringJUnit4ClassRunner.class)
+public class AssetConfigurationTest {
+
+    @Rule
+    @Autowired
+    public MockMvcProvider mockMvcProvider;
+
+    @Autowired
+    private ResourceUrlProvider resourceUrlProvider;
+
+    /**
+     * The versioned URL of the stylesheet is served as CSS.
+     */
+    @Test
+    public void versionedStylesheetIsServed() throws Exception {
+        String url = versioned("/css/notejam.css");
+
+        mockMvcProvider.getMockMvc().perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/css"))
+            .andExpect(header().string("Cache-Control", containsString("immutable")));
+    }
+
+    /**
+     * The versioned URL of a script is served as JavaScript.
+     */
+    @Test
+    public void versionedScriptIsServed() throws Exception {
+        String url = versioned("/js/time.js");
+
+        mockMvcProvider.getMockMvc().perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", containsString("javascript")));
+    }
+
+    /**
+     * A browser which accepts gzip gets the precompressed variant.
+     */
+    @Test
+    public void precompressedStylesheetIsServed() throws Exception {
+        mockMvcProvider.getMockMvc().perform(get(versioned("/css/notejam.css")).header("Accept-Encoding", "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    private String versioned(final String path) {
+        String url = resourceUrlProvider.getForLookupPath(path);
+        assertNotEquals(path, url);
+        assertTrue(url.startsWith(path.substring(0, path.lastIndexOf('/') + 1)));
+        return url;
+    }
+
+}
@@ -0,0 +1,87 @@
+package net.notejam.spring.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import net.notejam.spring.user.UserService;
+
+/**
+ * Tests the FragmentCache.
+ *
+ * @author markus@malkusch.de
+ * @see <a href="bitcoin:1335STSwu9hST4vcMRppEPgENMHD2r1REK">Donations</a>
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FragmentCacheTest {
+
+    @Mock
+    private UserService userService;
+
+    private DataVersions versions;
+
+    private FragmentCache cache;
+
+    /**
+     * Given a cache of two fragments for the authenticated user 1.
+     */
+    @Before
+    public void createCache() {
+        when(userService.getAuthenticatedUserId()).thenReturn(1);
+        versions = new DataVersions();
+        cache = new FragmentCache(userService, versions, 2);
+    }
+
+    /**
+     * Tests a cached fragment is hit with the same key.
+     */
+    @Test
+    public void testGet() {
+        cache.put(cache.getKey("pads", Locale.ENGLISH), "<ul></ul>");
+
+        assertEquals("<ul></ul>", cache.get(cache.getKey("pads", Locale.ENGLISH)));
+        assertNull(cache.get(cache.getKey("pads", Locale.GERMAN)));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Tests a new data version changes the key.
+     */
+    @Test
+    public void testIncreaseVersion() {
+        String key = cache.getKey("pads", Locale.ENGLISH);
+        versions.increase(2);
+
+        assertEquals(key, cache.getKey("pads", Locale.ENGLISH));
+
+        versions.increase(1);
+
+        assertNotEquals(key, cache.getKey("pads", Locale.ENGLISH));
+    }
+
+    /**
+     * Tests the least recently used fragment is evicted.
+     */
+    @Test
+    public void testEviction() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals(2, cache.getSize());
+    }
+
+}